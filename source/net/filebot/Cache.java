@@ -10,12 +10,19 @@ import java.io.InputStream;
 import java.net.URL;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.w3c.dom.Document;
 
 import net.filebot.CachedResource.Transform;
+import net.filebot.util.SystemProperty;
 import net.sf.ehcache.Element;
 
 public class Cache {
@@ -49,10 +56,10 @@ public class Cache {
 		return new CachedResource<T, Object>(key, resource, fetchIfModified(), validateJson(getText(UTF_8)), getJson(String.class::cast), ONE_DAY, this);
 	}
 
-	private final net.sf.ehcache.Cache cache;
+	private final CacheStore cache;
 	private final CacheType cacheType;
 
-	public Cache(net.sf.ehcache.Cache cache, CacheType cacheType) {
+	public Cache(CacheStore cache, CacheType cacheType) {
 		this.cache = cache;
 		this.cacheType = cacheType;
 	}
@@ -65,6 +72,10 @@ public class Cache {
 		return cacheType;
 	}
 
+	public CacheStats getStats() {
+		return cache.getStats();
+	}
+
 	public Object get(Object key) {
 		try {
 			return getElementValue(cache.get(key));
@@ -74,6 +85,18 @@ public class Cache {
 		return null;
 	}
 
+	/**
+	 * @return true if there is a value for the given key, including null values that have been stored as negative results
+	 */
+	public boolean containsKey(Object key) {
+		try {
+			return cache.get(key) != null;
+		} catch (Exception e) {
+			debug.warning(format("Cache containsKey: %s => %s", key, e));
+		}
+		return false;
+	}
+
 	public Object computeIf(Object key, Predicate<Element> condition, Compute<?> compute) throws Exception {
 		// get if present
 		Element element = null;
@@ -86,8 +109,58 @@ public class Cache {
 			debug.warning(format("Cache computeIf: %s => %s", key, e));
 		}
 
+		// wait for the value if another thread is already computing it
+		List<Object> flightKey = asList(getName(), key);
+		Flight flight = new Flight();
+		Flight inflight = flights.putIfAbsent(flightKey, flight);
+
+		if (inflight != null) {
+			// don't wait for ourselves (i.e. compute function that requests the same key)
+			if (inflight.owner == Thread.currentThread()) {
+				return compute(key, element, compute);
+			}
+
+			try {
+				return inflight.await();
+			} catch (TimeoutException e) {
+				debug.warning(format("Cache computeIf: %s => %s timed out", key, inflight.owner.getName()));
+				return compute(key, element, compute);
+			}
+		}
+
+		try {
+			// value may have been computed and stored while we were not looking
+			Element current = get(key, condition);
+			Object value = current != null ? getElementValue(current) : compute(key, element, compute);
+			flight.complete(value);
+			return value;
+		} catch (Throwable e) {
+			flight.completeExceptionally(e);
+			throw e;
+		} finally {
+			flights.remove(flightKey, flight);
+		}
+	}
+
+	private Element get(Object key, Predicate<Element> condition) {
+		try {
+			Element element = cache.get(key);
+			if (element != null && !condition.test(element)) {
+				getElementValue(element); // values that can't be read are treated as cache misses
+				return element;
+			}
+		} catch (Exception e) {
+			debug.warning(format("Cache computeIf: %s => %s", key, e));
+		}
+		return null;
+	}
+
+	private Object compute(Object key, Element element, Compute<?> compute) throws Exception {
 		// compute if absent
+		long start = System.nanoTime();
 		Object value = compute.apply(element);
+		cache.getStats().recordLoad(System.nanoTime() - start);
+
 		put(key, value);
 		return value;
 	}
@@ -137,6 +210,27 @@ public class Cache {
 		return element -> System.currentTimeMillis() - element.getLatestOfCreationAndUpdateTime() > expirationTime.toMillis();
 	}
 
+	// concurrent requests for the same key share the same computation
+	private static final Map<List<Object>, Flight> flights = new ConcurrentHashMap<List<Object>, Flight>();
+
+	private static final Duration FLIGHT_TIMEOUT = SystemProperty.of("net.filebot.Cache.flight.timeout", Duration::parse, Duration.ofMinutes(2)).get();
+
+	private static class Flight extends CompletableFuture<Object> {
+
+		public final Thread owner = Thread.currentThread();
+
+		public Object await() throws Exception {
+			try {
+				return get(FLIGHT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof Exception) {
+					throw (Exception) e.getCause();
+				}
+				throw e;
+			}
+		}
+	}
+
 	@FunctionalInterface
 	public interface Compute<R> {
 		R apply(Element element) throws Exception;
@@ -159,7 +253,7 @@ public class Cache {
 		private final Function<Object, V> read;
 		private final Function<V, Object> write;
 
-		public TypedCache(net.sf.ehcache.Cache cache, CacheType cacheType, Function<Object, V> read, Function<V, Object> write) {
+		public TypedCache(CacheStore cache, CacheType cacheType, Function<Object, V> read, Function<V, Object> write) {
 			super(cache, cacheType);
 			this.read = read;
 			this.write = write;
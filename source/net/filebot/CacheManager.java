@@ -10,9 +10,14 @@ import java.io.IOException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.logging.Level;
 
+import net.filebot.util.SystemProperty;
+import net.filebot.web.RateLimit;
 import net.sf.ehcache.CacheException;
 import net.sf.ehcache.config.Configuration;
 import net.sf.ehcache.config.DiskStoreConfiguration;
@@ -25,9 +30,14 @@ public class CacheManager {
 		return instance;
 	}
 
+	// size of the in-heap tier of each disk persistent cache
+	private static final long HEAP_WEIGHT = SystemProperty.of("net.filebot.CacheManager.heap", Long::parseLong, 8L).get() * 1024 * 1024;
+
 	private final File diskStore;
 	private final net.sf.ehcache.CacheManager manager;
 
+	private final Map<String, CacheStore> stores = new HashMap<String, CacheStore>();
+
 	public CacheManager() {
 		try {
 			this.diskStore = acquireDiskStore();
@@ -38,13 +48,36 @@ public class CacheManager {
 	}
 
 	public synchronized Cache getCache(String name, CacheType type) {
+		return new Cache(stores.computeIfAbsent(name, n -> createStore(n, type)), type);
+	}
+
+	private CacheStore createStore(String name, CacheType type) {
 		if (!manager.cacheExists(name)) {
 			manager.addCache(new net.sf.ehcache.Cache(type.getConfiguration(name)));
 		}
-		return new Cache(manager.getCache(name), type);
+
+		CacheStore store = new EhcacheStore(manager.getCache(name));
+
+		// keep hot elements in memory so we don't have to deserialize them from disk again and again
+		if (type.diskPersistent && HEAP_WEIGHT > 0) {
+			return new HeapCacheStore(store, HEAP_WEIGHT, Duration.ofSeconds(type.timeToLiveSeconds));
+		}
+
+		return store;
+	}
+
+	public File getDiskStore() {
+		return diskStore;
 	}
 
 	public synchronized void clearAll() {
+		stores.values().forEach(store -> {
+			try {
+				store.clear();
+			} catch (Exception e) {
+				debug.warning(format("Failed to clear cache: %s => %s", store, e));
+			}
+		});
 		manager.clearAll();
 
 		// clear all caches that have not been added yet
@@ -52,6 +85,16 @@ public class CacheManager {
 	}
 
 	public synchronized void shutdown() {
+		stores.values().forEach(store -> {
+			if (!store.getStats().isEmpty()) {
+				debug.finest(format("Cache %s: %s", store, store.getStats()));
+			}
+		});
+		RateLimit.getRateLimits().values().forEach(limit -> {
+			if (limit.getPermitCount() > 0) {
+				debug.finest(format("Rate limit %s", limit));
+			}
+		});
 		manager.shutdown();
 	}
 
@@ -0,0 +1,65 @@
+package net.filebot;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CacheStats {
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong loadCount = new AtomicLong();
+	private final AtomicLong loadTime = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	public void recordHit() {
+		hitCount.incrementAndGet();
+	}
+
+	public void recordMiss() {
+		missCount.incrementAndGet();
+	}
+
+	public void recordLoad(long nanos) {
+		loadCount.incrementAndGet();
+		loadTime.addAndGet(nanos);
+	}
+
+	public void recordEviction() {
+		evictionCount.incrementAndGet();
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public long getLoadCount() {
+		return loadCount.get();
+	}
+
+	public long getTotalLoadTime(TimeUnit unit) {
+		return unit.convert(loadTime.get(), TimeUnit.NANOSECONDS);
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	public double getHitRate() {
+		long requests = getHitCount() + getMissCount();
+		return requests == 0 ? 1 : (double) getHitCount() / requests;
+	}
+
+	public boolean isEmpty() {
+		return getHitCount() + getMissCount() + getLoadCount() == 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("hits: %,d, misses: %,d, hit rate: %.0f%%, loads: %,d (%,d ms), evictions: %,d", getHitCount(), getMissCount(), getHitRate() * 100, getLoadCount(), getTotalLoadTime(TimeUnit.MILLISECONDS), getEvictionCount());
+	}
+
+}
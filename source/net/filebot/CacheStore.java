@@ -0,0 +1,24 @@
+package net.filebot;
+
+import net.sf.ehcache.Element;
+
+/**
+ * Storage backend of a {@link Cache}. Backends can be stacked, e.g. a small in-heap tier in front of the persistent disk store.
+ */
+public interface CacheStore {
+
+	String getName();
+
+	Element get(Object key) throws Exception;
+
+	void put(Element element) throws Exception;
+
+	void remove(Object key) throws Exception;
+
+	void flush() throws Exception;
+
+	void clear() throws Exception;
+
+	CacheStats getStats();
+
+}
@@ -1,5 +1,6 @@
 package net.filebot;
 
+import static java.util.Arrays.*;
 import static net.filebot.Logging.*;
 
 import java.io.FileNotFoundException;
@@ -12,7 +13,13 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -24,8 +31,10 @@ import org.w3c.dom.Document;
 
 import net.filebot.util.ByteBufferInputStream;
 import net.filebot.util.ByteBufferOutputStream;
+import net.filebot.util.DefaultThreadFactory;
 import net.filebot.util.JsonUtilities;
 import net.filebot.web.WebRequest;
+import net.sf.ehcache.Element;
 
 public class CachedResource<K, R> implements Resource<R> {
 
@@ -40,6 +49,7 @@ public class CachedResource<K, R> implements Resource<R> {
 	private Transform<? super Object, R> cast;
 
 	private Duration expirationTime;
+	private Duration maxStaleness;
 
 	private int retryLimit;
 	private Duration retryWait;
@@ -77,45 +87,101 @@ public class CachedResource<K, R> implements Resource<R> {
 		return this;
 	}
 
+	public synchronized CachedResource<K, R> revalidate(Duration maxStaleness) {
+		this.maxStaleness = maxStaleness;
+		return this;
+	}
+
 	@Override
 	public synchronized R get() throws Exception {
-		Object value = cache.computeIf(key, Cache.isStale(expirationTime), element -> {
-			URL url = resource.transform(key);
-			long lastModified = element == null ? 0 : element.getLatestOfCreationAndUpdateTime();
+		Object value = cache.computeIf(key, isStale(), this::load);
 
-			try {
-				ByteBuffer data = retry(() -> fetch.fetch(url, lastModified), retryLimit, retryWait);
-				debug.finest(WebRequest.log(data));
+		try {
+			return cast.transform(value);
+		} catch (Exception e) {
+			throw new IllegalStateException(String.format("Failed to cast cached value: %s => %s (%s)", key, value, cache), e);
+		}
+	}
 
-				// 304 Not Modified
-				if (data == null && element != null && element.getObjectValue() != null) {
-					return element.getObjectValue();
-				}
+	protected Predicate<Element> isStale() {
+		Predicate<Element> stale = Cache.isStale(expirationTime);
 
-				if (data == null) {
-					throw new IOException(String.format("Response data is null: %s => %s", key, url));
-				}
+		if (maxStaleness == null) {
+			return stale;
+		}
 
-				return parse.transform(data);
-			} catch (Exception e) {
-				debug.log(Level.SEVERE, "Fetch failed: " + url, e);
+		// serve stale data right away and revalidate in the background
+		Predicate<Element> expired = Cache.isStale(expirationTime.plus(maxStaleness));
 
-				// use previously cached data if possible
-				if (element == null || element.getObjectValue() == null) {
-					throw e;
-				}
+		return element -> {
+			if (stale.test(element) && !expired.test(element)) {
+				revalidate();
+				return false;
+			}
+			return stale.test(element);
+		};
+	}
 
-				return element.getObjectValue();
+	protected void revalidate() {
+		List<Object> revalidationKey = asList(cache.getName(), key);
+
+		if (revalidation.add(revalidationKey)) {
+			try {
+				revalidationExecutor.execute(() -> {
+					try {
+						debug.finest(format("Revalidate %s", revalidationKey));
+						cache.computeIf(key, element -> true, this::load);
+					} catch (Exception e) {
+						debug.warning(format("Revalidate failed: %s => %s", revalidationKey, e));
+					} finally {
+						revalidation.remove(revalidationKey);
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				// too many pending requests, try again next time
+				revalidation.remove(revalidationKey);
 			}
-		});
+		}
+	}
+
+	protected Object load(Element element) throws Exception {
+		URL url = resource.transform(key);
+		long lastModified = element == null ? 0 : element.getLatestOfCreationAndUpdateTime();
 
 		try {
-			return cast.transform(value);
+			ByteBuffer data = retry(() -> fetch.fetch(url, lastModified), retryLimit, retryWait);
+			debug.finest(WebRequest.log(data));
+
+			// 304 Not Modified
+			if (data == null && element != null && element.getObjectValue() != null) {
+				return element.getObjectValue();
+			}
+
+			if (data == null) {
+				throw new IOException(String.format("Response data is null: %s => %s", key, url));
+			}
+
+			return parse.transform(data);
 		} catch (Exception e) {
-			throw new IllegalStateException(String.format("Failed to cast cached value: %s => %s (%s)", key, value, cache), e);
+			debug.log(Level.SEVERE, "Fetch failed: " + url, e);
+
+			// use previously cached data if possible
+			if (element == null || element.getObjectValue() == null) {
+				throw e;
+			}
+
+			return element.getObjectValue();
 		}
 	}
 
+	private static final Set<List<Object>> revalidation = ConcurrentHashMap.newKeySet();
+
+	private static final ThreadPoolExecutor revalidationExecutor = new ThreadPoolExecutor(2, 2, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<Runnable>(100), new DefaultThreadFactory("CachedResourceRevalidation", Thread.MIN_PRIORITY, true));
+
+	static {
+		revalidationExecutor.allowCoreThreadTimeOut(true);
+	}
+
 	protected <T> T retry(Callable<T> callable, int retryCount, Duration retryWaitTime) throws Exception {
 		try {
 			return callable.call();
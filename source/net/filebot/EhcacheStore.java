@@ -0,0 +1,65 @@
+package net.filebot;
+
+import net.sf.ehcache.Element;
+
+/**
+ * Persistent cache backend that delegates to ehcache.
+ */
+class EhcacheStore implements CacheStore {
+
+	private final net.sf.ehcache.Cache cache;
+	private final CacheStats stats = new CacheStats();
+
+	public EhcacheStore(net.sf.ehcache.Cache cache) {
+		this.cache = cache;
+	}
+
+	@Override
+	public String getName() {
+		return cache.getName();
+	}
+
+	@Override
+	public Element get(Object key) {
+		Element element = cache.get(key);
+
+		if (element == null) {
+			stats.recordMiss();
+		} else {
+			stats.recordHit();
+		}
+
+		return element;
+	}
+
+	@Override
+	public void put(Element element) {
+		cache.put(element);
+	}
+
+	@Override
+	public void remove(Object key) {
+		cache.remove(key);
+	}
+
+	@Override
+	public void flush() {
+		cache.flush();
+	}
+
+	@Override
+	public void clear() {
+		cache.removeAll();
+	}
+
+	@Override
+	public CacheStats getStats() {
+		return stats;
+	}
+
+	@Override
+	public String toString() {
+		return cache.getName();
+	}
+
+}
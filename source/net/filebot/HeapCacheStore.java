@@ -0,0 +1,327 @@
+package net.filebot;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import net.sf.ehcache.Element;
+
+/**
+ * In-heap cache tier in front of a slower (i.e. disk persistent) cache store. Elements are weighed by their estimated size in bytes. Recently used elements enter a probation segment and are promoted to a protected segment when they're used again, and a
+ * frequency sketch decides if a new element is worth evicting an older one (i.e. TinyLFU admission), so that a few hot documents are not pushed out by a scan over many cold ones.
+ */
+public class HeapCacheStore implements CacheStore {
+
+	private static final double PROTECTED_RATIO = 0.8;
+
+	private final CacheStore store;
+
+	private final long maximumWeight;
+	private final long timeToLive;
+
+	private final LinkedHashMap<Object, Node> probation = new LinkedHashMap<Object, Node>();
+	private final LinkedHashMap<Object, Node> protect = new LinkedHashMap<Object, Node>();
+
+	private long probationWeight = 0;
+	private long protectWeight = 0;
+
+	private final FrequencySketch sketch = new FrequencySketch(1024);
+	private final CacheStats stats = new CacheStats();
+
+	public HeapCacheStore(CacheStore store, long maximumWeight, Duration timeToLive) {
+		this.store = store;
+		this.maximumWeight = maximumWeight;
+		this.timeToLive = timeToLive.toMillis();
+	}
+
+	@Override
+	public String getName() {
+		return store.getName();
+	}
+
+	public CacheStore getStore() {
+		return store;
+	}
+
+	@Override
+	public Element get(Object key) throws Exception {
+		synchronized (this) {
+			sketch.increment(key);
+
+			Node node = probation.get(key);
+			if (node != null) {
+				// promote hot element
+				unlink(node);
+				if (isExpired(node.element)) {
+					node = null;
+				} else {
+					link(protect, node);
+				}
+			} else {
+				node = protect.get(key);
+				if (node != null) {
+					unlink(node);
+					if (isExpired(node.element)) {
+						node = null;
+					} else {
+						link(protect, node);
+					}
+				}
+			}
+
+			if (node != null) {
+				stats.recordHit();
+				balance();
+				return node.element;
+			}
+
+			stats.recordMiss();
+		}
+
+		// load from backing store (e.g. deserialize from disk) without blocking other threads
+		Element element = store.get(key);
+		if (element != null) {
+			admit(element, false);
+		}
+		return element;
+	}
+
+	@Override
+	public void put(Element element) throws Exception {
+		store.put(element);
+		admit(element, true);
+	}
+
+	@Override
+	public void remove(Object key) throws Exception {
+		synchronized (this) {
+			Node node = probation.containsKey(key) ? probation.get(key) : protect.get(key);
+			if (node != null) {
+				unlink(node);
+			}
+		}
+		store.remove(key);
+	}
+
+	@Override
+	public void flush() throws Exception {
+		store.flush();
+	}
+
+	@Override
+	public void clear() throws Exception {
+		synchronized (this) {
+			probation.clear();
+			protect.clear();
+			probationWeight = 0;
+			protectWeight = 0;
+		}
+		store.clear();
+	}
+
+	@Override
+	public CacheStats getStats() {
+		return stats;
+	}
+
+	public synchronized long getWeight() {
+		return probationWeight + protectWeight;
+	}
+
+	public synchronized int size() {
+		return probation.size() + protect.size();
+	}
+
+	public synchronized boolean contains(Object key) {
+		return probation.containsKey(key) || protect.containsKey(key);
+	}
+
+	private synchronized void admit(Element element, boolean replace) {
+		Node node = new Node(element, weigh(element.getObjectKey()) + weigh(element.getObjectValue()));
+
+		// replace previous value, unless the value has been updated while we were loading it
+		Node previous = probation.containsKey(node.key) ? probation.get(node.key) : protect.get(node.key);
+		if (previous != null) {
+			if (!replace) {
+				return;
+			}
+			unlink(previous);
+		}
+
+		// don't let a single huge element flush the whole cache
+		if (node.weight > maximumWeight / 4) {
+			return;
+		}
+
+		link(previous != null && previous.segment == protect ? protect : probation, node);
+		balance();
+
+		while (getWeight() > maximumWeight) {
+			Node victim = getVictim(node);
+
+			// keep the element that has been used more frequently
+			if (contains(node.key) && (victim == null || sketch.frequency(node.key) <= sketch.frequency(victim.key))) {
+				victim = node;
+			}
+
+			unlink(victim);
+			stats.recordEviction();
+		}
+	}
+
+	private Node getVictim(Node candidate) {
+		for (Node it : probation.values()) {
+			if (it != candidate) {
+				return it;
+			}
+		}
+		for (Node it : protect.values()) {
+			if (it != candidate) {
+				return it;
+			}
+		}
+		return null;
+	}
+
+	private void balance() {
+		// demote least recently used protected elements
+		Iterator<Node> it = protect.values().iterator();
+		while (protectWeight > maximumWeight * PROTECTED_RATIO && it.hasNext()) {
+			Node node = it.next();
+			it.remove();
+			protectWeight -= node.weight;
+			link(probation, node);
+		}
+	}
+
+	private void link(LinkedHashMap<Object, Node> segment, Node node) {
+		node.segment = segment;
+		segment.put(node.key, node);
+
+		if (segment == probation) {
+			probationWeight += node.weight;
+		} else {
+			protectWeight += node.weight;
+		}
+	}
+
+	private void unlink(Node node) {
+		if (node.segment.remove(node.key) != null) {
+			if (node.segment == probation) {
+				probationWeight -= node.weight;
+			} else {
+				protectWeight -= node.weight;
+			}
+		}
+	}
+
+	private boolean isExpired(Element element) {
+		return System.currentTimeMillis() - element.getLatestOfCreationAndUpdateTime() > timeToLive;
+	}
+
+	@Override
+	public String toString() {
+		return store.getName();
+	}
+
+	/**
+	 * Estimate the retained size of cached objects (i.e. JSON / XML documents, byte arrays and serialized objects)
+	 */
+	public static long weigh(Object object) {
+		if (object == null) {
+			return 0;
+		}
+		if (object instanceof CharSequence) {
+			return 40 + 2 * ((CharSequence) object).length();
+		}
+		if (object instanceof byte[]) {
+			return 16 + ((byte[]) object).length;
+		}
+		if (object instanceof Object[]) {
+			Object[] array = (Object[]) object;
+			long weight = 16 + 8 * array.length;
+			for (Object it : array) {
+				weight += it instanceof Object[] ? 256 : weigh(it);
+			}
+			return weight;
+		}
+		if (object instanceof Number || object instanceof Boolean) {
+			return 16;
+		}
+		return 256;
+	}
+
+	private static class Node {
+
+		public final Object key;
+		public final Element element;
+		public final long weight;
+
+		public LinkedHashMap<Object, Node> segment;
+
+		public Node(Element element, long weight) {
+			this.key = element.getObjectKey();
+			this.element = element;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * Count-Min sketch of recent access frequencies with 4-bit counters that are halved periodically, so that old popularity fades away
+	 */
+	static class FrequencySketch {
+
+		private static final int[] SEEDS = { 0x97CB3127, 0xB492B66F, 0x9AE16A3B, 0xC2B2AE35 };
+
+		private final byte[][] table;
+		private final int mask;
+		private final int sampleSize;
+
+		private int size = 0;
+
+		public FrequencySketch(int width) {
+			this.table = new byte[SEEDS.length][Integer.highestOneBit(Math.max(width, 16))];
+			this.mask = table[0].length - 1;
+			this.sampleSize = 10 * table[0].length;
+		}
+
+		public int frequency(Object key) {
+			int hash = key.hashCode();
+			int frequency = Integer.MAX_VALUE;
+			for (int i = 0; i < SEEDS.length; i++) {
+				frequency = Math.min(frequency, table[i][index(hash, i)]);
+			}
+			return frequency;
+		}
+
+		public void increment(Object key) {
+			int hash = key.hashCode();
+			for (int i = 0; i < SEEDS.length; i++) {
+				int index = index(hash, i);
+				if (table[i][index] < 15) {
+					table[i][index]++;
+				}
+			}
+
+			if (++size >= sampleSize) {
+				reset();
+			}
+		}
+
+		private int index(int hash, int i) {
+			int h = hash * SEEDS[i];
+			h ^= h >>> 16;
+			return h & mask;
+		}
+
+		private void reset() {
+			for (byte[] row : table) {
+				for (int i = 0; i < row.length; i++) {
+					row[i] >>= 1;
+				}
+			}
+			size /= 2;
+		}
+	}
+
+}
@@ -16,6 +16,7 @@ import java.util.Objects;
 import java.util.logging.Level;
 
 import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAttribute;
@@ -48,6 +49,11 @@ public class History {
 			// hide constructor
 		}
 
+		Sequence(Date date, List<Element> elements) {
+			this.date = date;
+			this.elements = elements;
+		}
+
 		public Date date() {
 			return date;
 		}
@@ -129,11 +135,7 @@ public class History {
 	}
 
 	public void add(Collection<Element> elements) {
-		Sequence sequence = new Sequence();
-		sequence.date = new Date();
-		sequence.elements = new ArrayList<Element>(elements);
-
-		add(sequence);
+		add(new Sequence(new Date(), new ArrayList<Element>(elements)));
 	}
 
 	public void add(Sequence sequence) {
@@ -196,14 +198,18 @@ public class History {
 
 	public static void exportHistory(History history, OutputStream output) {
 		try {
-			Marshaller marshaller = JAXBContext.newInstance(History.class).createMarshaller();
-			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-			marshaller.marshal(history, output);
+			writeHistory(history, output);
 		} catch (Exception e) {
 			debug.log(Level.SEVERE, "Failed to write history", e);
 		}
 	}
 
+	static void writeHistory(History history, OutputStream output) throws JAXBException {
+		Marshaller marshaller = JAXBContext.newInstance(History.class).createMarshaller();
+		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+		marshaller.marshal(history, output);
+	}
+
 	public static History importHistory(InputStream stream) {
 		try {
 			Unmarshaller unmarshaller = JAXBContext.newInstance(History.class).createUnmarshaller();
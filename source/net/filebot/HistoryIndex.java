@@ -0,0 +1,475 @@
+package net.filebot;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+import static java.util.Comparator.*;
+import static java.util.stream.Collectors.*;
+import static net.filebot.Logging.*;
+import static net.filebot.util.FileUtilities.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+
+import net.filebot.History.Element;
+import net.filebot.History.Sequence;
+
+/**
+ * Sorted index of the original path and the current path of each element in the {@link HistoryJournal}, so that the history of specific files and folders can be looked up without reading the complete history. Records that have been committed after the index was built are scanned on demand.
+ */
+class HistoryIndex {
+
+	private static final int MAGIC = 0x46424858; // FBHX
+	private static final int VERSION = 2;
+
+	// magic, version, indexed journal length, position and checksum of the last indexed record
+	private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+
+	// key offset, key length, record position, element index
+	private static final int ENTRY_SIZE = 4 + 4 + 8 + 4;
+
+	// rebuild index if too many records have been committed since the index was built
+	private static final long REBUILD_THRESHOLD = 1 << 16;
+
+	private final HistoryJournal journal;
+
+	private final ByteBuffer from;
+	private final ByteBuffer to;
+	private final ByteBuffer keys;
+
+	// records that have not been indexed yet and the current session
+	private final List<Match> tail = new ArrayList<Match>();
+	private Map<File, List<Match>> tailOriginals;
+
+	private final Map<Long, Sequence> records = new HashMap<Long, Sequence>();
+
+	public HistoryIndex(History session) {
+		this.journal = null;
+		this.from = null;
+		this.to = null;
+		this.keys = null;
+
+		addAll(0, session);
+	}
+
+	private HistoryIndex(HistoryJournal journal, ByteBuffer index, History session) throws IOException {
+		this.journal = journal;
+
+		long indexedLength = HistoryJournal.HEADER_SIZE;
+
+		if (index != null) {
+			indexedLength = index.getLong(8);
+			index.position(HEADER_SIZE);
+			from = slice(index);
+			to = slice(index);
+			keys = index.slice();
+		} else {
+			from = null;
+			to = null;
+			keys = null;
+		}
+
+		journal.scan(indexedLength, (position, checksum, sequence) -> add(position, sequence));
+		addAll(journal.getLength(), session);
+	}
+
+	/**
+	 * Find all elements where the original path or the current path is one of the given paths or is located in one of the given folders
+	 */
+	public List<Match> find(Collection<File> paths) throws IOException {
+		Set<File> whitelist = new HashSet<File>(paths);
+		Predicate<Match> filter = m -> contains(whitelist, m.getOriginalPath()) || contains(whitelist, m.getCurrentPath());
+
+		Set<Match> matches = new LinkedHashSet<Match>();
+		for (File path : paths) {
+			String key = getKey(path);
+			String prefix = key.endsWith(File.separator) ? key : key + File.separator;
+
+			for (ByteBuffer table : new ByteBuffer[] { from, to }) {
+				lookup(table, key, false, matches);
+				lookup(table, prefix, true, matches);
+			}
+		}
+
+		tail.stream().filter(filter).forEach(matches::add);
+
+		return matches.stream().filter(filter).sorted().collect(toList());
+	}
+
+	/**
+	 * Find all elements that have been renamed from the given path
+	 */
+	public List<Match> findOriginal(File path) throws IOException {
+		Set<Match> matches = new LinkedHashSet<Match>();
+		lookup(from, getKey(path), false, matches);
+
+		if (tailOriginals == null) {
+			tailOriginals = tail.stream().collect(groupingBy(Match::getOriginalPath));
+		}
+		matches.addAll(tailOriginals.getOrDefault(path, emptyList()));
+
+		List<Match> result = new ArrayList<Match>(matches);
+		result.sort(null);
+		return result;
+	}
+
+	/**
+	 * Same as {@link History#getRenameMap()} but only for files that have been renamed from or to the given paths
+	 */
+	public Map<File, File> getRenameMap(Collection<File> paths) throws IOException {
+		Set<File> whitelist = new HashSet<File>(paths);
+
+		Set<File> originals = new LinkedHashSet<File>();
+		for (Match it : find(paths)) {
+			originals.add(it.getOriginalPath());
+		}
+
+		// the first rename determines the order and the last rename determines the current path
+		List<Match[]> renames = new ArrayList<Match[]>(originals.size());
+		for (File original : originals) {
+			List<Match> matches = findOriginal(original);
+			Match first = matches.get(0);
+			Match last = matches.get(matches.size() - 1);
+
+			if (contains(whitelist, original) || contains(whitelist, last.getCurrentPath())) {
+				renames.add(new Match[] { first, last });
+			}
+		}
+		renames.sort(comparing(m -> m[0]));
+
+		Map<File, File> map = new LinkedHashMap<File, File>();
+		for (Match[] it : renames) {
+			map.put(it[0].getOriginalPath(), it[1].getCurrentPath());
+		}
+		return map;
+	}
+
+	/**
+	 * Get all sequences with all elements that have been renamed from or to the given paths
+	 */
+	public History getHistory(Collection<File> paths) throws IOException {
+		Map<Long, List<Element>> elements = new LinkedHashMap<Long, List<Element>>();
+		Map<Long, Sequence> sequences = new HashMap<Long, Sequence>();
+
+		for (Match it : find(paths)) {
+			elements.computeIfAbsent(it.position, k -> new ArrayList<Element>()).add(it.getElement());
+			sequences.put(it.position, it.sequence);
+		}
+
+		History history = new History();
+		elements.forEach((position, e) -> history.add(new Sequence(sequences.get(position).date(), e)));
+		return history;
+	}
+
+	private void add(long position, Sequence sequence) {
+		for (int i = 0; i < sequence.elements().size(); i++) {
+			tail.add(new Match(position, i, sequence));
+		}
+	}
+
+	private void addAll(long position, History history) {
+		for (Sequence it : history.sequences()) {
+			add(position++, it);
+		}
+	}
+
+	private void lookup(ByteBuffer table, String key, boolean prefix, Collection<Match> matches) throws IOException {
+		if (table == null) {
+			return;
+		}
+
+		// binary search for the first key that is greater than or equal to the given key
+		int low = 0;
+		int high = table.getInt(0);
+
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (getKey(table, mid).compareTo(key) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		for (int i = low, size = table.getInt(0); i < size; i++) {
+			String k = getKey(table, i);
+			if (prefix ? !k.startsWith(key) : !k.equals(key)) {
+				break;
+			}
+
+			long position = table.getLong(4 + i * ENTRY_SIZE + 8);
+			int index = table.getInt(4 + i * ENTRY_SIZE + 16);
+			matches.add(new Match(position, index, getRecord(position)));
+		}
+	}
+
+	private Sequence getRecord(long position) throws IOException {
+		Sequence sequence = records.get(position);
+		if (sequence == null) {
+			sequence = journal.read(position);
+			records.put(position, sequence);
+		}
+		return sequence;
+	}
+
+	private String getKey(ByteBuffer table, int i) {
+		byte[] bytes = new byte[table.getInt(4 + i * ENTRY_SIZE + 4)];
+		ByteBuffer buffer = keys.duplicate();
+		buffer.position(table.getInt(4 + i * ENTRY_SIZE));
+		buffer.get(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	private static ByteBuffer slice(ByteBuffer index) {
+		ByteBuffer table = index.slice();
+		table.limit(4 + table.getInt(0) * ENTRY_SIZE);
+		index.position(index.position() + table.limit());
+		return table.slice();
+	}
+
+	// same as File.equals(), i.e. case-insensitive on Windows
+	private static final boolean IGNORE_CASE = new File("a").equals(new File("A"));
+
+	private static String getKey(File path) {
+		return getKey(path.getPath(), IGNORE_CASE);
+	}
+
+	/**
+	 * Normalize case the same way as {@link String#compareToIgnoreCase(String)} which is used by {@link File#compareTo(File)} on case-insensitive file systems
+	 */
+	static String getKey(String path, boolean ignoreCase) {
+		if (!ignoreCase) {
+			return path;
+		}
+
+		char[] key = path.toCharArray();
+		for (int i = 0; i < key.length; i++) {
+			key[i] = Character.toLowerCase(Character.toUpperCase(key[i]));
+		}
+		return new String(key);
+	}
+
+	private static boolean contains(Set<File> whitelist, File file) {
+		return listPath(file).stream().anyMatch(whitelist::contains);
+	}
+
+	private static File getOriginalPath(Element element) {
+		return new File(element.dir(), element.from());
+	}
+
+	private static File getCurrentPath(Element element) {
+		File to = new File(element.to());
+		return to.isAbsolute() ? to : new File(element.dir(), element.to());
+	}
+
+	public static HistoryIndex open(File file, HistoryJournal journal, History session) throws IOException {
+		ByteBuffer index = null;
+
+		try {
+			if (file.exists()) {
+				try {
+					index = read(file, journal);
+				} catch (Exception e) {
+					debug.finest(format("Rebuild invalid history index: %s", e));
+				}
+			}
+			if (index == null) {
+				write(file, journal);
+				index = read(file, journal);
+			}
+		} catch (Exception e) {
+			debug.log(Level.WARNING, "Failed to update history index", e);
+		}
+
+		return new HistoryIndex(journal, index, session);
+	}
+
+	private static ByteBuffer read(File file, HistoryJournal journal) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			// a mapped file can't be replaced on Windows, so we must not map the index unless we are going to use it
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			if (!read(channel, header, 0) || header.getInt() != MAGIC || header.getInt() != VERSION) {
+				return null;
+			}
+
+			long length = header.getLong();
+			long lastRecord = header.getLong();
+			int lastChecksum = header.getInt();
+
+			// make sure that the journal has not been compacted or truncated since the index was built
+			if (!journal.isRecord(lastRecord, lastChecksum, length) || journal.getLength() - length > REBUILD_THRESHOLD) {
+				debug.finest(format("History index is out of date: %s", file));
+				return null;
+			}
+
+			// make sure that the index is complete, i.e. tables followed by the keys of the last entry
+			long position = HEADER_SIZE;
+			long keys = 0;
+			for (int i = 0; i < 2; i++) {
+				ByteBuffer size = ByteBuffer.allocate(4);
+				if (!read(channel, size, position)) {
+					throw new IOException("Unexpected end of history index");
+				}
+				position += 4 + (long) size.getInt() * ENTRY_SIZE;
+
+				ByteBuffer last = ByteBuffer.allocate(8);
+				if (size.getInt(0) > 0) {
+					if (!read(channel, last, position - ENTRY_SIZE)) {
+						throw new IOException("Unexpected end of history index");
+					}
+					keys = Math.max(keys, (long) last.getInt() + last.getInt());
+				}
+			}
+			if (position + keys != channel.size()) {
+				throw new IOException("Unexpected end of history index");
+			}
+
+			return channel.map(MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	private static boolean read(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				return false;
+			}
+		}
+		buffer.flip();
+		return true;
+	}
+
+	private static void write(File file, HistoryJournal journal) throws IOException {
+		List<IndexEntry> from = new ArrayList<IndexEntry>();
+		List<IndexEntry> to = new ArrayList<IndexEntry>();
+		long[] lastRecord = { -1, 0 };
+
+		journal.scan(HistoryJournal.HEADER_SIZE, (position, checksum, sequence) -> {
+			List<Element> elements = sequence.elements();
+			for (int i = 0; i < elements.size(); i++) {
+				from.add(new IndexEntry(getKey(getOriginalPath(elements.get(i))), position, i));
+				to.add(new IndexEntry(getKey(getCurrentPath(elements.get(i))), position, i));
+			}
+			lastRecord[0] = position;
+			lastRecord[1] = checksum;
+		});
+
+		from.sort(comparing(e -> e.key));
+		to.sort(comparing(e -> e.key));
+
+		File temp = new File(file.getPath() + ".part");
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath()), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(journal.getLength());
+			out.writeLong(lastRecord[0]);
+			out.writeInt((int) lastRecord[1]);
+
+			int offset = 0;
+			for (List<IndexEntry> table : asList(from, to)) {
+				out.writeInt(table.size());
+				for (IndexEntry it : table) {
+					out.writeInt(offset);
+					out.writeInt(it.bytes.length);
+					out.writeLong(it.position);
+					out.writeInt(it.index);
+					offset += it.bytes.length;
+				}
+			}
+
+			for (List<IndexEntry> table : asList(from, to)) {
+				for (IndexEntry it : table) {
+					out.write(it.bytes);
+				}
+			}
+		}
+
+		// replace previous index atomically
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		debug.finest(format("Write history index: %s (%,d entries)", file, from.size()));
+	}
+
+	private static class IndexEntry {
+
+		public final String key;
+		public final byte[] bytes;
+		public final long position;
+		public final int index;
+
+		public IndexEntry(String key, long position, int index) {
+			this.key = key;
+			this.bytes = key.getBytes(UTF_8);
+			this.position = position;
+			this.index = index;
+		}
+	}
+
+	public static class Match implements Comparable<Match> {
+
+		private final long position;
+		private final int index;
+		private final Sequence sequence;
+
+		public Match(long position, int index, Sequence sequence) {
+			this.position = position;
+			this.index = index;
+			this.sequence = sequence;
+		}
+
+		public Sequence getSequence() {
+			return sequence;
+		}
+
+		public Element getElement() {
+			return sequence.elements().get(index);
+		}
+
+		public File getOriginalPath() {
+			return HistoryIndex.getOriginalPath(getElement());
+		}
+
+		public File getCurrentPath() {
+			return HistoryIndex.getCurrentPath(getElement());
+		}
+
+		@Override
+		public int compareTo(Match other) {
+			int c = Long.compare(position, other.position);
+			return c != 0 ? c : Integer.compare(index, other.index);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof Match) {
+				Match other = (Match) obj;
+				return position == other.position && index == other.index;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(position) * 31 + index;
+		}
+	}
+
+}
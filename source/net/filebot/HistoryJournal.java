@@ -0,0 +1,352 @@
+package net.filebot;
+
+import static java.nio.channels.Channels.*;
+import static net.filebot.Logging.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+
+import org.apache.commons.io.output.CloseShieldOutputStream;
+
+import net.filebot.History.Element;
+import net.filebot.History.Sequence;
+
+/**
+ * Append-only binary rename history. Each sequence is stored as a checksummed record and the header keeps track of the committed journal length, so that a commit only needs to write the sequences of the current session.
+ */
+class HistoryJournal {
+
+	private static final int MAGIC = 0x46424A4C; // FBJL
+	private static final int VERSION = 1;
+
+	// magic, version, committed length, committed length after the last compaction, number of elements
+	static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+
+	// compact journal once it has grown to twice the size of the last compacted journal
+	private static final long COMPACTION_THRESHOLD = 1 << 20;
+
+	private final FileChannel channel;
+
+	private long length;
+	private long compactedLength;
+	private int totalSize;
+
+	public HistoryJournal(FileChannel channel) throws IOException {
+		this.channel = channel;
+		readHeader();
+	}
+
+	public int getTotalSize() {
+		return totalSize;
+	}
+
+	public boolean isEmpty() {
+		return length <= HEADER_SIZE;
+	}
+
+	public boolean isCompactionRequired() {
+		return length > COMPACTION_THRESHOLD && length > 2 * compactedLength;
+	}
+
+	public long getLength() {
+		return length;
+	}
+
+	public History read() throws IOException {
+		History history = new History();
+		scan(HEADER_SIZE, (position, checksum, sequence) -> history.add(sequence));
+		return history;
+	}
+
+	/**
+	 * Read all committed records starting at the given position. Committed records can only be damaged by data corruption, so damaged records are skipped and reported but never removed, and {@link #compact(File)} will drop them explicitly.
+	 * 
+	 * @return start and end positions of all damaged ranges
+	 */
+	public List<long[]> scan(long start, RecordHandler handler) throws IOException {
+		// most elements of a sequence share the same folder
+		Map<String, File> folders = new HashMap<String, File>();
+		List<long[]> damaged = new ArrayList<long[]>();
+
+		// don't close the stream to keep the channel open
+		channel.position(start);
+		DataInputStream in = new DataInputStream(new BufferedInputStream(newInputStream(channel), 1 << 16));
+
+		long position = start;
+
+		while (position < length) {
+			int recordSize = 0;
+			int checksum = 0;
+			Sequence sequence = null;
+
+			try {
+				recordSize = in.readInt();
+				checksum = in.readInt();
+
+				if (recordSize < 0 || position + 8 + recordSize > length) {
+					throw new IOException("Bad record length: " + recordSize);
+				}
+
+				byte[] record = new byte[recordSize];
+				in.readFully(record);
+
+				if (checksum != checksum(record)) {
+					throw new IOException("Bad record checksum: " + checksum);
+				}
+
+				sequence = readRecord(record, folders);
+			} catch (IOException e) {
+				// continue with the next intact record
+				long next = findRecord(position + 1);
+				debug.log(Level.SEVERE, format("Skip damaged history records at position %,d to %,d: %s", position, next, e.getMessage()));
+				damaged.add(new long[] { position, next });
+
+				position = next;
+				channel.position(position);
+				in = new DataInputStream(new BufferedInputStream(newInputStream(channel), 1 << 16));
+				continue;
+			}
+
+			handler.accept(position, checksum, sequence);
+			position += 8 + recordSize;
+		}
+
+		return damaged;
+	}
+
+	/**
+	 * @return position of the next record with a valid length and checksum or the committed length if there is none
+	 */
+	private long findRecord(long start) throws IOException {
+		if (start >= length || length - start > Integer.MAX_VALUE) {
+			return length;
+		}
+
+		ByteBuffer data = channel.map(MapMode.READ_ONLY, start, length - start);
+
+		for (int i = 0; i + 8 <= data.limit(); i++) {
+			int recordSize = data.getInt(i);
+
+			// each record contains at least a date and the number of elements
+			if (recordSize >= 8 + 4 && i + 8 + recordSize <= data.limit()) {
+				ByteBuffer record = data.duplicate();
+				record.position(i + 8).limit(i + 8 + recordSize);
+
+				CRC32 crc = new CRC32();
+				crc.update(record);
+
+				if (data.getInt(i + 4) == (int) crc.getValue()) {
+					return start + i;
+				}
+			}
+		}
+
+		return length;
+	}
+
+	public Sequence read(long position) throws IOException {
+		ByteBuffer header = readFully(position, 8);
+		int recordSize = header.getInt();
+		int checksum = header.getInt();
+
+		if (recordSize < 0 || position + 8 + recordSize > length) {
+			throw new IOException("Bad record length: " + recordSize);
+		}
+
+		byte[] record = readFully(position + 8, recordSize).array();
+		if (checksum != checksum(record)) {
+			throw new IOException("Bad record checksum: " + checksum);
+		}
+
+		return readRecord(record, new HashMap<String, File>());
+	}
+
+	public boolean isRecord(long position, int checksum, long end) throws IOException {
+		if (position < HEADER_SIZE) {
+			return end == HEADER_SIZE && end <= length;
+		}
+
+		if (end > length) {
+			return false;
+		}
+
+		ByteBuffer header = readFully(position, 8);
+		return position + 8 + header.getInt() == end && header.getInt() == checksum;
+	}
+
+	public void append(Collection<Sequence> sequences) throws IOException {
+		// overwrite any records that have not been committed
+		channel.position(length);
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CloseShieldOutputStream(newOutputStream(channel)), 1 << 16));
+		int size = 0;
+
+		for (Sequence it : sequences) {
+			byte[] record = writeRecord(it);
+			out.writeInt(record.length);
+			out.writeInt(checksum(record));
+			out.write(record);
+			size += it.elements().size();
+		}
+		out.flush();
+
+		// records must be on disk before the header commits them
+		channel.force(false);
+
+		length = channel.position();
+		totalSize += size;
+		writeHeader();
+		channel.truncate(length);
+	}
+
+	/**
+	 * Rewrite the journal without duplicate sequences and damaged records. The compacted journal is written to the given backup file first, so that we can restore it if we fail half-way.
+	 */
+	public History compact(File backup) throws IOException {
+		// remove duplicate sequences (e.g. the same history imported twice)
+		History history = new History(new LinkedHashSet<Sequence>(read().sequences()));
+
+		try (FileChannel copy = FileChannel.open(backup.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			HistoryJournal journal = new HistoryJournal(copy);
+			journal.append(history.sequences());
+			journal.markCompacted();
+			copy.force(true);
+		}
+
+		restore(channel, backup);
+		readHeader();
+		return history;
+	}
+
+	public static void restore(FileChannel channel, File backup) throws IOException {
+		try (FileChannel copy = FileChannel.open(backup.toPath(), StandardOpenOption.READ)) {
+			long size = -1;
+
+			// backup is incomplete if we failed before the header was written
+			try {
+				size = new HistoryJournal(copy).length;
+			} catch (IOException e) {
+				debug.log(Level.WARNING, "Discard invalid history journal backup", e);
+			}
+
+			if (size > HEADER_SIZE && size <= copy.size()) {
+				channel.transferFrom(copy, 0, size);
+				channel.truncate(size);
+				channel.force(true);
+			}
+		}
+
+		backup.delete();
+	}
+
+	public void markCompacted() throws IOException {
+		compactedLength = length;
+		writeHeader();
+	}
+
+	private void readHeader() throws IOException {
+		if (channel.size() == 0) {
+			length = HEADER_SIZE;
+			compactedLength = HEADER_SIZE;
+			totalSize = 0;
+			return;
+		}
+
+		ByteBuffer header = readFully(0, HEADER_SIZE);
+
+		if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+			throw new IOException("Invalid history journal");
+		}
+
+		length = header.getLong();
+		compactedLength = header.getLong();
+		totalSize = header.getInt();
+	}
+
+	private ByteBuffer readFully(long position, int size) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of history journal");
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	private void writeHeader() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC).putInt(VERSION).putLong(length).putLong(compactedLength).putInt(totalSize);
+		header.flip();
+
+		while (header.hasRemaining()) {
+			channel.write(header, header.position());
+		}
+		channel.force(false);
+	}
+
+	private static int checksum(byte[] record) {
+		CRC32 crc = new CRC32();
+		crc.update(record);
+		return (int) crc.getValue();
+	}
+
+	private static byte[] writeRecord(Sequence sequence) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		out.writeLong(sequence.date().getTime());
+		out.writeInt(sequence.elements().size());
+
+		for (Element it : sequence.elements()) {
+			out.writeUTF(it.dir().getPath());
+			out.writeUTF(it.from());
+			out.writeUTF(it.to());
+		}
+
+		return bytes.toByteArray();
+	}
+
+	private static Sequence readRecord(byte[] record, Map<String, File> folders) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+
+		Date date = new Date(in.readLong());
+		int size = in.readInt();
+
+		List<Element> elements = new ArrayList<Element>(size);
+		for (int i = 0; i < size; i++) {
+			File dir = folders.computeIfAbsent(in.readUTF(), File::new);
+			String from = in.readUTF();
+			String to = in.readUTF();
+			elements.add(new Element(from, to, dir));
+		}
+
+		return new Sequence(date, elements);
+	}
+
+	@FunctionalInterface
+	public interface RecordHandler {
+
+		void accept(long position, int checksum, Sequence sequence);
+	}
+
+}
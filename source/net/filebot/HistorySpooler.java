@@ -1,27 +1,31 @@
 package net.filebot;
 
-import static java.nio.channels.Channels.*;
 import static net.filebot.Logging.*;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.logging.Level;
 
-import org.apache.commons.io.input.CloseShieldInputStream;
-import org.apache.commons.io.output.CloseShieldOutputStream;
-
 import net.filebot.History.Element;
 
 public final class HistorySpooler {
 
-	private static final HistorySpooler instance = new HistorySpooler();
+	private static final HistorySpooler instance = new HistorySpooler(ApplicationFolder.AppData.resolve("history.xml"), ApplicationFolder.AppData.resolve("history.journal"), ApplicationFolder.Cache.resolve("history.index"));
 
 	public static HistorySpooler getInstance() {
 		return instance;
@@ -31,7 +35,11 @@ public final class HistorySpooler {
 		Runtime.getRuntime().addShutdownHook(new Thread(HistorySpooler.getInstance()::commit, "HistorySpoolerShutdownHook")); // commit session history on shutdown
 	}
 
-	private final File persistentHistoryFile = ApplicationFolder.AppData.resolve("history.xml");
+	// history.xml of previous versions is imported into an empty journal and kept up to date on compaction, so that previous versions can still read it
+	private final File persistentHistoryFile;
+	private final File persistentHistoryJournal;
+	private final File persistentHistoryBackup;
+	private final File persistentHistoryIndex;
 
 	private int sessionHistoryTotalSize = 0;
 	private int persistentHistoryTotalSize = -1;
@@ -39,54 +47,123 @@ public final class HistorySpooler {
 
 	private final History sessionHistory = new History();
 
+	HistorySpooler(File historyFile, File journal, File index) {
+		this.persistentHistoryFile = historyFile;
+		this.persistentHistoryJournal = journal;
+		this.persistentHistoryBackup = new File(journal.getPath() + ".bak");
+		this.persistentHistoryIndex = index;
+	}
+
 	public synchronized History getCompleteHistory() throws IOException {
-		if (persistentHistoryFile.length() <= 0) {
+		if (persistentHistoryJournal.length() <= 0 && persistentHistoryFile.length() <= 0) {
 			return new History(sessionHistory.sequences());
 		}
 
-		try (FileChannel channel = FileChannel.open(persistentHistoryFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+		try (FileChannel channel = FileChannel.open(persistentHistoryJournal.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
 			try (FileLock lock = channel.lock()) {
-				History history = History.importHistory(new CloseShieldInputStream(newInputStream(channel))); // keep JAXB from closing the stream
+				History history = openJournal(channel).read();
 				history.addAll(sessionHistory.sequences());
 				return history;
 			}
 		}
 	}
 
+	public synchronized History getHistory(Collection<File> paths) throws IOException {
+		return lookup(index -> index.getHistory(paths));
+	}
+
+	public synchronized Map<File, File> getRenameMap(Collection<File> paths) throws IOException {
+		return lookup(index -> index.getRenameMap(paths));
+	}
+
+	private <T> T lookup(HistoryLookup<T> lookup) throws IOException {
+		if (persistentHistoryJournal.length() <= 0 && persistentHistoryFile.length() <= 0) {
+			return lookup.apply(new HistoryIndex(sessionHistory));
+		}
+
+		try (FileChannel channel = FileChannel.open(persistentHistoryJournal.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+			try (FileLock lock = channel.lock()) {
+				return lookup.apply(HistoryIndex.open(persistentHistoryIndex, openJournal(channel), sessionHistory));
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface HistoryLookup<T> {
+
+		T apply(HistoryIndex index) throws IOException;
+	}
+
 	public synchronized void commit() {
 		if (sessionHistory.sequences().isEmpty() || !persistentHistoryEnabled) {
 			return;
 		}
 
 		try {
-			try (FileChannel channel = FileChannel.open(persistentHistoryFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+			try (FileChannel channel = FileChannel.open(persistentHistoryJournal.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
 				try (FileLock lock = channel.lock()) {
-					History history = new History();
+					HistoryJournal journal = openJournal(channel);
+
+					// append session history to the history of previous sessions
+					journal.append(sessionHistory.sequences());
+
+					sessionHistory.clear();
+					persistentHistoryTotalSize = journal.getTotalSize();
 
-					// load existing history from previous sessions
-					if (channel.size() > 0) {
+					// rewrite journal and keep history.xml up to date every once in a while
+					if (journal.isCompactionRequired()) {
 						try {
-							channel.position(0);
-							history = History.importHistory(new CloseShieldInputStream(newInputStream(channel))); // keep JAXB from closing the stream
+							History history = journal.compact(persistentHistoryBackup);
+							persistentHistoryTotalSize = journal.getTotalSize();
+
+							exportHistory(history);
 						} catch (Exception e) {
-							debug.log(Level.SEVERE, "Failed to read history file", e);
+							debug.log(Level.WARNING, "Failed to compact history journal", e);
 						}
 					}
+				}
+			}
+		} catch (Exception e) {
+			debug.log(Level.SEVERE, "Failed to write history file", e);
+		}
+	}
 
-					// write new combined history
-					history.addAll(sessionHistory.sequences());
+	private HistoryJournal openJournal(FileChannel channel) throws IOException {
+		// restore journal if we failed half-way during the last compaction
+		if (persistentHistoryBackup.exists()) {
+			try {
+				HistoryJournal.restore(channel, persistentHistoryBackup);
+			} catch (Exception e) {
+				debug.log(Level.WARNING, "Failed to restore history journal", e);
+			}
+		}
 
-					channel.position(0);
-					History.exportHistory(history, new CloseShieldOutputStream(newOutputStream(channel))); // keep JAXB from closing the stream
-					channel.truncate(channel.position());
+		HistoryJournal journal = new HistoryJournal(channel);
 
-					sessionHistory.clear();
-					persistentHistoryTotalSize = history.totalSize();
-				}
+		// import history.xml from previous versions
+		if (journal.isEmpty() && persistentHistoryFile.length() > 0) {
+			debug.fine(format("Import history file: %s", persistentHistoryFile));
+
+			try (InputStream in = new FileInputStream(persistentHistoryFile)) {
+				journal.append(History.importHistory(in).sequences());
+				journal.markCompacted();
 			}
+		}
+
+		return journal;
+	}
+
+	private void exportHistory(History history) throws Exception {
+		File temp = new File(persistentHistoryFile.getPath() + ".part");
+
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp))) {
+			History.writeHistory(history, out);
 		} catch (Exception e) {
-			debug.log(Level.SEVERE, "Failed to write history file", e);
+			temp.delete();
+			throw e;
 		}
+
+		Files.move(temp.toPath(), persistentHistoryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
 	}
 
 	public synchronized void append(Map<File, File> elements) {
@@ -48,6 +48,7 @@ import net.filebot.ui.SupportDialog;
 import net.filebot.ui.transfer.FileTransferable;
 import net.filebot.util.PreferencesMap.PreferencesEntry;
 import net.filebot.util.ui.SwingEventBus;
+import net.filebot.web.WebRequest;
 import net.miginfocom.swing.MigLayout;
 
 public class Main {
@@ -352,6 +353,9 @@ public class Main {
 		System.setProperty("http.agent", String.format("%s %s", getApplicationName(), getApplicationVersion()));
 		System.setProperty("sun.net.client.defaultConnectTimeout", "10000");
 		System.setProperty("sun.net.client.defaultReadTimeout", "60000");
+		if (System.getProperty("http.maxConnections") == null) {
+			System.setProperty("http.maxConnections", String.valueOf(WebRequest.CONNECTIONS));
+		}
 
 		System.setProperty("swing.crossplatformlaf", "javax.swing.plaf.nimbus.NimbusLookAndFeel");
 		System.setProperty("grape.root", ApplicationFolder.AppData.resolve("grape").getPath());
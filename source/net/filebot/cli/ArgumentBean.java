@@ -283,6 +283,22 @@ public class ArgumentBean {
 		});
 	}
 
+	public List<HashType> getOutputHashTypes() {
+		List<HashType> types = new ArrayList<HashType>();
+
+		// support --format SFV,SHA256
+		if (output == null && format != null) {
+			for (String it : format.split("\\W+")) {
+				HashType type = getHashTypeByExtension(it);
+				if (type != null && !types.contains(type)) {
+					types.add(type);
+				}
+			}
+		}
+
+		return types.isEmpty() ? singletonList(getOutputHashType()) : types;
+	}
+
 	public Charset getEncoding() {
 		return encoding == null ? null : Charset.forName(encoding);
 	}
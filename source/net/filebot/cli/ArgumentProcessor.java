@@ -103,7 +103,7 @@ public class ArgumentProcessor {
 					throw new Exception("Data corruption detected"); // one or more hashes do not match
 				}
 			} else {
-				cli.compute(files, args.getOutputPath(), args.getOutputHashType(), args.getEncoding());
+				cli.compute(files, args.getOutputPath(), args.getOutputHashTypes(), args.getEncoding());
 			}
 		}
 
@@ -23,7 +23,6 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -35,6 +34,8 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -62,6 +63,8 @@ import net.filebot.similarity.EpisodeMatcher;
 import net.filebot.similarity.Match;
 import net.filebot.subtitle.SubtitleFormat;
 import net.filebot.subtitle.SubtitleNaming;
+import net.filebot.util.DefaultThreadFactory;
+import net.filebot.util.DeviceAwareExecutor;
 import net.filebot.util.EntryList;
 import net.filebot.util.FileUtilities.ParentFilter;
 import net.filebot.vfs.FileInfo;
@@ -896,17 +899,58 @@ public class CmdlineOperations implements CmdlineInterface {
 	@Override
 	public boolean check(Collection<File> files) throws Exception {
 		// only check existing hashes
-		boolean result = true;
+		Map<File, List<Entry<HashType, String>>> hashes = new LinkedHashMap<File, List<Entry<HashType, String>>>();
 
 		for (File it : filter(files, VERIFICATION_FILES)) {
-			result &= check(it, it.getParentFile());
+			read(it, it.getParentFile(), hashes);
 		}
 
-		return result;
+		// read each file only once to check all hashes
+		DeviceAwareExecutor executor = newHashExecutor();
+
+		try {
+			Map<File, Future<Map<HashType, String>>> results = new HashMap<File, Future<Map<HashType, String>>>();
+			hashes.forEach((f, h) -> {
+				results.put(f, submitHashes(executor, f, h.stream().map(Entry::getKey).collect(toSet())));
+			});
+
+			boolean result = true;
+			for (Entry<File, List<Entry<HashType, String>>> it : hashes.entrySet()) {
+				result &= check(it.getKey(), it.getValue(), results.get(it.getKey()));
+			}
+			return result;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private DeviceAwareExecutor newHashExecutor() {
+		// read files in parallel, but limit concurrent reads per device
+		return new DeviceAwareExecutor(getPreferredThreadPoolSize(), new DefaultThreadFactory("HashComputationPool", Thread.MIN_PRIORITY, true));
+	}
+
+	private Future<Map<HashType, String>> submitHashes(DeviceAwareExecutor executor, File file, Set<HashType> types) {
+		return executor.submit(file, () -> computeHashes(file, types));
+	}
+
+	private Map<HashType, String> getHashes(Future<Map<HashType, String>> result) throws Exception {
+		try {
+			return result.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw e;
+		}
 	}
 
 	@Override
 	public File compute(Collection<File> files, File output, HashType hash, Charset encoding) throws Exception {
+		return compute(files, output, singleton(hash), encoding).get(0);
+	}
+
+	@Override
+	public List<File> compute(Collection<File> files, File output, Collection<HashType> hash, Charset encoding) throws Exception {
 		// ignore folders and any sort of special files
 		files = filter(files, FILES);
 
@@ -931,19 +975,32 @@ public class CmdlineOperations implements CmdlineInterface {
 		// last element in the common sequence must be the root folder
 		File root = common[common.length - 1];
 
-		if (output == null) {
-			output = new File(root, root.getName() + '.' + hash.getFilter().extension());
-		} else if (!output.isAbsolute()) {
-			output = new File(root, output.getPath());
+		// one verification file for each hash type
+		Map<HashType, File> outputFiles = new LinkedHashMap<HashType, File>();
+
+		for (HashType it : hash) {
+			File outputFile = output;
+
+			if (outputFile == null) {
+				outputFile = new File(root, root.getName() + '.' + it.getFilter().extension());
+			} else if (!outputFile.isAbsolute()) {
+				outputFile = new File(root, outputFile.getPath());
+			}
+
+			if (hash.size() > 1 && output != null) {
+				outputFile = new File(outputFile.getParentFile(), getNameWithoutExtension(outputFile.getName()) + '.' + it.getFilter().extension());
+			}
+
+			outputFiles.put(it, outputFile);
 		}
 
-		log.info(format("Compute %s hash for %s files [%s]", hash, files.size(), output));
-		compute(root, files, output, hash, encoding);
+		log.info(format("Compute %s hash for %s files %s", outputFiles.keySet(), files.size(), outputFiles.values()));
+		compute(root, files, outputFiles, encoding);
 
-		return output;
+		return new ArrayList<File>(outputFiles.values());
 	}
 
-	private boolean check(File verificationFile, File root) throws Exception {
+	private void read(File verificationFile, File root, Map<File, List<Entry<HashType, String>>> hashes) throws Exception {
 		HashType type = getHashType(verificationFile);
 
 		// check if type is supported
@@ -954,53 +1011,79 @@ public class CmdlineOperations implements CmdlineInterface {
 		// add all file names from verification file
 		log.fine(format("Checking [%s]", verificationFile.getName()));
 		VerificationFileReader parser = new VerificationFileReader(createTextReader(verificationFile), type.getFormat());
-		boolean status = true;
 
 		try {
 			while (parser.hasNext()) {
-				try {
-					Entry<File, String> it = parser.next();
+				Entry<File, String> it = parser.next();
 
-					File file = new File(root, it.getKey().getPath()).getAbsoluteFile();
-					String current = computeHash(new File(root, it.getKey().getPath()), type);
-					log.info(format("%s %s", current, file));
-
-					if (current.compareToIgnoreCase(it.getValue()) != 0) {
-						throw new IOException(String.format("Corrupted file found: %s [hash mismatch: %s vs %s]", it.getKey(), current, it.getValue()));
-					}
-				} catch (IOException e) {
-					status = false;
-					log.warning(e.getMessage());
-				}
+				File file = new File(root, it.getKey().getPath()).getAbsoluteFile();
+				hashes.computeIfAbsent(file, k -> new ArrayList<Entry<HashType, String>>()).add(new AbstractMap.SimpleImmutableEntry<HashType, String>(type, it.getValue()));
 			}
 		} finally {
 			parser.close();
 		}
+	}
+
+	private boolean check(File file, List<Entry<HashType, String>> hashes, Future<Map<HashType, String>> result) throws Exception {
+		try {
+			// all hashes are computed in a single pass
+			Map<HashType, String> current = getHashes(result);
+			boolean status = true;
 
-		return status;
+			for (Entry<HashType, String> it : hashes) {
+				String hash = current.get(it.getKey());
+				log.info(format("%s %s", hash, file));
+
+				if (hash.compareToIgnoreCase(it.getValue()) != 0) {
+					status = false;
+					log.warning(format("Corrupted file found: %s [hash mismatch: %s vs %s]", file, hash, it.getValue()));
+				}
+			}
+
+			return status;
+		} catch (IOException e) {
+			log.warning(e.getMessage());
+			return false;
+		}
 	}
 
-	private void compute(File root, Collection<File> files, File outputFile, HashType hashType, Charset encoding) throws IOException, Exception {
+	private void compute(File root, Collection<File> files, Map<HashType, File> outputFiles, Charset encoding) throws IOException, Exception {
 		// compute hashes recursively and write to file
-		VerificationFileWriter out = new VerificationFileWriter(outputFile, hashType.getFormat(), encoding != null ? encoding : UTF_8);
+		Map<HashType, VerificationFileWriter> out = new LinkedHashMap<HashType, VerificationFileWriter>();
+		DeviceAwareExecutor executor = newHashExecutor();
 
 		try {
+			for (Entry<HashType, File> it : outputFiles.entrySet()) {
+				out.put(it.getKey(), new VerificationFileWriter(it.getValue(), it.getKey().getFormat(), encoding != null ? encoding : UTF_8));
+			}
+
+			// read each file only once for all hash types
+			Map<File, Future<Map<HashType, String>>> results = new LinkedHashMap<File, Future<Map<HashType, String>>>();
 			for (File it : files) {
-				if (it.isHidden() || VERIFICATION_FILES.accept(it)) {
-					continue;
+				if (!it.isHidden() && !VERIFICATION_FILES.accept(it)) {
+					results.put(it, submitHashes(executor, it, outputFiles.keySet()));
 				}
+			}
 
-				String relativePath = normalizePathSeparators(it.getPath().substring(root.getPath().length() + 1)); // skip root and first slash
-				String hash = computeHash(it, hashType);
-				log.info(format("%s %s", hash, relativePath));
+			// write verification files in order
+			for (Entry<File, Future<Map<HashType, String>>> it : results.entrySet()) {
+				String relativePath = normalizePathSeparators(it.getKey().getPath().substring(root.getPath().length() + 1)); // skip root and first slash
+				Map<HashType, String> hashes = getHashes(it.getValue());
 
-				out.write(relativePath, hash);
+				for (Entry<HashType, String> hash : hashes.entrySet()) {
+					log.info(format("%s %s", hash.getValue(), relativePath));
+					out.get(hash.getKey()).write(relativePath, hash.getValue());
+				}
 			}
 		} catch (Exception e) {
-			outputFile.deleteOnExit(); // delete only partially written files
+			outputFiles.values().forEach(File::deleteOnExit); // delete only partially written files
 			throw e;
 		} finally {
-			out.close();
+			executor.shutdownNow();
+
+			for (VerificationFileWriter it : out.values()) {
+				it.close();
+			}
 		}
 	}
 
@@ -1098,13 +1181,12 @@ public class CmdlineOperations implements CmdlineInterface {
 			throw new CmdlineException("Expecting at least one input path");
 		}
 
-		Set<File> whitelist = new HashSet<File>(files);
-		Map<File, File> history = HistorySpooler.getInstance().getCompleteHistory().getRenameMap();
+		// only load history elements that have been renamed from or to the given files or folders
+		Map<File, File> history = HistorySpooler.getInstance().getRenameMap(files);
 
 		return history.entrySet().stream().filter(it -> {
-			File original = it.getKey();
 			File current = it.getValue();
-			return Stream.of(current, original).flatMap(f -> listPath(f).stream()).anyMatch(whitelist::contains) && current.exists() && filter.accept(current);
+			return current.exists() && filter.accept(current);
 		}).map(it -> {
 			File original = it.getKey();
 			File current = it.getValue();
@@ -1,9 +1,11 @@
 package net.filebot.cli;
 
+import static java.util.stream.Collectors.*;
 import static net.filebot.util.RegularExpressions.*;
 
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.stream.Stream;
 
 import javax.script.Bindings;
 import javax.script.ScriptContext;
@@ -16,10 +18,12 @@ import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
 import org.codehaus.groovy.runtime.StackTraceUtils;
 
 import groovy.lang.GroovyClassLoader;
+import net.filebot.CacheManager;
+import net.filebot.format.CompiledScriptCache;
 
 public class ScriptShell {
 
-	public static ScriptEngine createScriptEngine() {
+	public static CompilerConfiguration createCompilerConfiguration() {
 		ResourceBundle bundle = ResourceBundle.getBundle(ScriptShell.class.getName());
 
 		CompilerConfiguration config = new CompilerConfiguration();
@@ -31,20 +35,38 @@ public class ScriptShell {
 		imports.addStaticStars(COMMA.split(bundle.getString("starStaticImport")));
 		config.addCompilationCustomizers(imports);
 
+		return config;
+	}
+
+	public static ScriptEngine createScriptEngine() {
+		return createScriptEngine(createCompilerConfiguration());
+	}
+
+	private static GroovyScriptEngineImpl createScriptEngine(CompilerConfiguration config) {
 		GroovyClassLoader classLoader = new GroovyClassLoader(Thread.currentThread().getContextClassLoader(), config);
 		return new GroovyScriptEngineImpl(classLoader);
 	}
 
+	private static String getConfigurationKey() {
+		ResourceBundle bundle = ResourceBundle.getBundle(ScriptShell.class.getName());
+		return Stream.of("scriptBaseClass", "starImport", "starStaticImport").map(bundle::getString).collect(joining("\0"));
+	}
+
 	public static final String ARGV_BINDING_NAME = "args";
 	public static final String SHELL_BINDING_NAME = "__shell";
 	public static final String SHELL_CLI_BINDING_NAME = "__cli";
 	public static final String SHELL_ARGS_BINDING_NAME = "__args";
 
 	private final ScriptEngine engine;
+	private final CompiledScriptCache compiler;
 	private final ScriptProvider scriptProvider;
 
 	public ScriptShell(ScriptProvider scriptProvider, CmdlineInterface cli, Map<String, ?> globals) throws ScriptException {
-		this.engine = createScriptEngine();
+		CompilerConfiguration config = createCompilerConfiguration();
+		GroovyScriptEngineImpl engine = createScriptEngine(config);
+
+		this.engine = engine;
+		this.compiler = new CompiledScriptCache(engine, config, getConfigurationKey(), CacheManager.getInstance().getDiskStore());
 		this.scriptProvider = scriptProvider;
 
 		// setup bindings
@@ -61,7 +83,8 @@ public class ScriptShell {
 
 	public Object evaluate(String script, Bindings bindings) throws Throwable {
 		try {
-			return engine.eval(script, bindings);
+			// reuse compiled scripts from previous sessions
+			return compiler.compile(script).eval(bindings);
 		} catch (Throwable e) {
 			while (e.getClass() == ScriptException.class && e.getCause() != null) {
 				e = e.getCause();
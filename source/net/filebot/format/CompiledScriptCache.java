@@ -0,0 +1,263 @@
+package net.filebot.format;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.util.Comparator.*;
+import static net.filebot.Logging.*;
+import static net.filebot.Settings.*;
+import static net.filebot.util.FileUtilities.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptException;
+
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.jsr223.GroovyCompiledScript;
+import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
+import org.codehaus.groovy.tools.GroovyClass;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+import net.filebot.CacheStats;
+import net.filebot.util.SystemProperty;
+
+/**
+ * Persistent cache for the bytecode of compiled Groovy scripts, so that the same scripts and format expressions don't need to be parsed and compiled again every time the application is started. Class files are keyed by the script source, the
+ * compiler configuration and the Groovy and application version.
+ */
+public class CompiledScriptCache {
+
+	private static final int MAGIC = 0x46424743; // FBGC
+	private static final int VERSION = 1;
+
+	private static final String PREFIX = "groovy-";
+	private static final String EXTENSION = ".classes";
+
+	// the format editor compiles a new expression on every keystroke, so we only keep the most recently used scripts
+	public static final int SIZE = SystemProperty.of("net.filebot.format.CompiledScriptCache.size", Integer::parseInt, 1000).get();
+
+	private static final Pattern GRAB = Pattern.compile("@\\s*(groovy[.]lang[.])?(Grab|GrabResolver|GrabConfig|GrabExclude|Grapes)\\b");
+
+	private final GroovyScriptEngineImpl engine;
+	private final CompilerConfiguration config;
+	private final ScriptClassLoader classLoader;
+
+	private final String fingerprint;
+	private final File folder;
+
+	private final Map<String, Class<?>> classes = new HashMap<String, Class<?>>();
+	private final CacheStats stats = new CacheStats();
+
+	public CompiledScriptCache(GroovyScriptEngineImpl engine, CompilerConfiguration config, String configuration, File folder) {
+		this.engine = engine;
+		this.config = config;
+		this.classLoader = new ScriptClassLoader(engine.getClassLoader(), config);
+		this.fingerprint = String.join("\0", GroovySystem.getVersion(), getApplicationVersion(), String.valueOf(getApplicationRevisionNumber()), configuration);
+		this.folder = folder;
+	}
+
+	public CompiledScript compile(String script) throws ScriptException {
+		return new GroovyCompiledScript(engine, getScriptClass(script));
+	}
+
+	public synchronized Class<?> getScriptClass(String script) throws ScriptException {
+		String key = md5((fingerprint + '\0' + script).getBytes(UTF_8));
+
+		Class<?> scriptClass = classes.get(key);
+		if (scriptClass != null) {
+			stats.recordHit();
+			return scriptClass;
+		}
+
+		// scripts with @Grab annotations add dependencies to the class loader at compile time
+		File file = folder == null || GRAB.matcher(script).find() ? null : new File(folder, PREFIX + key + EXTENSION);
+
+		// load bytecode from disk
+		if (file != null && file.exists()) {
+			try {
+				scriptClass = define(read(file));
+				file.setLastModified(System.currentTimeMillis());
+			} catch (Exception e) {
+				debug.log(Level.WARNING, "Failed to read compiled script: " + file, e);
+			}
+		}
+
+		if (scriptClass != null) {
+			stats.recordHit();
+		} else {
+			stats.recordMiss();
+
+			long start = System.nanoTime();
+			List<GroovyClass> bytecode = generate("Script" + key, script);
+			scriptClass = define(bytecode);
+			stats.recordLoad(System.nanoTime() - start);
+
+			if (file != null) {
+				try {
+					write(file, bytecode);
+					prune();
+				} catch (Exception e) {
+					debug.log(Level.WARNING, "Failed to write compiled script: " + file, e);
+				}
+			}
+		}
+
+		classes.put(key, scriptClass);
+		return scriptClass;
+	}
+
+	public CacheStats getStats() {
+		return stats;
+	}
+
+	private List<GroovyClass> generate(String name, String script) throws ScriptException {
+		try {
+			CompilationUnit unit = new CompilationUnit(config, null, classLoader);
+			unit.addSource(name + ".groovy", script);
+			unit.compile(Phases.CLASS_GENERATION);
+
+			// main class first (i.e. script class or first class declaration)
+			String main = unit.getFirstClassNode().getName();
+
+			List<GroovyClass> bytecode = new ArrayList<GroovyClass>();
+			for (Object it : unit.getClasses()) {
+				bytecode.add((GroovyClass) it);
+			}
+			bytecode.sort(comparing(c -> !c.getName().equals(main)));
+			return bytecode;
+		} catch (CompilationFailedException e) {
+			throw new ScriptException(e);
+		}
+	}
+
+	private Class<?> define(List<GroovyClass> bytecode) throws ScriptException {
+		try {
+			return classLoader.define(bytecode);
+		} catch (ClassNotFoundException | LinkageError e) {
+			throw new ScriptException(new ClassNotFoundException(bytecode.get(0).getName(), e));
+		}
+	}
+
+	private static List<GroovyClass> read(File file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Unsupported format");
+			}
+
+			GroovyClass[] bytecode = new GroovyClass[in.readInt()];
+			for (int i = 0; i < bytecode.length; i++) {
+				String name = in.readUTF();
+				byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				bytecode[i] = new GroovyClass(name, bytes);
+			}
+
+			if (bytecode.length == 0) {
+				throw new IOException("No classes");
+			}
+			return Arrays.asList(bytecode);
+		}
+	}
+
+	private static void write(File file, List<GroovyClass> bytecode) throws IOException {
+		File temp = new File(file.getPath() + ".part");
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(bytecode.size());
+			for (GroovyClass it : bytecode) {
+				out.writeUTF(it.getName());
+				out.writeInt(it.getBytes().length);
+				out.write(it.getBytes());
+			}
+		}
+
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		debug.finest(format("Write compiled script: %s (%,d classes)", file, bytecode.size()));
+	}
+
+	private void prune() {
+		File[] files = folder.listFiles(f -> f.getName().startsWith(PREFIX) && f.getName().endsWith(EXTENSION));
+		if (files == null || files.length <= SIZE) {
+			return;
+		}
+
+		// delete least recently used scripts
+		Arrays.sort(files, comparingLong(File::lastModified));
+		for (int i = 0; i < files.length - SIZE; i++) {
+			if (!files[i].delete()) {
+				debug.warning(format("Failed to delete compiled script: %s", files[i]));
+			}
+		}
+	}
+
+	/**
+	 * Keep track of the classes of all scripts (e.g. classes declared in an included script) so that subsequent scripts can resolve them at compile time and at runtime, just like {@link GroovyClassLoader#parseClass(String)} does
+	 */
+	private static class ScriptClassLoader extends GroovyClassLoader {
+
+		public ScriptClassLoader(ClassLoader parent, CompilerConfiguration config) {
+			super(parent, config);
+		}
+
+		public Class<?> define(List<GroovyClass> bytecode) throws ClassNotFoundException {
+			BytecodeClassLoader loader = new BytecodeClassLoader(this, bytecode);
+
+			Class<?>[] classes = new Class<?>[bytecode.size()];
+			for (int i = 0; i < classes.length; i++) {
+				classes[i] = loader.loadClass(bytecode.get(i).getName());
+			}
+
+			// the most recently defined class takes precedence if different scripts declare classes with the same name
+			for (Class<?> it : classes) {
+				setClassCacheEntry(it);
+			}
+
+			return classes[0];
+		}
+	}
+
+	/**
+	 * Define all classes of a single script on demand, so that there are no name clashes between different scripts (e.g. class declarations) and we don't have to look up the script classes in the parent class loader
+	 */
+	private static class BytecodeClassLoader extends ClassLoader {
+
+		private final Map<String, byte[]> bytecode = new ConcurrentHashMap<String, byte[]>();
+
+		public BytecodeClassLoader(ClassLoader parent, List<GroovyClass> classes) {
+			super(parent);
+			classes.forEach(it -> bytecode.put(it.getName(), it.getBytes()));
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			synchronized (getClassLoadingLock(name)) {
+				byte[] bytes = bytecode.remove(name);
+				if (bytes != null) {
+					return defineClass(name, bytes, 0, bytes.length);
+				}
+			}
+			return super.loadClass(name, resolve);
+		}
+	}
+
+}
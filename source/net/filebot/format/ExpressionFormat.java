@@ -14,7 +14,6 @@ import java.util.concurrent.ExecutionException;
 
 import javax.lang.model.SourceVersion;
 import javax.script.Bindings;
-import javax.script.Compilable;
 import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
@@ -29,6 +28,7 @@ import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
 import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyRuntimeException;
 import groovy.lang.MissingPropertyException;
+import net.filebot.CacheManager;
 
 public class ExpressionFormat extends Format {
 
@@ -224,10 +224,10 @@ public class ExpressionFormat extends Format {
 		return compilation;
 	}
 
-	private static ScriptEngine engine;
+	private static CompiledScriptCache compiler;
 	private static Map<String, CompiledScript> scriptletCache = new HashMap<String, CompiledScript>();
 
-	protected static ScriptEngine createScriptEngine() {
+	protected static CompilerConfiguration createCompilerConfiguration() {
 		CompilerConfiguration config = new CompilerConfiguration();
 
 		// include default functions
@@ -235,15 +235,18 @@ public class ExpressionFormat extends Format {
 		imports.addStaticStars(ExpressionFormatFunctions.class.getName());
 		config.addCompilationCustomizers(imports);
 
-		GroovyClassLoader classLoader = new GroovyClassLoader(Thread.currentThread().getContextClassLoader(), config);
-		return new GroovyScriptEngineImpl(classLoader);
+		return config;
 	}
 
-	protected static synchronized ScriptEngine getGroovyScriptEngine() throws ScriptException {
-		if (engine == null) {
-			engine = createScriptEngine();
+	protected static synchronized CompiledScriptCache getScriptCompiler() {
+		if (compiler == null) {
+			CompilerConfiguration config = createCompilerConfiguration();
+			GroovyClassLoader classLoader = new GroovyClassLoader(Thread.currentThread().getContextClassLoader(), config);
+
+			// reuse compiled expressions from previous sessions
+			compiler = new CompiledScriptCache(new GroovyScriptEngineImpl(classLoader), config, ExpressionFormatFunctions.class.getName(), CacheManager.getInstance().getDiskStore());
 		}
-		return engine;
+		return compiler;
 	}
 
 	protected static synchronized CompiledScript compileScriptlet(String expression) throws ScriptException {
@@ -254,8 +257,7 @@ public class ExpressionFormat extends Format {
 
 		CompiledScript scriptlet = scriptletCache.get(expression);
 		if (scriptlet == null) {
-			Compilable engine = (Compilable) getGroovyScriptEngine();
-			scriptlet = engine.compile(expression);
+			scriptlet = getScriptCompiler().compile(expression);
 			scriptletCache.put(expression, scriptlet);
 		}
 		return scriptlet;
@@ -55,13 +55,12 @@ import net.filebot.media.MetaAttributes;
 import net.filebot.media.PlexNamingStandard;
 import net.filebot.media.VideoFormat;
 import net.filebot.mediainfo.ImageMetadata;
-import net.filebot.mediainfo.MediaInfo;
 import net.filebot.mediainfo.MediaInfo.StreamKind;
 import net.filebot.mediainfo.MediaInfoException;
+import net.filebot.mediainfo.MediaInfoSnapshot;
 import net.filebot.similarity.Normalization;
 import net.filebot.similarity.SimilarityComparator;
 import net.filebot.util.FileUtilities;
-import net.filebot.util.WeakValueHashMap;
 import net.filebot.web.AudioTrack;
 import net.filebot.web.Episode;
 import net.filebot.web.EpisodeFormat;
@@ -80,7 +79,7 @@ public class MediaBindingBean {
 	private final File mediaFile;
 	private final Map<File, ?> context;
 
-	private MediaInfo mediaInfo;
+	private MediaInfoSnapshot mediaInfo;
 
 	public MediaBindingBean(Object infoObject, File mediaFile) {
 		this(infoObject, mediaFile, null);
@@ -1173,21 +1172,18 @@ public class MediaBindingBean {
 		return null;
 	}
 
-	private static final Map<File, MediaInfo> sharedMediaInfoObjects = synchronizedMap(new WeakValueHashMap<File, MediaInfo>(64));
-
-	private synchronized MediaInfo getMediaInfo() {
+	private synchronized MediaInfoSnapshot getMediaInfo() {
 		// lazy initialize
 		if (mediaInfo == null) {
 			// use inferred media file (e.g. actual movie file instead of subtitle file)
 			File inferredMediaFile = getInferredMediaFile();
 
-			mediaInfo = sharedMediaInfoObjects.computeIfAbsent(inferredMediaFile, f -> {
-				try {
-					return new MediaInfo().open(f);
-				} catch (IOException e) {
-					throw new MediaInfoException(e.getMessage());
-				}
-			});
+			// reuse persistent snapshot if the file has been read before
+			try {
+				mediaInfo = MediaInfoSnapshot.of(inferredMediaFile);
+			} catch (IOException e) {
+				throw new MediaInfoException(e.getMessage());
+			}
 		}
 
 		return mediaInfo;
@@ -1244,7 +1240,7 @@ public class MediaBindingBean {
 	}
 
 	private List<AssociativeScriptObject> createMediaInfoBindings(StreamKind kind) {
-		return getMediaInfo().snapshot().get(kind).stream().map(m -> new AssociativeScriptObject(m, this::undefined)).collect(toList());
+		return getMediaInfo().getStreams().get(kind).stream().map(m -> new AssociativeScriptObject(m, this::undefined)).collect(toList());
 	}
 
 	private String[] getFileNames(File file) {
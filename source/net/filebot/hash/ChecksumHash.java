@@ -2,6 +2,7 @@
 package net.filebot.hash;
 
 
+import java.nio.ByteBuffer;
 import java.util.zip.Checksum;
 
 
@@ -21,6 +22,12 @@ public class ChecksumHash implements Hash {
 	}
 
 
+	@Override
+	public void update(ByteBuffer buffer) {
+		checksum.update(buffer);
+	}
+
+
 	@Override
 	public String digest() {
 		return String.format("%08X", checksum.getValue());
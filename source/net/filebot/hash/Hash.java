@@ -1,12 +1,31 @@
-
 package net.filebot.hash;
 
+import static net.filebot.util.FileUtilities.*;
+
+import java.nio.ByteBuffer;
 
 public interface Hash {
 
 	public void update(byte[] bytes, int off, int len);
 
 
+	public default void update(ByteBuffer buffer) {
+		if (buffer.hasArray()) {
+			update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			buffer.position(buffer.limit());
+			return;
+		}
+
+		// copy direct buffer in small chunks
+		byte[] bytes = new byte[Math.min(buffer.remaining(), BUFFER_SIZE)];
+		while (buffer.hasRemaining()) {
+			int len = Math.min(buffer.remaining(), bytes.length);
+			buffer.get(bytes, 0, len);
+			update(bytes, 0, len);
+		}
+	}
+
+
 	public String digest();
 
 }
@@ -0,0 +1,194 @@
+package net.filebot.hash;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+
+import net.filebot.util.DefaultThreadFactory;
+import net.filebot.util.SystemProperty;
+
+/**
+ * Compute multiple hashes of a file in a single pass. The file is read (or memory-mapped) in large chunks, and while the next chunk is being read, the previous chunk is fed into all hashes concurrently.
+ */
+public class HashComputation {
+
+	public static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+	private static final ExecutorService workers = Executors.newCachedThreadPool(new DefaultThreadFactory("HashComputation", Thread.MIN_PRIORITY, true));
+
+	// e.g. -Dnet.filebot.hash.HashComputation.buffers=4
+	public static final int BUFFER_POOL_SIZE = SystemProperty.of("net.filebot.hash.HashComputation.buffers", Integer::parseInt, 2).get();
+
+	// direct buffers are shared by all threads (i.e. a pair of buffers per computation) and the number of concurrent computations is bounded by the pool size
+	private static final BlockingQueue<ByteBuffer[]> buffers = new ArrayBlockingQueue<ByteBuffer[]>(Math.max(1, BUFFER_POOL_SIZE));
+	private static int allocatedBuffers = 0;
+
+	public enum ReadMode {
+
+		/**
+		 * Read chunks into reusable direct buffers
+		 */
+		Channel,
+
+		/**
+		 * Map chunks into memory and let the OS page them in
+		 */
+		MemoryMapped;
+
+		public static ReadMode get() {
+			return SystemProperty.of("net.filebot.hash.HashComputation.mode", ReadMode::valueOf, Channel).get();
+		}
+	}
+
+	public static Map<HashType, String> compute(File file, Collection<HashType> types, LongConsumer progress) throws IOException, InterruptedException {
+		return compute(file, types, ReadMode.get(), progress);
+	}
+
+	public static Map<HashType, String> compute(File file, Collection<HashType> types, ReadMode mode, LongConsumer progress) throws IOException, InterruptedException {
+		Map<HashType, Hash> hashes = new EnumMap<HashType, Hash>(HashType.class);
+		for (HashType it : types) {
+			hashes.put(it, it.newHash());
+		}
+
+		ByteBuffer[] buffer = mode == ReadMode.Channel ? acquire() : null;
+		List<Future<?>> pending = new ArrayList<Future<?>>(hashes.size());
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long position = 0;
+
+			for (int i = 0;; i ^= 1) {
+				// read or map the next chunk while the previous chunk is being hashed
+				ByteBuffer data = mode == ReadMode.Channel ? read(channel, buffer[i]) : map(channel, position);
+				if (data == null) {
+					break;
+				}
+
+				// wait for the previous chunk
+				await(pending);
+
+				// make this long-running operation interruptible
+				if (Thread.interrupted()) {
+					throw new InterruptedException();
+				}
+
+				position += data.remaining();
+				progress.accept(position);
+
+				// hash current chunk while reading the next chunk
+				for (Hash hash : hashes.values()) {
+					ByteBuffer chunk = data.duplicate();
+					pending.add(workers.submit(() -> hash.update(chunk)));
+				}
+			}
+
+			await(pending);
+		} finally {
+			// make sure buffers are no longer used when we return
+			join(pending);
+
+			if (buffer != null) {
+				buffers.offer(buffer);
+			}
+		}
+
+		Map<HashType, String> digest = new EnumMap<HashType, String>(HashType.class);
+		hashes.forEach((k, v) -> digest.put(k, v.digest()));
+		return digest;
+	}
+
+	private static ByteBuffer[] acquire() throws InterruptedException {
+		ByteBuffer[] buffer = buffers.poll();
+		if (buffer != null) {
+			return buffer;
+		}
+
+		// allocate direct buffers on demand
+		synchronized (buffers) {
+			if (allocatedBuffers < Math.max(1, BUFFER_POOL_SIZE)) {
+				allocatedBuffers++;
+				return new ByteBuffer[] { ByteBuffer.allocateDirect(CHUNK_SIZE), ByteBuffer.allocateDirect(CHUNK_SIZE) };
+			}
+		}
+
+		// wait for another computation to complete
+		return buffers.take();
+	}
+
+	static int getAllocatedBuffers() {
+		synchronized (buffers) {
+			return allocatedBuffers;
+		}
+	}
+
+	private static ByteBuffer read(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.clear();
+
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				break;
+			}
+		}
+
+		buffer.flip();
+		return buffer.hasRemaining() ? buffer : null;
+	}
+
+	private static ByteBuffer map(FileChannel channel, long position) throws IOException {
+		long size = Math.min(CHUNK_SIZE, channel.size() - position);
+		if (size <= 0) {
+			return null;
+		}
+
+		// page in the whole chunk on this thread so that the hash workers don't stall on page faults
+		return channel.map(MapMode.READ_ONLY, position, size).load();
+	}
+
+	private static void await(List<Future<?>> pending) throws IOException, InterruptedException {
+		try {
+			for (Future<?> it : pending) {
+				it.get();
+			}
+			pending.clear();
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause());
+		}
+	}
+
+	private static void join(List<Future<?>> pending) {
+		boolean interrupted = false;
+
+		for (Future<?> it : pending) {
+			while (!it.isDone()) {
+				try {
+					it.get();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					// ignore
+				}
+			}
+		}
+		pending.clear();
+
+		// restore interrupt status
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -2,6 +2,7 @@
 package net.filebot.hash;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 
 public class MessageDigestHash implements Hash {
@@ -25,6 +26,11 @@ public class MessageDigestHash implements Hash {
 		md.update(bytes, off, len);
 	}
 
+	@Override
+	public void update(ByteBuffer buffer) {
+		md.update(buffer);
+	}
+
 	@Override
 	public String digest() {
 		// e.g. %032x (format for MD-5)
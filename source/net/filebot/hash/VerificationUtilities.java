@@ -1,11 +1,12 @@
 package net.filebot.hash;
 
+import static java.util.Collections.*;
 import static net.filebot.util.FileUtilities.*;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -80,27 +81,14 @@ public final class VerificationUtilities {
 	}
 
 	public static String computeHash(File file, HashType type) throws IOException, InterruptedException {
-		Hash hash = type.newHash();
-
-		// calculate checksum
-		InputStream in = new FileInputStream(file);
-
-		try {
-			byte[] buffer = new byte[BUFFER_SIZE];
-			int len = 0;
-
-			while ((len = in.read(buffer)) >= 0) {
-				hash.update(buffer, 0, len);
-
-				// make this long-running operation interruptible
-				if (Thread.interrupted())
-					throw new InterruptedException();
-			}
-		} finally {
-			in.close();
-		}
+		return computeHashes(file, singleton(type)).get(type);
+	}
 
-		return hash.digest();
+	public static Map<HashType, String> computeHashes(File file, Collection<HashType> types) throws IOException, InterruptedException {
+		// read file only once for all hash types
+		return HashComputation.compute(file, types, position -> {
+			// ignore progress
+		});
 	}
 
 	public static String crc32(File file) throws IOException, InterruptedException {
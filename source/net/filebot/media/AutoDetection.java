@@ -35,8 +35,8 @@ import java.util.logging.Level;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
-import net.filebot.mediainfo.MediaInfo;
 import net.filebot.mediainfo.MediaInfo.StreamKind;
+import net.filebot.mediainfo.MediaInfoSnapshot;
 import net.filebot.similarity.NameSimilarityMetric;
 import net.filebot.util.FastFile;
 import net.filebot.web.Episode;
@@ -118,7 +118,8 @@ public class AutoDetection {
 
 		if (VIDEO_FILES.accept(f) && f.length() > ONE_MEGABYTE) {
 			// check for Japanese audio or characteristic subtitles
-			try (MediaInfo mi = new MediaInfo().open(f)) {
+			try {
+				MediaInfoSnapshot mi = MediaInfoSnapshot.of(f);
 				long minutes = Duration.ofMillis(Long.parseLong(mi.get(StreamKind.General, 0, "Duration"))).toMinutes();
 				return minutes < 60 || mi.get(StreamKind.General, 0, "AudioLanguageList").contains("Japanese") && mi.get(StreamKind.General, 0, "TextCodecList").contains("ASS");
 			} catch (Exception e) {
@@ -7,6 +7,7 @@ import static net.filebot.util.RegularExpressions.*;
 import java.text.CollationKey;
 import java.text.Collator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
@@ -27,7 +28,20 @@ class HighPerformanceMatcher extends CommonSequenceMatcher {
 		String[] words = SPACE.split(sequence);
 		CollationKey[] keys = new CollationKey[words.length];
 		for (int i = 0; i < words.length; i++) {
-			keys[i] = collator.getCollationKey(words[i]);
+			keys[i] = new PreparedCollationKey(words[i], collator.getCollationKey(words[i]).toByteArray());
+		}
+		return keys;
+	}
+
+	public static CollationKey[] prepare(String sequence, byte[][] bytes) {
+		String[] words = SPACE.split(sequence);
+		if (words.length != bytes.length) {
+			throw new IllegalArgumentException("Collation key mismatch: " + sequence);
+		}
+
+		CollationKey[] keys = new CollationKey[words.length];
+		for (int i = 0; i < words.length; i++) {
+			keys[i] = new PreparedCollationKey(words[i], bytes[i]);
 		}
 		return keys;
 	}
@@ -70,4 +84,44 @@ class HighPerformanceMatcher extends CommonSequenceMatcher {
 	public CollationKey[] split(String sequence) {
 		throw new UnsupportedOperationException("requires ahead-of-time collation");
 	}
+
+	/**
+	 * Collation key backed by the raw collation key bytes so that keys can be stored and restored from an index snapshot
+	 */
+	static class PreparedCollationKey extends CollationKey {
+
+		private final byte[] bytes;
+
+		public PreparedCollationKey(String source, byte[] bytes) {
+			super(source);
+			this.bytes = bytes;
+		}
+
+		@Override
+		public int compareTo(CollationKey target) {
+			if (target instanceof PreparedCollationKey) {
+				return Arrays.compareUnsigned(bytes, ((PreparedCollationKey) target).bytes);
+			}
+
+			// e.g. collation key of the same collator that has not been read from a snapshot
+			return Arrays.compareUnsigned(bytes, target.toByteArray());
+		}
+
+		@Override
+		public byte[] toByteArray() {
+			return bytes.clone();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof PreparedCollationKey && Arrays.equals(bytes, ((PreparedCollationKey) other).bytes);
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(bytes);
+		}
+
+	}
+
 }
\ No newline at end of file
@@ -18,6 +18,12 @@ class IndexEntry<T> implements Serializable {
 		this.strictName = strictName;
 	}
 
+	public IndexEntry(T object, String lenientName, String strictName, CollationKey[] lenientKey, CollationKey[] strictKey) {
+		this(object, lenientName, strictName);
+		this.lenientKey = lenientKey;
+		this.strictKey = strictKey;
+	}
+
 	public T getObject() {
 		return object;
 	}
@@ -0,0 +1,69 @@
+package net.filebot.media;
+
+import static java.util.Arrays.*;
+import static java.util.stream.Collectors.*;
+
+import java.text.CollationKey;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Hash index of the leading words of each {@link IndexEntry} key so that all entries that may occur as word sequence within a given name can be found without scanning the entire index
+ */
+class IndexEntryLookup<T> {
+
+	private final List<IndexEntry<T>> entries;
+	private final Map<List<CollationKey>, int[]> index;
+
+	public IndexEntryLookup(List<IndexEntry<T>> entries, Function<IndexEntry<T>, CollationKey[]> key) {
+		Map<List<CollationKey>, List<Integer>> postings = new HashMap<List<CollationKey>, List<Integer>>();
+
+		for (int i = 0; i < entries.size(); i++) {
+			CollationKey[] words = key.apply(entries.get(i));
+			if (words != null && words.length > 0) {
+				postings.computeIfAbsent(prefix(words, 0), k -> new ArrayList<Integer>()).add(i);
+			}
+		}
+
+		this.entries = entries;
+		this.index = new HashMap<List<CollationKey>, int[]>(postings.size());
+		postings.forEach((k, v) -> index.put(k, v.stream().mapToInt(Integer::intValue).toArray()));
+	}
+
+	/**
+	 * Find all entries where the key may match the word sequence of a given name starting at any index up to maxStartIndex (in index order)
+	 */
+	public List<IndexEntry<T>> lookup(Collection<CollationKey[]> names, int maxStartIndex) {
+		List<int[]> matches = new ArrayList<int[]>();
+
+		for (CollationKey[] name : names) {
+			for (int i = 0; i < name.length && i <= maxStartIndex; i++) {
+				// keys with a single word
+				int[] posting = index.get(asList(name[i]));
+				if (posting != null) {
+					matches.add(posting);
+				}
+
+				// keys with two or more words
+				if (i + 1 < name.length) {
+					posting = index.get(prefix(name, i));
+					if (posting != null) {
+						matches.add(posting);
+					}
+				}
+			}
+		}
+
+		return matches.stream().flatMapToInt(IntStream::of).sorted().distinct().mapToObj(entries::get).collect(toList());
+	}
+
+	private static List<CollationKey> prefix(CollationKey[] words, int offset) {
+		return asList(copyOfRange(words, offset, Math.min(offset + 2, words.length)));
+	}
+
+}
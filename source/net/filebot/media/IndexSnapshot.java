@@ -0,0 +1,334 @@
+package net.filebot.media;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.util.Arrays.*;
+import static net.filebot.Logging.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.CollationKey;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import net.filebot.Resource;
+import net.filebot.web.Movie;
+import net.filebot.web.SearchResult;
+
+/**
+ * Binary snapshot of a parsed data file and its prepared {@link IndexEntry} list including the collation key bytes of all names, so that the index can be memory-mapped instead of being parsed and collated again on every start
+ */
+class IndexSnapshot<T> {
+
+	private static final int MAGIC = 0x46424958; // FBIX
+	private static final int VERSION = 2;
+
+	// magic, version, checksum and length of the collator version
+	private static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+
+	// collation keys may differ between Java versions
+	private static final String COLLATOR_VERSION = System.getProperty("java.version");
+
+	private final T[] objects;
+	private final Resource<List<IndexEntry<T>>> entries;
+
+	private IndexSnapshot(T[] objects, Resource<List<IndexEntry<T>>> entries) {
+		this.objects = objects;
+		this.entries = Resource.lazy(entries);
+	}
+
+	public T[] getObjects() {
+		return objects.clone();
+	}
+
+	public List<IndexEntry<T>> getEntries() throws Exception {
+		return entries.get();
+	}
+
+	public static <T> IndexSnapshot<T> open(File file, byte[] source, Resource<T[]> parse, Function<T, List<IndexEntry<T>>> mapper, Codec<T> codec) throws Exception {
+		long checksum = checksum(source);
+
+		if (file.exists()) {
+			try {
+				IndexSnapshot<T> snapshot = read(file, checksum, codec);
+				if (snapshot != null) {
+					return snapshot;
+				}
+			} catch (Exception e) {
+				debug.log(Level.WARNING, "Failed to read index snapshot: " + file, e);
+			}
+		}
+
+		// parse data file and prepare index entries on demand
+		T[] objects = parse.get();
+
+		return new IndexSnapshot<T>(objects, () -> {
+			List<IndexEntry<T>> index = new ArrayList<IndexEntry<T>>(objects.length * 4); // alias names
+			stream(objects).map(mapper).forEach(index::addAll);
+
+			try {
+				write(file, checksum, objects, index, codec);
+			} catch (Exception e) {
+				debug.log(Level.WARNING, "Failed to write index snapshot: " + file, e);
+			}
+			return index;
+		});
+	}
+
+	private static long checksum(byte[] source) {
+		CRC32 crc = new CRC32();
+		crc.update(source);
+		return (long) source.length << 32 | crc.getValue();
+	}
+
+	/**
+	 * @return false if the snapshot has been created for a different data file or Java version
+	 */
+	private static boolean verify(FileChannel channel, long checksum) throws IOException {
+		long size = channel.size();
+		byte[] version = COLLATOR_VERSION.getBytes(UTF_8);
+
+		CRC32 crc = new CRC32();
+		DataInputStream in = new DataInputStream(new CheckedInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16), crc)); // closed with the channel
+
+		if (size < HEADER_SIZE + version.length + 8 || in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != checksum || in.readInt() != version.length) {
+			return false;
+		}
+
+		byte[] bytes = new byte[Math.max(version.length, 1 << 16)];
+		in.readFully(bytes, 0, version.length);
+		if (!COLLATOR_VERSION.equals(new String(bytes, 0, version.length, UTF_8))) {
+			return false;
+		}
+
+		// index entries are decoded lazily, so we need to make sure that the snapshot is complete and intact before we use it
+		for (long remaining = size - 8 - HEADER_SIZE - version.length; remaining > 0; remaining -= bytes.length) {
+			in.readFully(bytes, 0, (int) Math.min(remaining, bytes.length));
+		}
+
+		long value = crc.getValue();
+		if (in.readLong() != value) {
+			throw new IOException("Bad checksum");
+		}
+		return true;
+	}
+
+	private static <T> IndexSnapshot<T> read(File file, long checksum, Codec<T> codec) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			// a mapped file can't be replaced on Windows, so we must not map the snapshot unless we are going to use it
+			if (!verify(channel, checksum)) {
+				debug.finest(format("Index snapshot is out of date: %s", file));
+				return null;
+			}
+			buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		// skip header
+		buffer.position(HEADER_SIZE + COLLATOR_VERSION.getBytes(UTF_8).length);
+
+		T[] objects = codec.newArray(buffer.getInt());
+		for (int i = 0; i < objects.length; i++) {
+			objects[i] = codec.read(buffer);
+		}
+
+		// decode index entries on demand
+		ByteBuffer index = buffer.slice();
+
+		return new IndexSnapshot<T>(objects, () -> {
+			int size = index.getInt();
+			List<IndexEntry<T>> entries = new ArrayList<IndexEntry<T>>(size);
+			for (int i = 0; i < size; i++) {
+				T object = objects[index.getInt()];
+				String lenientName = getString(index);
+				CollationKey[] lenientKey = getKey(lenientName, index);
+				String strictName = getString(index);
+				CollationKey[] strictKey = getKey(strictName, index);
+				entries.add(new IndexEntry<T>(object, lenientName, strictName, lenientKey, strictKey));
+			}
+			return entries;
+		});
+	}
+
+	private static <T> void write(File file, long checksum, T[] objects, List<IndexEntry<T>> index, Codec<T> codec) throws IOException {
+		File temp = new File(file.getPath() + ".part");
+
+		CRC32 crc = new CRC32();
+
+		try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath()), 1 << 16), crc))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(checksum);
+			putString(out, COLLATOR_VERSION);
+
+			out.writeInt(objects.length);
+			for (T object : objects) {
+				codec.write(object, out);
+			}
+
+			// identify objects by array index
+			Map<T, Integer> position = new IdentityHashMap<T, Integer>(objects.length);
+			for (int i = 0; i < objects.length; i++) {
+				position.put(objects[i], i);
+			}
+
+			out.writeInt(index.size());
+			for (IndexEntry<T> it : index) {
+				out.writeInt(position.get(it.getObject()));
+				putString(out, it.getLenientName());
+				putKey(out, it.getLenientKey());
+				putString(out, it.getStrictName());
+				putKey(out, it.getStrictKey());
+			}
+
+			// checksum of all previous bytes
+			out.writeLong(crc.getValue());
+		}
+
+		// replace previous snapshot atomically
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		debug.finest(format("Write index snapshot: %s (%,d entries)", file, index.size()));
+	}
+
+	private static String getString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	private static void putString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+
+		byte[] bytes = value.getBytes(UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String[] getStringArray(ByteBuffer buffer) {
+		String[] values = new String[buffer.getInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = getString(buffer);
+		}
+		return values;
+	}
+
+	private static void putStringArray(DataOutputStream out, String[] values) throws IOException {
+		out.writeInt(values.length);
+		for (String it : values) {
+			putString(out, it);
+		}
+	}
+
+	private static CollationKey[] getKey(String name, ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+
+		byte[][] bytes = new byte[length][];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = new byte[buffer.getInt()];
+			buffer.get(bytes[i]);
+		}
+		return HighPerformanceMatcher.prepare(name, bytes);
+	}
+
+	private static void putKey(DataOutputStream out, CollationKey[] key) throws IOException {
+		if (key == null) {
+			out.writeInt(-1);
+			return;
+		}
+
+		out.writeInt(key.length);
+		for (CollationKey it : key) {
+			byte[] bytes = it.toByteArray();
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	public interface Codec<T> {
+
+		T[] newArray(int length);
+
+		T read(ByteBuffer buffer);
+
+		void write(T object, DataOutputStream out) throws IOException;
+	}
+
+	public static final Codec<SearchResult> SERIES = new Codec<SearchResult>() {
+
+		@Override
+		public SearchResult[] newArray(int length) {
+			return new SearchResult[length];
+		}
+
+		@Override
+		public SearchResult read(ByteBuffer buffer) {
+			int id = buffer.getInt();
+			String name = getString(buffer);
+			String[] aliasNames = getStringArray(buffer);
+			return new SearchResult(id, name, aliasNames);
+		}
+
+		@Override
+		public void write(SearchResult object, DataOutputStream out) throws IOException {
+			out.writeInt(object.getId());
+			putString(out, object.getName());
+			putStringArray(out, object.getAliasNames());
+		}
+	};
+
+	public static final Codec<Movie> MOVIE = new Codec<Movie>() {
+
+		@Override
+		public Movie[] newArray(int length) {
+			return new Movie[length];
+		}
+
+		@Override
+		public Movie read(ByteBuffer buffer) {
+			int imdbId = buffer.getInt();
+			int tmdbId = buffer.getInt();
+			int year = buffer.getInt();
+			String name = getString(buffer);
+			String[] aliasNames = getStringArray(buffer);
+			return new Movie(name, aliasNames, year, imdbId, tmdbId, null);
+		}
+
+		@Override
+		public void write(Movie object, DataOutputStream out) throws IOException {
+			out.writeInt(object.getImdbId());
+			out.writeInt(object.getTmdbId());
+			out.writeInt(object.getYear());
+			putString(out, object.getName());
+			putStringArray(out, object.getAliasNames());
+		}
+	};
+
+}
@@ -0,0 +1,279 @@
+package net.filebot.media;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import net.filebot.util.KeywordMatcher;
+
+/**
+ * Keyword based equivalent of the huge {@code (a|b|c|...)} alternation patterns that {@link ReleaseInfo} builds from the release group and query blacklist data files. All keywords are matched in a single pass, and the same boundary rules as the
+ * original patterns are applied to the matched keywords, so that we don't need to backtrack over thousands of alternatives at every offset.
+ */
+class KeywordPattern {
+
+	/**
+	 * Same as {@code (?<!\p{Alnum})(a|b|c)(?!\p{Alnum})} with {@link Pattern#CASE_INSENSITIVE}
+	 */
+	public static KeywordPattern word(KeywordMatcher keywords) {
+		return new KeywordPattern(keywords, true, (s, ends, start) -> {
+			if (!isWordStart(s, start) || ends[start] == null) {
+				return -1;
+			}
+			for (int end : ends[start]) {
+				if (isWordEnd(s, end)) {
+					return end;
+				}
+			}
+			return -1;
+		});
+	}
+
+	/**
+	 * Same as {@link ReleaseInfo#getReleaseGroupPattern(boolean)}, i.e. one or more release group names at the beginning or the end of the input
+	 */
+	public static KeywordPattern releaseGroup(KeywordMatcher keywords, boolean strict) {
+		return new KeywordPattern(keywords, !strict, (s, ends, start) -> {
+			// group pattern at the beginning of the input
+			if (isBlank(s, 0, start)) {
+				int end = group(s, ends, start, false);
+				if (end >= 0) {
+					return end;
+				}
+			}
+
+			// group pattern at the end of the input
+			return group(s, ends, start, true);
+		});
+	}
+
+	/**
+	 * Same as {@link ReleaseInfo#getReleaseGroupTrimPattern()}, i.e. any release group name enclosed in brackets or separators
+	 */
+	public static KeywordPattern releaseGroupTrim(KeywordMatcher keywords) {
+		return new KeywordPattern(keywords, true, (s, ends, start) -> {
+			if (ends[start] == null) {
+				return -1;
+			}
+
+			// -1 for the beginning or the end of the input
+			int before = start == 0 ? -1 : s.charAt(start - 1);
+			if (before == '[' || before == '(' || before == -1) {
+				for (int end : ends[start]) {
+					int after = end == s.length() ? -1 : s.charAt(end);
+					if (after == ']' || after == ')' || after == '-') {
+						return end;
+					}
+				}
+			}
+
+			if (before == '[' || before == '(' || before == '-') {
+				for (int end : ends[start]) {
+					int after = end == s.length() ? -1 : s.charAt(end);
+					if (after == ']' || after == ')' || after == -1) {
+						return end;
+					}
+				}
+			}
+
+			return -1;
+		});
+	}
+
+	/**
+	 * Match {@code (?<!\p{Alnum})GROUP(?!\p{Alnum})[\p{Punct}]??} one or more times, i.e. {@code GROUP[INDEX]} patterns, in the same order as the regex engine would try them
+	 */
+	private static int group(String s, int[][] ends, int start, boolean tail) {
+		if (start >= s.length() || ends[start] == null || !isWordStart(s, start)) {
+			return -1;
+		}
+
+		for (int end : ends[start]) {
+			if (!isWordEnd(s, end)) {
+				continue;
+			}
+
+			// try to match the next group without punctuation in between
+			int next = group(s, ends, end, tail);
+			if (next >= 0) {
+				return next;
+			}
+
+			// group pattern at the end of the input must be followed only by non-alphanumeric characters
+			if (!tail || isBlank(s, end, s.length())) {
+				return end;
+			}
+
+			// try to match the next group after a single punctuation character
+			if (end < s.length() && isPunct(s.charAt(end))) {
+				next = group(s, ends, end + 1, tail);
+				if (next >= 0) {
+					return next;
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	private final KeywordMatcher keywords;
+	private final boolean ignoreCase;
+	private final Rule rule;
+
+	private KeywordPattern(KeywordMatcher keywords, boolean ignoreCase, Rule rule) {
+		this.keywords = keywords;
+		this.ignoreCase = ignoreCase;
+		this.rule = rule;
+	}
+
+	/**
+	 * Same as {@code pattern.matcher(s).replaceAll("")}
+	 */
+	public String remove(String s) {
+		int[][] ends = keywords.getMatchEnds(s, ignoreCase);
+
+		StringBuilder sb = null;
+		int position = 0;
+
+		for (int start = 0; start < s.length(); start++) {
+			int end = rule.end(s, ends, start);
+			if (end > start) {
+				if (sb == null) {
+					sb = new StringBuilder(s.length());
+				}
+				sb.append(s, position, start);
+				position = end;
+				start = end - 1;
+			}
+		}
+
+		if (sb == null) {
+			return s;
+		}
+		return sb.append(s, position, s.length()).toString();
+	}
+
+	/**
+	 * Same as {@code StringUtilities.matchLastOccurrence(s, pattern)}
+	 */
+	public String findLast(String s) {
+		int[][] ends = keywords.getMatchEnds(s, ignoreCase);
+		String lastMatch = null;
+
+		for (int start = 0; start < s.length(); start++) {
+			int end = rule.end(s, ends, start);
+			if (end > start) {
+				lastMatch = s.substring(start, end);
+				start = end - 1;
+			}
+		}
+
+		return lastMatch;
+	}
+
+	/**
+	 * Replace all keywords with their original spelling, same as replacing each {@code (?<!\p{Alnum})quote(paragon)(?!\p{Alnum})} with {@link Pattern#CASE_INSENSITIVE} and {@link Pattern#UNICODE_CHARACTER_CLASS} one by one
+	 */
+	public static String normalize(KeywordMatcher keywords, String[] paragon, String s) {
+		List<int[]> matches = new ArrayList<int[]>();
+		keywords.match(s, true, (start, end, keyword) -> {
+			// original spelling is replaced as plain text, i.e. wildcards and escape characters only match themselves
+			if ((start == 0 || !isUnicodeAlnum(s.charAt(start - 1))) && (end == s.length() || !isUnicodeAlnum(s.charAt(end))) && paragon[keyword].length() == end - start && s.regionMatches(true, start, paragon[keyword], 0, end - start)) {
+				matches.add(new int[] { start, keyword });
+			}
+		});
+
+		if (matches.isEmpty()) {
+			return s;
+		}
+
+		// keywords that are listed later take precedence
+		matches.sort(Comparator.comparingInt(m -> m[1]));
+
+		char[] chars = s.toCharArray();
+		for (int[] m : matches) {
+			paragon[m[1]].getChars(0, paragon[m[1]].length(), chars, m[0]);
+		}
+		return new String(chars);
+	}
+
+	private static boolean isWordStart(String s, int start) {
+		return start == 0 || !isAlnum(s.charAt(start - 1));
+	}
+
+	private static boolean isWordEnd(String s, int end) {
+		return end == s.length() || !isAlnum(s.charAt(end));
+	}
+
+	private static boolean isBlank(String s, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (isAlnum(s.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isAlnum(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9'); // \p{Alnum} is ASCII only by default
+	}
+
+	private static boolean isPunct(char c) {
+		return c >= '!' && c <= '~' && !isAlnum(c); // \p{Punct} is ASCII only by default
+	}
+
+	private static boolean isUnicodeAlnum(char c) {
+		return Character.isAlphabetic(c) || Character.isDigit(c);
+	}
+
+	/**
+	 * Regular expressions characters that we can't match as plain keywords
+	 */
+	private static final Pattern SPECIAL_CHARACTERS = Pattern.compile("[\\\\.\\[\\]{}()<>*+?^$|]");
+
+	public static boolean isLiteral(String keyword) {
+		return !keyword.isEmpty() && !SPECIAL_CHARACTERS.matcher(keyword).find();
+	}
+
+	/**
+	 * Keyword character that matches any single character (i.e. NUL which can't occur in file names)
+	 */
+	public static final char WILDCARD = '\0';
+
+	/**
+	 * @return keyword for simple patterns with {@code .} wildcards and escaped characters (e.g. {@code A.C.A} or {@code de\[42\]}) or null if the pattern can't be matched as a keyword
+	 */
+	public static String toKeyword(String pattern) {
+		StringBuilder keyword = new StringBuilder(pattern.length());
+
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '\\') {
+				// escaped characters (e.g. \[ but not \d)
+				if (++i == pattern.length() || Character.isLetterOrDigit(pattern.charAt(i))) {
+					return null;
+				}
+				keyword.append(pattern.charAt(i));
+			} else if (c == '.') {
+				keyword.append(WILDCARD);
+			} else if (SPECIAL_CHARACTERS.matcher(String.valueOf(c)).matches()) {
+				return null;
+			} else {
+				keyword.append(c);
+			}
+		}
+
+		return keyword.length() == 0 ? null : keyword.toString();
+	}
+
+	@FunctionalInterface
+	private interface Rule {
+
+		/**
+		 * @return end offset of the match at the given start offset or -1
+		 */
+		int end(String s, int[][] ends, int start);
+	}
+
+}
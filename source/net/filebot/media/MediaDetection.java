@@ -22,6 +22,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -39,6 +40,7 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -49,8 +51,9 @@ import net.filebot.Language;
 import net.filebot.Resource;
 import net.filebot.WebServices;
 import net.filebot.archive.Archive;
-import net.filebot.mediainfo.MediaInfo;
 import net.filebot.mediainfo.MediaInfo.StreamKind;
+import net.filebot.mediainfo.MediaInfoPool;
+import net.filebot.mediainfo.MediaInfoSnapshot;
 import net.filebot.similarity.DateMatcher;
 import net.filebot.similarity.EpisodeMetrics;
 import net.filebot.similarity.MetricAvg;
@@ -488,12 +491,12 @@ public class MediaDetection {
 	public static List<IndexEntry<SearchResult>> getSeriesIndex() throws IOException {
 		return getIndex(() -> {
 			try {
-				return releaseInfo.getTheTVDBIndex();
+				return releaseInfo.getTheTVDBIndexEntries();
 			} catch (Exception e) {
 				debug.severe("Failed to load series index: " + e.getMessage());
-				return new SearchResult[0];
+				return emptyList();
 			}
-		}, HighPerformanceMatcher::prepare, seriesIndex);
+		}, seriesIndex);
 	}
 
 	private static final ArrayList<IndexEntry<SearchResult>> animeIndex = new ArrayList<IndexEntry<SearchResult>>();
@@ -501,12 +504,12 @@ public class MediaDetection {
 	public static List<IndexEntry<SearchResult>> getAnimeIndex() {
 		return getIndex(() -> {
 			try {
-				return releaseInfo.getAnidbIndex();
+				return releaseInfo.getAnidbIndexEntries();
 			} catch (Exception e) {
 				debug.severe("Failed to load anime index: " + e.getMessage());
-				return new SearchResult[0];
+				return emptyList();
 			}
-		}, HighPerformanceMatcher::prepare, animeIndex);
+		}, animeIndex);
 	}
 
 	public static List<String> matchSeriesByName(Collection<String> files, int maxStartIndex, List<IndexEntry<SearchResult>> index) throws Exception {
@@ -856,12 +859,10 @@ public class MediaDetection {
 
 	private static final ArrayList<IndexEntry<Movie>> movieIndex = new ArrayList<IndexEntry<Movie>>();
 
-	private static <T extends SearchResult> List<IndexEntry<T>> getIndex(Supplier<T[]> function, Function<T, List<IndexEntry<T>>> mapper, ArrayList<IndexEntry<T>> sink) {
+	private static <T extends SearchResult> List<IndexEntry<T>> getIndex(Supplier<List<IndexEntry<T>>> function, ArrayList<IndexEntry<T>> sink) {
 		synchronized (sink) {
 			if (sink.isEmpty()) {
-				T[] index = function.get();
-				sink.ensureCapacity(index.length * 4); // alias names
-				stream(index).map(mapper).forEach(sink::addAll);
+				sink.addAll(function.get());
 			}
 			return sink;
 		}
@@ -870,14 +871,25 @@ public class MediaDetection {
 	public static List<IndexEntry<Movie>> getMovieIndex() {
 		return getIndex(() -> {
 			try {
-				return releaseInfo.getMovieList();
+				return releaseInfo.getMovieIndexEntries();
 			} catch (Exception e) {
 				debug.severe("Failed to load movie index: " + e.getMessage());
-				return new Movie[0];
+				return emptyList();
 			}
-		}, HighPerformanceMatcher::prepare, movieIndex);
+		}, movieIndex);
 	}
 
+	private static final Resource<IndexEntryLookup<Movie>> movieIndexLookup = Resource.lazy(() -> {
+		List<IndexEntry<Movie>> index = getMovieIndex();
+
+		// don't memoize the lookup if the movie index failed to load, so that we try again next time
+		if (index.isEmpty()) {
+			throw new IllegalStateException("Movie index is empty");
+		}
+
+		return new IndexEntryLookup<Movie>(index, IndexEntry::getLenientKey);
+	});
+
 	public static List<Movie> matchMovieName(Collection<String> files, boolean strict, int maxStartIndex) {
 		// cross-reference file / folder name with movie list
 		final HighPerformanceMatcher nameMatcher = new HighPerformanceMatcher(maxStartIndex);
@@ -885,7 +897,17 @@ public class MediaDetection {
 
 		List<CollationKey[]> names = HighPerformanceMatcher.prepare(files);
 
-		for (IndexEntry<Movie> movie : getMovieIndex()) {
+		// only check movies where the leading words of the movie name occur in the file / folder name
+		List<IndexEntry<Movie>> options = getMovieIndex();
+		if (options.size() > 0) {
+			try {
+				options = movieIndexLookup.get().lookup(names, maxStartIndex);
+			} catch (Exception e) {
+				debug.log(Level.WARNING, "Failed to build movie index lookup: " + e.getMessage(), e);
+			}
+		}
+
+		for (IndexEntry<Movie> movie : options) {
 			for (CollationKey[] name : names) {
 				CollationKey[] commonName = nameMatcher.matchFirstCommonSequence(new CollationKey[][] { name, movie.getLenientKey() });
 				if (commonName != null && commonName.length >= movie.getLenientKey().length) {
@@ -1106,6 +1128,13 @@ public class MediaDetection {
 		return map;
 	}
 
+	private static final Map<StreamKind, List<String>> MEDIA_CHARACTERISTICS = new EnumMap<StreamKind, List<String>>(StreamKind.class);
+	static {
+		MEDIA_CHARACTERISTICS.put(StreamKind.General, asList("Duration"));
+		MEDIA_CHARACTERISTICS.put(StreamKind.Video, asList("CodecID", "Width", "Height"));
+		MEDIA_CHARACTERISTICS.put(StreamKind.Audio, asList("CodecID"));
+	}
+
 	public static List<List<File>> groupByMediaCharacteristics(Collection<File> files) {
 		List<List<File>> groups = new ArrayList<List<File>>();
 
@@ -1117,7 +1146,8 @@ public class MediaDetection {
 
 			filesByExtension.stream().collect(groupingBy(f -> {
 				if (VIDEO_FILES.accept(f) && f.length() > ONE_MEGABYTE) {
-					try (MediaInfo mi = new MediaInfo().open(f)) {
+					try {
+						MediaInfoSnapshot mi = MediaInfoPool.getInstance().get(f, MEDIA_CHARACTERISTICS);
 						Object d = Duration.ofMillis(Long.parseLong(mi.get(StreamKind.General, 0, "Duration"))).toMinutes() < 10 ? ChronoUnit.MINUTES : ChronoUnit.HOURS;
 						String v = mi.get(StreamKind.Video, 0, "CodecID");
 						String a = mi.get(StreamKind.Audio, 0, "CodecID");
@@ -1211,12 +1241,12 @@ public class MediaDetection {
 		return stripReleaseInfo(name, true);
 	}
 
-	private static final Resource<Pattern> blacklistPattern = Resource.lazy(releaseInfo::getBlacklistPattern);
+	private static final Resource<UnaryOperator<String>> blacklistFilter = Resource.lazy(releaseInfo::getBlacklistFilter);
 
 	public static List<String> stripBlacklistedTerms(Collection<String> names) {
 		try {
-			Pattern pattern = blacklistPattern.get();
-			return names.stream().filter(s -> pattern.matcher(s).replaceAll("").trim().length() > 0).collect(toList());
+			UnaryOperator<String> filter = blacklistFilter.get();
+			return names.stream().filter(s -> filter.apply(s).trim().length() > 0).collect(toList());
 		} catch (Exception e) {
 			debug.log(Level.SEVERE, "Failed to strip release info: " + e.getMessage(), e);
 		}
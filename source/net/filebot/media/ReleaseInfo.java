@@ -29,10 +29,12 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.IntStream;
@@ -42,9 +44,11 @@ import org.tukaani.xz.XZInputStream;
 
 import net.filebot.ApplicationFolder;
 import net.filebot.Cache;
+import net.filebot.CacheManager;
 import net.filebot.CacheType;
 import net.filebot.Resource;
 import net.filebot.util.FileUtilities.RegexFileFilter;
+import net.filebot.util.KeywordMatcher;
 import net.filebot.util.SystemProperty;
 import net.filebot.web.Movie;
 import net.filebot.web.SearchResult;
@@ -101,7 +105,7 @@ public class ReleaseInfo {
 		String[] groups = releaseGroup.get();
 
 		for (boolean strict : new boolean[] { true, false }) {
-			String match = matchLast(getReleaseGroupPattern(strict), groups, name);
+			String match = matchLastReleaseGroup(groups, strict, name);
 
 			if (match != null) {
 				// group pattern does not match closing brackets in GROUP[INDEX] patterns
@@ -115,6 +119,18 @@ public class ReleaseInfo {
 		return null;
 	}
 
+	private String matchLastReleaseGroup(String[] groups, boolean strict, String... name) throws Exception {
+		KeywordMatcher keywords = releaseGroupKeywords.get().orElse(null);
+		if (keywords == null) {
+			return matchLast(getReleaseGroupPattern(strict), groups, name);
+		}
+
+		// match last occurrence and prefer standard value over matched value
+		KeywordPattern pattern = KeywordPattern.releaseGroup(keywords, strict);
+		String lastMatch = stream(name).filter(Objects::nonNull).map(pattern::findLast).filter(Objects::nonNull).findFirst().orElse(null);
+		return lastMatch == null ? null : KeywordPattern.normalize(keywords, groups, lastMatch);
+	}
+
 	private Pattern languageTag;
 
 	public Locale getSubtitleLanguageTag(CharSequence... name) {
@@ -156,16 +172,14 @@ public class ReleaseInfo {
 
 	// cached patterns
 	private final Pattern[][] stopwords = new Pattern[2][];
-	private final Pattern[][] blacklist = new Pattern[2][];
+	private final List<List<UnaryOperator<String>>> blacklist = asList(null, null);
 
 	public List<String> cleanRelease(Collection<String> items, boolean strict) throws Exception {
 		int b = strict ? 1 : 0;
 
 		// initialize cached patterns
-		if (stopwords[b] == null || blacklist[b] == null) {
+		if (stopwords[b] == null || blacklist.get(b) == null) {
 			Pattern clutterBracket = getClutterBracketPattern(strict);
-			Pattern releaseGroup = getReleaseGroupPattern(strict);
-			Pattern releaseGroupTrim = getReleaseGroupTrimPattern();
 			Pattern languageSuffix = getSubtitleLanguageTagPattern();
 			Pattern languageTag = getLanguageTagPattern(strict);
 			Pattern videoSource = getVideoSourcePattern();
@@ -173,15 +187,19 @@ public class ReleaseInfo {
 			Pattern videoFormat = getVideoFormatPattern(strict);
 			Pattern stereoscopic3d = getStereoscopic3DPattern();
 			Pattern resolution = getResolutionPattern();
-			Pattern queryBlacklist = getBlacklistPattern();
+
+			// match release group names and blacklisted terms via keyword automaton instead of huge regex alternations
+			UnaryOperator<String> releaseGroup = getReleaseGroupFilter(strict);
+			UnaryOperator<String> releaseGroupTrim = getReleaseGroupTrimFilter();
+			UnaryOperator<String> queryBlacklist = getBlacklistFilter();
 
 			stopwords[b] = new Pattern[] { languageSuffix, languageTag, videoSource, videoTags, videoFormat, resolution, stereoscopic3d };
-			blacklist[b] = new Pattern[] { EMBEDDED_CHECKSUM, languageSuffix, releaseGroupTrim, queryBlacklist, languageTag, clutterBracket, releaseGroup, videoSource, videoTags, videoFormat, resolution, stereoscopic3d };
+			blacklist.set(b, asList(filter(EMBEDDED_CHECKSUM), filter(languageSuffix), releaseGroupTrim, queryBlacklist, filter(languageTag), filter(clutterBracket), releaseGroup, filter(videoSource), filter(videoTags), filter(videoFormat), filter(resolution), filter(stereoscopic3d)));
 		}
 
 		return items.stream().map(it -> {
 			String head = strict ? clean(it, stopwords[b]) : substringBefore(it, stopwords[b]);
-			String norm = normalizePunctuation(clean(head, blacklist[b]));
+			String norm = normalizePunctuation(clean(head, blacklist.get(b)));
 			return norm;
 		}).filter(s -> s.length() > 0).collect(toList());
 	}
@@ -193,6 +211,17 @@ public class ReleaseInfo {
 		return item;
 	}
 
+	private String clean(String item, List<UnaryOperator<String>> blacklisted) {
+		for (UnaryOperator<String> it : blacklisted) {
+			item = it.apply(item);
+		}
+		return item;
+	}
+
+	private UnaryOperator<String> filter(Pattern pattern) {
+		return s -> pattern.matcher(s).replaceAll("");
+	}
+
 	public String substringBefore(String item, Pattern... stopwords) {
 		for (Pattern it : stopwords) {
 			Matcher matcher = it.matcher(item);
@@ -348,6 +377,36 @@ public class ReleaseInfo {
 		return compileWordPattern(queryBlacklist.get()); // pattern matching any release group name enclosed in separators
 	}
 
+	public UnaryOperator<String> getReleaseGroupFilter(boolean strict) throws Exception {
+		KeywordMatcher keywords = releaseGroupKeywords.get().orElse(null);
+		if (keywords == null) {
+			return filter(getReleaseGroupPattern(strict));
+		}
+		return KeywordPattern.releaseGroup(keywords, strict)::remove; // same as getReleaseGroupPattern(strict)
+	}
+
+	public UnaryOperator<String> getReleaseGroupTrimFilter() throws Exception {
+		KeywordMatcher keywords = releaseGroupKeywords.get().orElse(null);
+		if (keywords == null) {
+			return filter(getReleaseGroupTrimPattern());
+		}
+		return KeywordPattern.releaseGroupTrim(keywords)::remove; // same as getReleaseGroupTrimPattern()
+	}
+
+	public UnaryOperator<String> getBlacklistFilter() throws Exception {
+		// match plain terms via keyword automaton and only use regex matching for the remaining patterns (e.g. ^Movies$)
+		String[] terms = stream(queryBlacklist.get()).filter(KeywordPattern::isLiteral).toArray(String[]::new);
+		String[] patterns = stream(queryBlacklist.get()).filter(s -> !KeywordPattern.isLiteral(s)).toArray(String[]::new);
+
+		KeywordPattern keywords = KeywordPattern.word(new KeywordMatcher(terms));
+		if (patterns.length == 0) {
+			return keywords::remove;
+		}
+
+		Pattern pattern = compileWordPattern(patterns);
+		return s -> keywords.remove(pattern.matcher(s).replaceAll(""));
+	}
+
 	private Pattern compileWordPattern(String[] patterns) {
 		return compile("(?<!\\p{Alnum})" + or(patterns) + "(?!\\p{Alnum})", CASE_INSENSITIVE); // use | to join patterns
 	}
@@ -361,15 +420,27 @@ public class ReleaseInfo {
 	}
 
 	public SearchResult[] getTheTVDBIndex() throws Exception {
-		return tvdbIndex.get();
+		return tvdbIndex.get().getObjects();
 	}
 
 	public SearchResult[] getAnidbIndex() throws Exception {
-		return anidbIndex.get();
+		return anidbIndex.get().getObjects();
 	}
 
 	public Movie[] getMovieList() throws Exception {
-		return movieIndex.get();
+		return movieIndex.get().getObjects();
+	}
+
+	List<IndexEntry<SearchResult>> getTheTVDBIndexEntries() throws Exception {
+		return tvdbIndex.get().getEntries();
+	}
+
+	List<IndexEntry<SearchResult>> getAnidbIndexEntries() throws Exception {
+		return anidbIndex.get().getEntries();
+	}
+
+	List<IndexEntry<Movie>> getMovieIndexEntries() throws Exception {
+		return movieIndex.get().getEntries();
 	}
 
 	public SubtitleSearchResult[] getOpenSubtitlesIndex() throws Exception {
@@ -434,10 +505,16 @@ public class ReleaseInfo {
 	private final Resource<String[]> releaseGroup = lines("url.release-groups", Cache.ONE_WEEK);
 	private final Resource<String[]> queryBlacklist = lines("url.query-blacklist", Cache.ONE_WEEK);
 
-	private final Resource<SearchResult[]> tvdbIndex = tsv("url.thetvdb-index", Cache.ONE_WEEK, this::parseSeries, SearchResult[]::new);
-	private final Resource<SearchResult[]> anidbIndex = tsv("url.anidb-index", Cache.ONE_WEEK, this::parseSeries, SearchResult[]::new);
+	// keyword matcher for release group names (e.g. 9.GiRL or de\[42\]) unless there are patterns that we can only match as regular expressions
+	private final Resource<Optional<KeywordMatcher>> releaseGroupKeywords = releaseGroup.transform(groups -> {
+		String[] keywords = stream(groups).map(KeywordPattern::toKeyword).toArray(String[]::new);
+		return stream(keywords).allMatch(Objects::nonNull) ? Optional.of(new KeywordMatcher(keywords, KeywordPattern.WILDCARD, KeywordMatcher.getPriority(groups))) : Optional.<KeywordMatcher> empty();
+	}).memoize();
 
-	private final Resource<Movie[]> movieIndex = tsv("url.movie-list", Cache.ONE_MONTH, this::parseMovie, Movie[]::new);
+	private final Resource<IndexSnapshot<SearchResult>> tvdbIndex = snapshot("url.thetvdb-index", Cache.ONE_WEEK, this::parseSeries, HighPerformanceMatcher::prepare, IndexSnapshot.SERIES);
+	private final Resource<IndexSnapshot<SearchResult>> anidbIndex = snapshot("url.anidb-index", Cache.ONE_WEEK, this::parseSeries, HighPerformanceMatcher::prepare, IndexSnapshot.SERIES);
+
+	private final Resource<IndexSnapshot<Movie>> movieIndex = snapshot("url.movie-list", Cache.ONE_MONTH, this::parseMovie, HighPerformanceMatcher::prepare, IndexSnapshot.MOVIE);
 	private final Resource<SubtitleSearchResult[]> osdbIndex = tsv("url.osdb-index", Cache.ONE_MONTH, this::parseSubtitle, SubtitleSearchResult[]::new);
 
 	private final SystemProperty<Duration> refreshDuration = SystemProperty.of("url.refresh", Duration::parse);
@@ -476,16 +553,31 @@ public class ReleaseInfo {
 		return resource(name, expirationTime, s -> parse.apply(TAB.split(s)), generator).memoize();
 	}
 
+	protected <A> Resource<IndexSnapshot<A>> snapshot(String name, Duration expirationTime, Function<String[], A> parse, Function<A, List<IndexEntry<A>>> mapper, IndexSnapshot.Codec<A> codec) {
+		Resource<IndexSnapshot<A>> snapshot = () -> {
+			byte[] bytes = bytes(name, expirationTime);
+			File file = new File(CacheManager.getInstance().getDiskStore(), name + ".snapshot");
+
+			// reuse binary snapshot of the prepared index if the data file has not changed
+			return IndexSnapshot.open(file, bytes, () -> parse(bytes, s -> parse.apply(TAB.split(s)), codec::newArray), mapper, codec);
+		};
+		return snapshot.memoize();
+	}
+
 	protected <A> Resource<A[]> resource(String name, Duration expirationTime, Function<String, A> parse, IntFunction<A[]> generator) {
-		return () -> {
-			Cache cache = Cache.getCache("data", CacheType.Persistent);
-			byte[] bytes = cache.bytes(name, n -> new URL(getProperty(n)), XZInputStream::new).expire(refreshDuration.optional().orElse(expirationTime)).get();
+		return () -> parse(bytes(name, expirationTime), parse, generator);
+	}
+
+	protected byte[] bytes(String name, Duration expirationTime) throws Exception {
+		Cache cache = Cache.getCache("data", CacheType.Persistent);
+		return cache.bytes(name, n -> new URL(getProperty(n)), XZInputStream::new).expire(refreshDuration.optional().orElse(expirationTime)).get();
+	}
 
-			// all data files are UTF-8 encoded XZ compressed text files
-			Stream<String> lines = NEWLINE.splitAsStream(UTF_8.decode(ByteBuffer.wrap(bytes)));
+	protected <A> A[] parse(byte[] bytes, Function<String, A> parse, IntFunction<A[]> generator) {
+		// all data files are UTF-8 encoded XZ compressed text files
+		Stream<String> lines = NEWLINE.splitAsStream(UTF_8.decode(ByteBuffer.wrap(bytes)));
 
-			return lines.filter(s -> s.length() > 0).map(parse).filter(Objects::nonNull).toArray(generator);
-		};
+		return lines.filter(s -> s.length() > 0).map(parse).filter(Objects::nonNull).toArray(generator);
 	}
 
 	protected String getProperty(String name) {
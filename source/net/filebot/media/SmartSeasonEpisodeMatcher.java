@@ -19,16 +19,26 @@ public class SmartSeasonEpisodeMatcher extends SeasonEpisodeMatcher {
 
 	@Override
 	public List<SxE> match(CharSequence name) {
+		// don't bother cleaning names that don't contain any numbers
+		if (!hasDigits(name)) {
+			return null;
+		}
 		return super.match(clean(name));
 	}
 
 	@Override
 	public List<SxE> match(File file) {
+		if (!hasDigits(file.getPath())) {
+			return null;
+		}
 		return super.match(new File(clean(file.getPath())));
 	}
 
 	@Override
 	public String head(String name) {
+		if (!hasDigits(name)) {
+			return null;
+		}
 		return super.head(clean(name));
 	}
 
@@ -1,14 +1,18 @@
 package net.filebot.mediainfo;
 
+import static java.util.Collections.*;
 import static net.filebot.Logging.*;
 
 import java.io.File;
 import java.io.FileFilter;
+import java.util.List;
 
 import net.filebot.mediainfo.MediaInfo.StreamKind;
 
 public class MediaDurationFilter implements FileFilter {
 
+	private static final List<String> DURATION = singletonList("Duration");
+
 	private final long min;
 	private final long max;
 	private final boolean acceptByDefault;
@@ -24,8 +28,8 @@ public class MediaDurationFilter implements FileFilter {
 	}
 
 	public long getDuration(File f) {
-		try (MediaInfo mi = new MediaInfo().open(f)) {
-			String duration = mi.get(StreamKind.General, 0, "Duration");
+		try {
+			String duration = MediaInfoPool.getInstance().get(f, StreamKind.General, DURATION).get(StreamKind.General, 0, "Duration");
 			if (duration.length() > 0) {
 				return Long.parseLong(duration);
 			}
@@ -11,16 +11,21 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.lang.ref.Cleaner;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import com.sun.jna.Platform;
 import com.sun.jna.Pointer;
 import com.sun.jna.WString;
 
+/**
+ * Wrapper for a native MediaInfo handle. Instances are not thread-safe, so each thread should use its own instance, e.g. via {@link MediaInfoPool}.
+ */
 public class MediaInfo implements Closeable {
 
 	private Pointer handle;
@@ -35,7 +40,7 @@ public class MediaInfo implements Closeable {
 		}
 	}
 
-	public synchronized MediaInfo open(File file) throws IOException, IllegalArgumentException {
+	public MediaInfo open(File file) throws IOException, IllegalArgumentException {
 		if (!file.isFile() || file.length() < 64 * 1024) {
 			throw new IllegalArgumentException("Invalid media file: " + file);
 		}
@@ -96,7 +101,7 @@ public class MediaInfo implements Closeable {
 		return true;
 	}
 
-	public synchronized String inform() {
+	public String inform() {
 		return MediaInfoLibrary.INSTANCE.Inform(handle).toString();
 	}
 
@@ -104,7 +109,7 @@ public class MediaInfo implements Closeable {
 		return option(option, "");
 	}
 
-	public synchronized String option(String option, String value) {
+	public String option(String option, String value) {
 		return MediaInfoLibrary.INSTANCE.Option(handle, new WString(option), new WString(value)).toString();
 	}
 
@@ -116,7 +121,7 @@ public class MediaInfo implements Closeable {
 		return get(streamKind, streamNumber, parameter, infoKind, InfoKind.Name);
 	}
 
-	public synchronized String get(StreamKind streamKind, int streamNumber, String parameter, InfoKind infoKind, InfoKind searchKind) {
+	public String get(StreamKind streamKind, int streamNumber, String parameter, InfoKind infoKind, InfoKind searchKind) {
 		return MediaInfoLibrary.INSTANCE.Get(handle, streamKind.ordinal(), streamNumber, new WString(parameter), infoKind.ordinal(), searchKind.ordinal()).toString();
 	}
 
@@ -124,15 +129,15 @@ public class MediaInfo implements Closeable {
 		return get(streamKind, streamNumber, parameterIndex, InfoKind.Text);
 	}
 
-	public synchronized String get(StreamKind streamKind, int streamNumber, int parameterIndex, InfoKind infoKind) {
+	public String get(StreamKind streamKind, int streamNumber, int parameterIndex, InfoKind infoKind) {
 		return MediaInfoLibrary.INSTANCE.GetI(handle, streamKind.ordinal(), streamNumber, parameterIndex, infoKind.ordinal()).toString();
 	}
 
-	public synchronized int streamCount(StreamKind streamKind) {
+	public int streamCount(StreamKind streamKind) {
 		return MediaInfoLibrary.INSTANCE.Count_Get(handle, streamKind.ordinal(), -1);
 	}
 
-	public synchronized int parameterCount(StreamKind streamKind, int streamNumber) {
+	public int parameterCount(StreamKind streamKind, int streamNumber) {
 		return MediaInfoLibrary.INSTANCE.Count_Get(handle, streamKind.ordinal(), streamNumber);
 	}
 
@@ -183,8 +188,91 @@ public class MediaInfo implements Closeable {
 		return streamInfo;
 	}
 
+	private static final String FIELD_SEPARATOR = "\u001F";
+	private static final String STREAM_SEPARATOR = "\u001E";
+	private static final Pattern LINE_BREAK = Pattern.compile("^[\\r\\n]+");
+
+	/**
+	 * Extract the given parameters of all streams with a single {@code Inform} call for each kind of stream (instead of one {@code Get} call for each parameter of each stream)
+	 */
+	public Map<StreamKind, List<Map<String, String>>> get(Map<StreamKind, ? extends Collection<String>> parameters) {
+		Map<StreamKind, List<Map<String, String>>> mediaInfo = new EnumMap<StreamKind, List<Map<String, String>>>(StreamKind.class);
+
+		try {
+			parameters.forEach((streamKind, keys) -> {
+				int streamCount = streamCount(streamKind);
+				if (streamCount == 0 || keys.isEmpty()) {
+					return;
+				}
+
+				List<Map<String, String>> streamInfoList = inform(streamKind, streamCount, keys);
+				if (streamInfoList == null) {
+					// parameters that can't be used in Inform templates
+					streamInfoList = new ArrayList<Map<String, String>>(streamCount);
+					for (int i = 0; i < streamCount; i++) {
+						Map<String, String> streamInfo = new LinkedHashMap<String, String>();
+						for (String key : keys) {
+							String value = get(streamKind, i, key);
+							if (value.length() > 0) {
+								streamInfo.put(key, value);
+							}
+						}
+						streamInfoList.add(streamInfo);
+					}
+				}
+
+				mediaInfo.put(streamKind, streamInfoList);
+			});
+		} finally {
+			// reset custom Inform template
+			option("Inform", "");
+		}
+
+		return mediaInfo;
+	}
+
+	private List<Map<String, String>> inform(StreamKind streamKind, int streamCount, Collection<String> keys) {
+		if (keys.stream().anyMatch(k -> k.isEmpty() || k.contains("%") || k.contains("\\"))) {
+			return null;
+		}
+
+		// e.g. Video;%Width%<US>%Height%<RS> with ASCII unit and record separators
+		option("Inform", keys.stream().map(k -> '%' + k + '%').collect(joining(FIELD_SEPARATOR, streamKind.name() + ';', STREAM_SEPARATOR)));
+
+		String[] streams = inform().split(STREAM_SEPARATOR, -1);
+		if (streams.length < streamCount) {
+			return null;
+		}
+
+		List<Map<String, String>> streamInfoList = new ArrayList<Map<String, String>>(streamCount);
+		for (int i = 0; i < streamCount; i++) {
+			String[] values = LINE_BREAK.matcher(streams[i]).replaceFirst("").split(FIELD_SEPARATOR, -1);
+			if (values.length != keys.size()) {
+				return null;
+			}
+
+			Map<String, String> streamInfo = new LinkedHashMap<String, String>();
+			int k = 0;
+			for (String key : keys) {
+				String value = values[k++];
+				if (value.length() > 0) {
+					streamInfo.put(key, value);
+				}
+			}
+			streamInfoList.add(streamInfo);
+		}
+		return streamInfoList;
+	}
+
+	/**
+	 * Close the current file but keep the native handle
+	 */
+	void release() {
+		MediaInfoLibrary.INSTANCE.Close(handle);
+	}
+
 	@Override
-	public synchronized void close() {
+	public void close() {
 		cleanable.clean();
 	}
 
@@ -265,9 +353,7 @@ public class MediaInfo implements Closeable {
 	}
 
 	public static Map<StreamKind, List<Map<String, String>>> snapshot(File file) throws IOException {
-		try (MediaInfo mi = new MediaInfo().open(file)) {
-			return mi.snapshot();
-		}
+		return MediaInfoPool.getInstance().apply(file, MediaInfo::snapshot);
 	}
 
 	/**
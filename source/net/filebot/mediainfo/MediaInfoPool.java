@@ -0,0 +1,114 @@
+package net.filebot.mediainfo;
+
+import static java.util.Collections.*;
+import static net.filebot.Logging.*;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import net.filebot.mediainfo.MediaInfo.StreamKind;
+import net.filebot.util.SystemProperty;
+
+/**
+ * Bounded pool of reusable native MediaInfo handles. Each handle is leased to a single thread at a time, so that threads don't need to synchronize on shared {@link MediaInfo} objects, and we don't need to allocate a new native handle for each file.
+ */
+public class MediaInfoPool {
+
+	private static final MediaInfoPool instance = new MediaInfoPool(SystemProperty.of("net.filebot.mediainfo.MediaInfoPool.size", Integer::parseInt, Runtime.getRuntime().availableProcessors()).get());
+
+	public static MediaInfoPool getInstance() {
+		return instance;
+	}
+
+	private final Semaphore permits;
+	private final ConcurrentLinkedDeque<MediaInfo> idle = new ConcurrentLinkedDeque<MediaInfo>();
+
+	public MediaInfoPool(int size) {
+		this.permits = new Semaphore(Math.max(1, size), true);
+	}
+
+	public Lease acquire() throws InterruptedException {
+		permits.acquire();
+
+		try {
+			MediaInfo mediaInfo = idle.pollFirst();
+			return new Lease(mediaInfo != null ? mediaInfo : new MediaInfo());
+		} catch (Throwable e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	private void release(MediaInfo mediaInfo) {
+		try {
+			// close file but keep native handle for the next lease
+			mediaInfo.release();
+			idle.addFirst(mediaInfo);
+		} catch (Throwable e) {
+			debug.warning(format("Failed to release MediaInfo handle: %s", e));
+			mediaInfo.close();
+		} finally {
+			permits.release();
+		}
+	}
+
+	public <T> T apply(File file, Function<MediaInfo, T> function) throws IOException {
+		try (Lease lease = acquire()) {
+			return function.apply(lease.open(file));
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Read only the given parameters, e.g. {@code General: [Duration]} or {@code Video: [Width, Height]}
+	 */
+	public MediaInfoSnapshot get(File file, Map<StreamKind, ? extends Collection<String>> parameters) throws IOException {
+		return new MediaInfoSnapshot(apply(file, mi -> mi.get(parameters)));
+	}
+
+	public MediaInfoSnapshot get(File file, StreamKind streamKind, List<String> parameters) throws IOException {
+		return get(file, singletonMap(streamKind, parameters));
+	}
+
+	public class Lease implements Closeable {
+
+		private final Thread owner = Thread.currentThread();
+		private MediaInfo mediaInfo;
+
+		private Lease(MediaInfo mediaInfo) {
+			this.mediaInfo = mediaInfo;
+		}
+
+		public MediaInfo open(File file) throws IOException {
+			return get().open(file);
+		}
+
+		public MediaInfo get() {
+			if (owner != Thread.currentThread()) {
+				throw new IllegalStateException("MediaInfo handle is leased to " + owner.getName());
+			}
+			if (mediaInfo == null) {
+				throw new IllegalStateException("MediaInfo handle has been returned");
+			}
+			return mediaInfo;
+		}
+
+		@Override
+		public void close() {
+			if (mediaInfo != null) {
+				release(mediaInfo);
+				mediaInfo = null;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,240 @@
+package net.filebot.mediainfo;
+
+import static java.util.Collections.*;
+import static net.filebot.Logging.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.filebot.Cache;
+import net.filebot.CacheType;
+import net.filebot.MetaAttributeView;
+import net.filebot.mediainfo.MediaInfo.StreamKind;
+import net.filebot.util.SystemProperty;
+
+/**
+ * Immutable {@link MediaInfo#snapshot()} of a media file. Snapshots are stored persistently and keyed by file identity (i.e. device, inode, size and last-modified time), so that we don't need to read and parse the container headers of the same files
+ * (e.g. on network shares) again and again. Snapshots can optionally be mirrored into extended attributes, so that they move along with the file.
+ */
+public class MediaInfoSnapshot {
+
+	public static final String XATTR_KEY = "net.filebot.mediainfo";
+
+	// e.g. -Dnet.filebot.mediainfo.MediaInfoSnapshot.xattr=true
+	private static final boolean XATTR = SystemProperty.of("net.filebot.mediainfo.MediaInfoSnapshot.xattr", Boolean::parseBoolean, false).get();
+
+	private static final Cache cache = Cache.getCache("mediainfo", CacheType.Persistent);
+
+	public static MediaInfoSnapshot of(File file) throws IOException {
+		String key = getFileIdentity(file);
+
+		try {
+			@SuppressWarnings("unchecked")
+			Map<StreamKind, List<Map<String, String>>> snapshot = (Map<StreamKind, List<Map<String, String>>>) cache.computeIfAbsent(key, element -> read(file));
+			return new MediaInfoSnapshot(relocate(snapshot, file));
+		} catch (IOException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IOException(e);
+		}
+	}
+
+	public static Map<StreamKind, List<Map<String, String>>> snapshot(File file) throws IOException {
+		return of(file).getStreams();
+	}
+
+	private static Map<StreamKind, List<Map<String, String>>> read(File file) throws IOException {
+		if (XATTR) {
+			Map<StreamKind, List<Map<String, String>>> snapshot = getXattr(file);
+			if (snapshot != null) {
+				return snapshot;
+			}
+		}
+
+		Map<StreamKind, List<Map<String, String>>> snapshot = MediaInfo.snapshot(file);
+
+		if (XATTR) {
+			setXattr(file, snapshot);
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * @return (device, inode, size, last-modified) or (path, size, last-modified) if the file system doesn't have inodes
+	 */
+	protected static String getFileIdentity(File file) throws IOException {
+		BasicFileAttributes attr = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		Object fileKey = attr.fileKey() != null ? attr.fileKey() : file.getCanonicalPath(); // e.g. (dev=fd00,ino=1315134)
+
+		return fileKey + ":" + attr.size() + ":" + attr.lastModifiedTime().toMillis();
+	}
+
+	/**
+	 * File identity doesn't change when the file is moved or renamed, so we need to update the file path properties
+	 */
+	private static Map<StreamKind, List<Map<String, String>>> relocate(Map<StreamKind, List<Map<String, String>>> snapshot, File file) throws IOException {
+		List<Map<String, String>> general = snapshot.get(StreamKind.General);
+		if (general == null || general.isEmpty()) {
+			return snapshot;
+		}
+
+		String path = file.getCanonicalPath();
+		if (path.equals(general.get(0).get("CompleteName"))) {
+			return snapshot;
+		}
+
+		File canonicalFile = new File(path);
+		String name = canonicalFile.getName();
+		int dot = name.lastIndexOf('.');
+
+		Map<String, String> properties = new LinkedHashMap<String, String>(general.get(0));
+		properties.replace("CompleteName", path);
+		properties.replace("FolderName", canonicalFile.getParent());
+		properties.replace("FileNameExtension", name);
+		properties.replace("FileName", dot < 0 ? name : name.substring(0, dot));
+		properties.replace("FileExtension", dot < 0 ? "" : name.substring(dot + 1));
+
+		List<Map<String, String>> streams = new ArrayList<Map<String, String>>(general);
+		streams.set(0, properties);
+
+		Map<StreamKind, List<Map<String, String>>> relocated = new EnumMap<StreamKind, List<Map<String, String>>>(snapshot);
+		relocated.put(StreamKind.General, streams);
+		return relocated;
+	}
+
+	private static String getFileStamp(File file) {
+		return file.length() + ":" + file.lastModified();
+	}
+
+	private static Map<StreamKind, List<Map<String, String>>> getXattr(File file) {
+		try {
+			String value = new MetaAttributeView(file).get(XATTR_KEY);
+			if (value != null) {
+				int header = value.indexOf('\n');
+
+				// ignore snapshots of previous versions of this file
+				if (header > 0 && value.substring(0, header).equals(getFileStamp(file))) {
+					return decode(value.substring(header + 1));
+				}
+			}
+		} catch (Exception e) {
+			debug.finest(format("Failed to read xattr: %s", e));
+		}
+		return null;
+	}
+
+	private static void setXattr(File file, Map<StreamKind, List<Map<String, String>>> snapshot) {
+		try {
+			new MetaAttributeView(file).put(XATTR_KEY, getFileStamp(file) + '\n' + encode(snapshot));
+		} catch (Exception e) {
+			// snapshot may exceed the maximum xattr value size of the file system
+			debug.finest(format("Failed to write xattr: %s", e));
+		}
+	}
+
+	/**
+	 * Encode snapshot as {@code kind \t stream \t name \t value} lines
+	 */
+	protected static String encode(Map<StreamKind, List<Map<String, String>>> snapshot) {
+		StringBuilder sb = new StringBuilder();
+		snapshot.forEach((kind, streams) -> {
+			for (int i = 0; i < streams.size(); i++) {
+				for (Map.Entry<String, String> it : streams.get(i).entrySet()) {
+					sb.append(kind.name()).append('\t').append(i).append('\t').append(escape(it.getKey())).append('\t').append(escape(it.getValue())).append('\n');
+				}
+			}
+		});
+		return sb.toString();
+	}
+
+	protected static Map<StreamKind, List<Map<String, String>>> decode(String s) {
+		Map<StreamKind, List<Map<String, String>>> snapshot = new EnumMap<StreamKind, List<Map<String, String>>>(StreamKind.class);
+
+		for (String line : s.split("\n")) {
+			String[] values = line.split("\t", 4);
+			if (values.length == 4) {
+				List<Map<String, String>> streams = snapshot.computeIfAbsent(StreamKind.valueOf(values[0]), k -> new ArrayList<Map<String, String>>());
+				int stream = Integer.parseInt(values[1]);
+				while (streams.size() <= stream) {
+					streams.add(new LinkedHashMap<String, String>());
+				}
+				streams.get(stream).put(unescape(values[2]), unescape(values[3]));
+			}
+		}
+
+		return snapshot;
+	}
+
+	private static String escape(String s) {
+		StringBuilder sb = new StringBuilder(s.length());
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			default:
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	private static String unescape(String s) {
+		StringBuilder sb = new StringBuilder(s.length());
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '\\' && i + 1 < s.length()) {
+				c = s.charAt(++i);
+				sb.append(c == 't' ? '\t' : c == 'n' ? '\n' : c);
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	private final Map<StreamKind, List<Map<String, String>>> streams;
+
+	public MediaInfoSnapshot(Map<StreamKind, List<Map<String, String>>> streams) {
+		this.streams = streams;
+	}
+
+	public Map<StreamKind, List<Map<String, String>>> getStreams() {
+		return unmodifiableMap(streams);
+	}
+
+	public List<Map<String, String>> getStreams(StreamKind streamKind) {
+		return unmodifiableList(streams.getOrDefault(streamKind, emptyList()));
+	}
+
+	public int streamCount(StreamKind streamKind) {
+		return getStreams(streamKind).size();
+	}
+
+	/**
+	 * Same as {@link MediaInfo#get(StreamKind, int, String)}, i.e. empty String for undefined values
+	 */
+	public String get(StreamKind streamKind, int streamNumber, String parameter) {
+		List<Map<String, String>> list = getStreams(streamKind);
+		if (streamNumber < 0 || streamNumber >= list.size()) {
+			return "";
+		}
+		return list.get(streamNumber).getOrDefault(parameter, "");
+	}
+
+}
@@ -110,6 +110,10 @@ public enum EpisodeMetrics implements SimilarityMetric {
 
 		@Override
 		protected String normalize(Object object) {
+			return TransformCache.transform(this, object, this::getTitle);
+		}
+
+		protected String getTitle(Object object) {
 			if (object instanceof Episode) {
 				Episode e = (Episode) object;
 
@@ -174,8 +178,8 @@ public enum EpisodeMetrics implements SimilarityMetric {
 
 		@Override
 		public float getSimilarity(Object o1, Object o2) {
-			String[] f1 = normalize(fields(o1));
-			String[] f2 = normalize(fields(o2));
+			String[] f1 = TransformCache.transform(this, o1, o -> normalize(fields(o)));
+			String[] f2 = TransformCache.transform(this, o2, o -> normalize(fields(o)));
 
 			// match all fields and average similarity
 			double sum = 0;
@@ -233,8 +237,8 @@ public enum EpisodeMetrics implements SimilarityMetric {
 
 		@Override
 		public float getSimilarity(Object o1, Object o2) {
-			String[] f1 = getNormalizedEffectiveIdentifiers(o1);
-			String[] f2 = getNormalizedEffectiveIdentifiers(o2);
+			String[] f1 = TransformCache.transform(this, o1, this::getNormalizedEffectiveIdentifiers);
+			String[] f2 = TransformCache.transform(this, o2, this::getNormalizedEffectiveIdentifiers);
 
 			// match all fields and average similarity
 			float max = 0;
@@ -300,8 +304,8 @@ public enum EpisodeMetrics implements SimilarityMetric {
 
 		@Override
 		public float getSimilarity(Object o1, Object o2) {
-			String[] f1 = getNormalizedEffectiveIdentifiers(o1);
-			String[] f2 = getNormalizedEffectiveIdentifiers(o2);
+			String[] f1 = TransformCache.transform(this, o1, this::getNormalizedEffectiveIdentifiers);
+			String[] f2 = TransformCache.transform(this, o2, this::getNormalizedEffectiveIdentifiers);
 
 			// match all fields and average similarity
 			float max = 0;
@@ -353,6 +357,10 @@ public enum EpisodeMetrics implements SimilarityMetric {
 
 		@Override
 		protected String normalize(Object object) {
+			return TransformCache.transform(this, object, this::getPath);
+		}
+
+		protected String getPath(Object object) {
 			if (object instanceof File) {
 				object = normalizePathSeparators(getRelativePathTail((File) object, 3).getPath());
 			}
@@ -364,11 +372,8 @@ public enum EpisodeMetrics implements SimilarityMetric {
 
 		@Override
 		public float getSimilarity(Object o1, Object o2) {
-			String s1 = normalizeObject(o1);
-			String s2 = normalizeObject(o2);
-
-			s1 = stripReleaseInfo(s1, false);
-			s2 = stripReleaseInfo(s2, false);
+			String s1 = TransformCache.transform(this, o1, o -> stripReleaseInfo(normalizeObject(o), false));
+			String s2 = TransformCache.transform(this, o2, o -> stripReleaseInfo(normalizeObject(o), false));
 
 			int length = Math.min(s1.length(), s2.length());
 			s1 = s1.substring(0, length);
@@ -387,8 +392,11 @@ public enum EpisodeMetrics implements SimilarityMetric {
 
 		@Override
 		public float getSimilarity(Object o1, Object o2) {
-			float lowerBound = super.getSimilarity(normalize(o1, true), normalize(o2, true));
-			float upperBound = super.getSimilarity(normalize(o1, false), normalize(o2, false));
+			String[] n1 = TransformCache.transform(this, o1, o -> new String[] { normalize(o, true), normalize(o, false) });
+			String[] n2 = TransformCache.transform(this, o2, o -> new String[] { normalize(o, true), normalize(o, false) });
+
+			float lowerBound = super.getSimilarity(n1[0], n2[0]);
+			float upperBound = super.getSimilarity(n1[1], n2[1]);
 
 			return Math.max(lowerBound, upperBound);
 		};
@@ -426,8 +434,8 @@ public enum EpisodeMetrics implements SimilarityMetric {
 
 		@Override
 		public float getSimilarity(Object o1, Object o2) {
-			String[] f1 = fields(o1);
-			String[] f2 = fields(o2);
+			String[] f1 = TransformCache.transform(this, o1, this::fields);
+			String[] f2 = TransformCache.transform(this, o2, this::fields);
 
 			// match all fields and average similarity
 			float max = 0;
@@ -630,8 +638,8 @@ public enum EpisodeMetrics implements SimilarityMetric {
 
 		@Override
 		public float getSimilarity(Object o1, Object o2) {
-			Set<String> h1 = getHint(o1);
-			Set<String> h2 = getHint(o2);
+			Set<String> h1 = TransformCache.transform(this, o1, this::getHint);
+			Set<String> h2 = TransformCache.transform(this, o2, this::getHint);
 
 			return h1.isEmpty() || h2.isEmpty() ? 0 : h1.containsAll(h2) || h2.containsAll(h1) ? 1 : 0;
 		}
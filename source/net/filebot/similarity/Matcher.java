@@ -2,22 +2,26 @@ package net.filebot.similarity;
 
 import static java.util.Collections.*;
 import static net.filebot.Logging.*;
+import static net.filebot.Settings.*;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
-import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+
+import net.filebot.util.DefaultThreadFactory;
 
 public class Matcher<V, C> {
 
@@ -30,8 +34,8 @@ public class Matcher<V, C> {
 	protected final DisjointMatchCollection<V, C> disjointMatchCollection;
 
 	public Matcher(Collection<? extends V> values, Collection<? extends C> candidates, boolean strict, SimilarityMetric[] metrics) {
-		this.values = new LinkedList<V>(values);
-		this.candidates = new LinkedList<C>(candidates);
+		this.values = new ArrayList<V>(values);
+		this.candidates = new ArrayList<C>(candidates);
 
 		this.strict = strict;
 		this.metrics = metrics.clone();
@@ -40,6 +44,13 @@ public class Matcher<V, C> {
 	}
 
 	public synchronized List<Match<V, C>> match() throws InterruptedException {
+		// share normalized representations of values and candidates across all metrics
+		try (TransformCache.Binding session = TransformCache.bind(new TransformCache())) {
+			return matchAll();
+		}
+	}
+
+	protected List<Match<V, C>> matchAll() throws InterruptedException {
 		// list of all combinations of values and candidates
 		List<Match<V, C>> possibleMatches = new ArrayList<Match<V, C>>(values.size() * candidates.size());
 
@@ -104,19 +115,16 @@ public class Matcher<V, C> {
 			return;
 		}
 
-		for (Set<Match<V, C>> matchesWithEqualSimilarity : mapBySimilarity(possibleMatches, metrics[level]).values()) {
+		for (List<Match<V, C>> matchesWithEqualSimilarity : groupBySimilarity(possibleMatches, metrics[level])) {
 			// some matches may already be unique
 			List<Match<V, C>> disjointMatches = disjointMatches(matchesWithEqualSimilarity);
 
 			if (!disjointMatches.isEmpty()) {
 				// collect disjoint matches
 				disjointMatchCollection.addAll(disjointMatches);
-
-				// no need for further matching
-				matchesWithEqualSimilarity.removeAll(disjointMatches);
 			}
 
-			// remove invalid matches
+			// remove invalid matches (including the disjoint matches we just collected)
 			removeCollected(matchesWithEqualSimilarity);
 
 			// matches may be ambiguous, more refined matching required
@@ -125,39 +133,108 @@ public class Matcher<V, C> {
 	}
 
 	protected void removeCollected(Collection<Match<V, C>> matches) {
-		for (Iterator<Match<V, C>> iterator = matches.iterator(); iterator.hasNext();) {
-			if (!disjointMatchCollection.disjoint(iterator.next()))
-				iterator.remove();
+		matches.removeIf(it -> !disjointMatchCollection.disjoint(it));
+	}
+
+	protected List<List<Match<V, C>>> groupBySimilarity(Collection<Match<V, C>> possibleMatches, SimilarityMetric metric) throws InterruptedException {
+		List<Match<V, C>> matches = new ArrayList<Match<V, C>>(possibleMatches);
+		float[] similarity = getSimilarity(matches, metric);
+
+		// sort by similarity descending and then by original order (similarity and index packed into a single primitive value)
+		long[] order = new long[similarity.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = (long) ~sortableBits(similarity[i]) << 32 | i;
 		}
+		Arrays.sort(order);
+
+		// group matches with equal similarity
+		List<List<Match<V, C>>> groups = new ArrayList<List<Match<V, C>>>();
+		List<Match<V, C>> group = null;
+
+		for (int i = 0; i < order.length; i++) {
+			if (i == 0 || order[i] >>> 32 != order[i - 1] >>> 32) {
+				group = new ArrayList<Match<V, C>>();
+				groups.add(group);
+			}
+			group.add(matches.get((int) order[i]));
+		}
+
+		return groups;
 	}
 
-	protected SortedMap<Float, Set<Match<V, C>>> mapBySimilarity(Collection<Match<V, C>> possibleMatches, SimilarityMetric metric) throws InterruptedException {
-		// map sorted by similarity descending
-		SortedMap<Float, Set<Match<V, C>>> similarityMap = new TreeMap<Float, Set<Match<V, C>>>(Collections.reverseOrder());
+	protected float[] getSimilarity(List<Match<V, C>> matches, SimilarityMetric metric) throws InterruptedException {
+		float[] similarity = new float[matches.size()];
 
-		// use metric on all matches
-		for (Match<V, C> possibleMatch : possibleMatches) {
-			float similarity = metric.getSimilarity(possibleMatch.getValue(), possibleMatch.getCandidate());
+		// use metric on all matches (in parallel for large sets of possible matches)
+		int chunks = similarity.length < PARALLEL_THRESHOLD ? 1 : Math.max(1, getPreferredThreadPoolSize());
+		int chunkSize = (similarity.length + chunks - 1) / Math.max(1, chunks);
 
-			// DEBUG
-			debug.finest(format("%s %.04f => %s", metric, similarity, possibleMatch));
+		if (chunks <= 1) {
+			getSimilarity(matches, metric, similarity, 0, similarity.length);
+			return similarity;
+		}
+
+		TransformCache cache = TransformCache.current();
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(chunks);
+
+		for (int i = 0; i < similarity.length; i += chunkSize) {
+			int from = i;
+			int to = Math.min(i + chunkSize, similarity.length);
+			tasks.add(() -> {
+				try (TransformCache.Binding session = TransformCache.bind(cache)) {
+					getSimilarity(matches, metric, similarity, from, to);
+				}
+				return null;
+			});
+		}
 
-			Set<Match<V, C>> matchSet = similarityMap.get(similarity);
-			if (matchSet == null) {
-				matchSet = new LinkedHashSet<Match<V, C>>();
-				similarityMap.put(similarity, matchSet);
+		// all remaining tasks are cancelled if we are interrupted
+		for (Future<Void> task : similarityThreadPool.invokeAll(tasks)) {
+			try {
+				task.get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof InterruptedException) {
+					throw (InterruptedException) e.getCause();
+				}
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+
+		return similarity;
+	}
+
+	private void getSimilarity(List<Match<V, C>> matches, SimilarityMetric metric, float[] similarity, int from, int to) throws InterruptedException {
+		boolean log = debug.isLoggable(Level.FINEST);
+
+		for (int i = from; i < to; i++) {
+			Match<V, C> possibleMatch = matches.get(i);
+			similarity[i] = metric.getSimilarity(possibleMatch.getValue(), possibleMatch.getCandidate());
+
+			// DEBUG
+			if (log) {
+				debug.finest(format("%s %.04f => %s", metric, similarity[i], possibleMatch));
 			}
-			matchSet.add(possibleMatch);
 
 			// unwind this thread if we have been interrupted
 			if (Thread.interrupted()) {
 				throw new InterruptedException();
 			}
 		}
+	}
 
-		return similarityMap;
+	private static int sortableBits(float f) {
+		// same order as Float.compare()
+		int bits = Float.floatToIntBits(f);
+		return bits ^ (bits >> 31 & Integer.MAX_VALUE);
 	}
 
+	// compute similarity of large sets of possible matches on all cores
+	private static final int PARALLEL_THRESHOLD = 1000;
+	private static final ExecutorService similarityThreadPool = Executors.newFixedThreadPool(getPreferredThreadPoolSize(), new DefaultThreadFactory("Matcher", Thread.NORM_PRIORITY, true));
+
 	protected List<Match<V, C>> disjointMatches(Collection<Match<V, C>> collection) {
 		Map<V, List<Match<V, C>>> matchesByValue = new HashMap<V, List<Match<V, C>>>();
 		Map<C, List<Match<V, C>>> matchesByCandidate = new HashMap<C, List<Match<V, C>>>();
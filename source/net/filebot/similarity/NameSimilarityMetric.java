@@ -2,8 +2,12 @@
 package net.filebot.similarity;
 
 
+import static java.util.Collections.*;
 import static net.filebot.similarity.Normalization.*;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import com.ibm.icu.text.Transliterator;
 
 import uk.ac.shef.wit.simmetrics.similaritymetrics.AbstractStringMetric;
@@ -19,7 +23,7 @@ public class NameSimilarityMetric implements SimilarityMetric {
 
 	public NameSimilarityMetric() {
 		// QGramsDistance with a QGram tokenizer seems to work best for similarity of names
-		this(new QGramsDistance(new TokeniserQGram3()), Transliterator.getInstance("Any-Latin;Latin-ASCII;[:Diacritic:]remove"));
+		this(new QGramsDistance(new TokeniserQGram3()), Transliterator.getInstance(DEFAULT_TRANSLITERATOR));
 	}
 
 
@@ -41,7 +45,7 @@ public class NameSimilarityMetric implements SimilarityMetric {
 
 		// apply transliterator
 		if (transliterator != null) {
-			name = transliterator.transform(name);
+			name = transliterate(name);
 		}
 
 		// normalize separators
@@ -51,4 +55,54 @@ public class NameSimilarityMetric implements SimilarityMetric {
 		return name.toLowerCase();
 	}
 
+
+	protected String transliterate(String name) {
+		// Any-Latin;Latin-ASCII;[:Diacritic:]remove does not modify ASCII strings except for ^ and ` which are Diacritic characters
+		if (isPlainASCII(name)) {
+			return name;
+		}
+
+		String key = transliterator.getID() + '\0' + name;
+		String value = transliterationCache.get(key);
+		if (value != null) {
+			return value;
+		}
+
+		synchronized (transliterator) {
+			value = transliterator.transform(name);
+		}
+
+		transliterationCache.put(key, value);
+		return value;
+	}
+
+
+	protected boolean isPlainASCII(String name) {
+		if (!transliterator.getID().equals(DEFAULT_TRANSLITERATOR)) {
+			return false;
+		}
+
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (c >= 128 || c == '^' || c == '`') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	private static final String DEFAULT_TRANSLITERATOR = "Any-Latin;Latin-ASCII;[:Diacritic:]remove";
+
+	// transliteration is expensive, so we keep recently transliterated strings around and share them across all instances
+	private static final int TRANSLITERATION_CACHE_SIZE = 4096;
+
+	private static final Map<String, String> transliterationCache = synchronizedMap(new LinkedHashMap<String, String>(TRANSLITERATION_CACHE_SIZE, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > TRANSLITERATION_CACHE_SIZE;
+		}
+	});
+
 }
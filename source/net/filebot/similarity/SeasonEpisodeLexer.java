@@ -0,0 +1,753 @@
+package net.filebot.similarity;
+
+import static net.filebot.similarity.SeasonEpisodeMatcher.*;
+import static net.filebot.similarity.SeasonEpisodeMatcher.SxE.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.filebot.similarity.SeasonEpisodeMatcher.SeasonEpisodeFilter;
+import net.filebot.similarity.SeasonEpisodeMatcher.SxE;
+
+/**
+ * Hand-written season / episode lexer that scans a name once from left to right and tries all rules at each position. Each rule matches exactly what the regular expression in its comment would match with {@link java.util.regex.Matcher#find()}, but works directly on the characters of the name and only allocates for actual matches.
+ */
+class SeasonEpisodeLexer {
+
+	// rules in order of precedence (there is no rule for 1.02 because the look-behind of the former Dot101 pattern always rejected the dot before the episode number, so it never matched anything)
+	static final int SEASON_EPISODE = 0;
+	static final int S00E00SEQ = 1;
+	static final int S00E00 = 2;
+	static final int SXE_SXE = 3;
+	static final int SXE = 4;
+	static final int E01E02SEQ = 5;
+	static final int EP0 = 6;
+	static final int NUM101_TOKEN = 7;
+	static final int E1OF2 = 8;
+	static final int NUM101_SUBSTRING = 9;
+
+	// EP0, NUM101_TOKEN and E1OF2 share the same precedence and their matches are merged
+	private static final int[] GROUP = { 0, 1, 2, 3, 4, 5, 6, 6, 6, 7 };
+
+	private static final String[] EPISODE_MARKERS = { "e", "ep", "episode", "p", "part" };
+
+	private final SeasonEpisodeFilter sanity;
+	private final int rules;
+
+	public SeasonEpisodeLexer(SeasonEpisodeFilter sanity, boolean strict) {
+		this.sanity = sanity;
+
+		// only use S00E00 and SxE rules in strict mode
+		this.rules = strict ? SXE + 1 : NUM101_SUBSTRING + 1;
+	}
+
+	public int getGroupCount() {
+		return GROUP[rules - 1] + 1;
+	}
+
+	/**
+	 * @return matches by order of precedence (i.e. {@code null} elements for groups of rules that did not match) or {@code null} if no rule did match
+	 */
+	public List<List<SxE>> scan(CharSequence name) {
+		List<SxE>[] matches = collect(name);
+		if (matches == null) {
+			return null;
+		}
+
+		List<List<SxE>> groups = new ArrayList<List<SxE>>(getGroupCount());
+		for (int r = 0; r < rules; r = getGroupEnd(r)) {
+			groups.add(getGroup(matches, r));
+		}
+		return groups;
+	}
+
+	/**
+	 * @return matches of the rule with the highest precedence that did match or {@code null}
+	 */
+	public List<SxE> match(CharSequence name) {
+		List<SxE>[] matches = collect(name);
+		if (matches != null) {
+			for (int r = 0; r < rules; r = getGroupEnd(r)) {
+				List<SxE> match = getGroup(matches, r);
+				if (match != null) {
+					return match;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Collect the matches of all rules in a single pass. Rules with lower precedence than a rule that already did match are not tried anymore.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<SxE>[] collect(CharSequence name) {
+		List<SxE>[] matches = null;
+		List<SxE> values = new ArrayList<SxE>(2);
+
+		int[] next = new int[rules];
+		int limit = rules;
+
+		for (int i = 0; i < name.length(); i++) {
+			if (!isStart(name.charAt(i))) {
+				continue;
+			}
+
+			for (int r = 0; r < limit; r++) {
+				if (next[r] > i) {
+					continue; // continue where the previous match of this rule ended
+				}
+
+				int end = match(r, name, 0, i, values);
+				if (end < 0) {
+					continue;
+				}
+				next[r] = end;
+
+				if (values.isEmpty()) {
+					continue;
+				}
+				if (matches == null) {
+					matches = new List[rules];
+				}
+				if (matches[r] == null) {
+					matches[r] = new ArrayList<SxE>(2);
+				}
+
+				SeasonEpisodeFilter filter = getSanityFilter(r);
+				for (SxE value : values) {
+					if (filter == null || filter.filter(value, matches[r])) {
+						matches[r].add(value);
+						limit = Math.min(limit, getGroupEnd(r));
+					}
+				}
+				values.clear();
+			}
+		}
+
+		return matches;
+	}
+
+	private List<SxE> getGroup(List<SxE>[] matches, int rule) {
+		if (getGroupEnd(rule) - rule == 1) {
+			return matches[rule] == null || matches[rule].isEmpty() ? null : matches[rule];
+		}
+
+		// merge matches of rules with the same precedence (same as SeasonEpisodeUnion)
+		Set<SxE> group = new LinkedHashSet<SxE>();
+		for (int r = rule; r < getGroupEnd(rule); r++) {
+			if (matches[r] != null) {
+				group.addAll(matches[r]);
+			}
+		}
+		return group.isEmpty() ? null : new ArrayList<SxE>(group);
+	}
+
+	/**
+	 * @return start index of the first sane match of the rule with the highest precedence that did match or -1
+	 */
+	public int find(CharSequence name, int fromIndex) {
+		List<SxE> values = new ArrayList<SxE>(2);
+
+		int[] next = new int[rules];
+		int[] found = new int[rules];
+		int limit = rules;
+
+		for (int i = fromIndex; i < name.length(); i++) {
+			if (!isStart(name.charAt(i))) {
+				continue;
+			}
+
+			for (int r = 0; r < limit; r++) {
+				if (next[r] > i) {
+					continue;
+				}
+
+				int end = match(r, name, fromIndex, i, values);
+				if (end < 0) {
+					continue;
+				}
+				next[r] = end;
+
+				SeasonEpisodeFilter filter = getSanityFilter(r);
+				for (SxE value : values) {
+					if (filter == null || filter.filter(value)) {
+						found[r] = i + 1;
+						next[r] = Integer.MAX_VALUE;
+						limit = Math.min(limit, getGroupEnd(r));
+						break;
+					}
+				}
+				values.clear();
+			}
+		}
+
+		for (int r = 0; r < rules; r = getGroupEnd(r)) {
+			// use the last position found by any rule of the group (same as SeasonEpisodeUnion)
+			int position = 0;
+			for (int m = r; m < getGroupEnd(r); m++) {
+				position = Math.max(position, found[m]);
+			}
+			if (position > 0) {
+				return position - 1;
+			}
+		}
+		return -1;
+	}
+
+	private int getGroupEnd(int rule) {
+		int end = rule + 1;
+		while (end < rules && GROUP[end] == GROUP[rule]) {
+			end++;
+		}
+		return end;
+	}
+
+	private SeasonEpisodeFilter getSanityFilter(int rule) {
+		switch (rule) {
+		case SEASON_EPISODE:
+		case S00E00SEQ:
+		case S00E00:
+			return null;
+		case NUM101_SUBSTRING:
+			return STRICT_SANITY;
+		default:
+			return sanity;
+		}
+	}
+
+	/**
+	 * Match the given rule at the given position.
+	 *
+	 * @param from
+	 *            look-behind does not look before this index
+	 * @param values
+	 *            collects the season / episode numbers of the match
+	 * @return end index of the match or -1
+	 */
+	private int match(int rule, CharSequence s, int from, int i, List<SxE> values) {
+		switch (rule) {
+		case SEASON_EPISODE:
+			return matchSeasonEpisode(s, from, i, values);
+		case S00E00SEQ:
+			return matchS00E00SEQ(s, from, i, values);
+		case S00E00:
+			return matchS00E00(s, from, i, values);
+		case SXE_SXE:
+			return matchSxE_SxE(s, from, i, values);
+		case SXE:
+			return matchSxE(s, from, i, values);
+		case E01E02SEQ:
+			return matchE01E02SEQ(s, from, i, values);
+		case EP0:
+			return matchEP0(s, from, i, values);
+		case NUM101_TOKEN:
+			return matchNum101_TOKEN(s, from, i, values);
+		case E1OF2:
+			return matchE1of2(s, from, i, values);
+		case NUM101_SUBSTRING:
+			return matchNum101_SUBSTRING(s, from, i, values);
+		}
+		return -1;
+	}
+
+	/**
+	 * Season 01 Episode 02, Season 2 Episode 17-18, ...
+	 *
+	 * <pre>
+	 * (?&lt;!\p{Alnum})(?i:season|series)[^\p{Alnum}]{0,3}(\d{1,4})[^\p{Alnum}]{0,3}(?i:episode)[^\p{Alnum}]{0,3}((\d{1,3}(\D|$))+)[^\p{Alnum}]{0,3}(?!\p{Digit})
+	 * </pre>
+	 */
+	private int matchSeasonEpisode(CharSequence s, int from, int i, List<SxE> values) {
+		if (isAlnum(charAt(s, from, i - 1)) || !(regionMatches(s, i, "season") || regionMatches(s, i, "series"))) {
+			return -1;
+		}
+
+		int j = skipNonAlnum(s, i + 6);
+		int n = digits(s, j);
+		if (n < 1 || n > 4) {
+			return -1;
+		}
+		int season = number(s, j, n);
+
+		j = skipNonAlnum(s, j + n);
+		if (!regionMatches(s, j, "episode")) {
+			return -1;
+		}
+
+		// episode numbers separated by any non-digit
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+		for (j = skipNonAlnum(s, j + 7); (n = digits(s, j)) >= 1 && n <= 3; j = skip(s, j + n)) {
+			min = Math.min(min, number(s, j, n));
+			max = Math.max(max, number(s, j, n));
+		}
+
+		// episode numbers with more than 3 digits
+		if (min > max || isDigit(charAt(s, 0, j))) {
+			return -1;
+		}
+
+		// up to 3 trailing separators, but not if followed by a digit
+		int end = j;
+		for (int k = 0; k < 3 && end < s.length() && !isAlnum(s.charAt(end)); k++) {
+			j = end;
+			end = skip(s, end);
+		}
+		if (isDigit(charAt(s, 0, end))) {
+			end = j;
+		}
+
+		range(values, season, min, max);
+		return end;
+	}
+
+	/**
+	 * S01E01-E05, ...
+	 *
+	 * <pre>
+	 * (?&lt;!\p{Alnum}|[-])[Ss](\d{1,2}|\d{4})[Ee](\d{2,3})[-][Ee](\d{2,3})(?!\p{Alnum}|[-])
+	 * </pre>
+	 */
+	private int matchS00E00SEQ(CharSequence s, int from, int i, List<SxE> values) {
+		if (!is(s, i, 's') || isAlnum(charAt(s, from, i - 1)) || charAt(s, from, i - 1) == '-') {
+			return -1;
+		}
+
+		int n = digits(s, i + 1);
+		if (!isSeasonNumber(n) || !is(s, i + 1 + n, 'e')) {
+			return -1;
+		}
+		int season = number(s, i + 1, n);
+
+		int j = i + n + 2;
+		n = digits(s, j);
+		if (n < 2 || n > 3 || charAt(s, 0, j + n) != '-' || !is(s, j + n + 1, 'e')) {
+			return -1;
+		}
+		int e1 = number(s, j, n);
+
+		j += n + 2;
+		n = digits(s, j);
+		if (n < 2 || n > 3 || isAlnum(charAt(s, from, j + n)) || charAt(s, from, j + n) == '-') {
+			return -1;
+		}
+		int e2 = number(s, j, n);
+
+		range(values, season, Math.min(e1, e2), Math.max(e1, e2));
+		return j + n;
+	}
+
+	/**
+	 * S01E01, s01e02, [s01]_[e02], s01.e02, s01e02a, s2010e01, s01e01-02-03-04, [s01]_[e01-02-03-04], ...
+	 *
+	 * <pre>
+	 * (?&lt;!\p{Digit})[Ss](\d{1,2}|\d{4})[^\p{Alnum}]{0,3}(?i:ep|e|p)(((?&lt;=[^._ ])[Ee]?[Pp]?\d{1,3}(\D|$))+)
+	 * </pre>
+	 */
+	private int matchS00E00(CharSequence s, int from, int i, List<SxE> values) {
+		if (!is(s, i, 's') || isDigit(charAt(s, from, i - 1))) {
+			return -1;
+		}
+
+		int n = digits(s, i + 1);
+		if (!isSeasonNumber(n)) {
+			return -1;
+		}
+		int season = number(s, i + 1, n);
+
+		int j = skipNonAlnum(s, i + 1 + n);
+		if (!is(s, j, 'e') && !is(s, j, 'p')) {
+			return -1;
+		}
+
+		// try ep before e and p, because the episode numbers may start with yet another e
+		if (is(s, j, 'e') && is(s, j + 1, 'p')) {
+			int end = matchS00E00_Episodes(s, j + 2, season, values);
+			if (end >= 0) {
+				return end;
+			}
+		}
+		return matchS00E00_Episodes(s, j + 1, season, values);
+	}
+
+	private int matchS00E00_Episodes(CharSequence s, int i, int season, List<SxE> values) {
+		int end = -1;
+		for (int j = i; end < 0 || !isSeparator(s.charAt(j - 1)); j = end) {
+			int k = j;
+			if (is(s, k, 'e')) {
+				k++;
+			}
+			if (is(s, k, 'p')) {
+				k++;
+			}
+
+			int n = digits(s, k);
+			if (n < 1 || n > 3) {
+				break;
+			}
+
+			values.add(new SxE(season, number(s, k, n)));
+			end = skip(s, k + n);
+		}
+		return end;
+	}
+
+	/**
+	 * 1x01-1x02, 03x11.03x12, ...
+	 *
+	 * <pre>
+	 * (?&lt;!\p{Alnum})(\d{1,2}x\d{2}([-._ ]\d{1,2}x\d{2})+)(?!\p{Digit})
+	 * </pre>
+	 */
+	private int matchSxE_SxE(CharSequence s, int from, int i, List<SxE> values) {
+		if (isAlnum(charAt(s, from, i - 1))) {
+			return -1;
+		}
+
+		int end = matchSxE_Pair(s, i, values);
+		if (end < 0) {
+			return -1;
+		}
+
+		int previous = -1;
+		while (end < s.length() && "-._ ".indexOf(s.charAt(end)) >= 0) {
+			int next = matchSxE_Pair(s, end + 1, values);
+			if (next < 0) {
+				break;
+			}
+			previous = end;
+			end = next;
+		}
+
+		// backtrack to the previous pair if the last pair is followed by more digits
+		if (previous >= 0 && isDigit(charAt(s, 0, end))) {
+			values.remove(values.size() - 1);
+			end = values.size() > 1 ? previous : -1;
+		}
+
+		if (previous < 0 || end < 0) {
+			values.clear();
+			return -1;
+		}
+		return end;
+	}
+
+	private int matchSxE_Pair(CharSequence s, int i, List<SxE> values) {
+		int n = digits(s, i);
+		if (n < 1 || n > 2 || charAt(s, 0, i + n) != 'x' || digits(s, i + n + 1) < 2) {
+			return -1;
+		}
+
+		values.add(new SxE(number(s, i, n), number(s, i + n + 1, 2)));
+		return i + n + 3;
+	}
+
+	/**
+	 * 1x01, 1x01a, 10x01, 1x01-02-03-04, 1x01x02x03x04, ...
+	 *
+	 * <pre>
+	 * (?&lt;!\p{Alnum})(\d{1,2})[xe](((?&lt;=[^._ ])\d{2,3}(\D|$))+)
+	 * </pre>
+	 */
+	private int matchSxE(CharSequence s, int from, int i, List<SxE> values) {
+		if (isAlnum(charAt(s, from, i - 1))) {
+			return -1;
+		}
+
+		int n = digits(s, i);
+		if (n < 1 || n > 2 || !(charAt(s, 0, i + n) == 'x' || charAt(s, 0, i + n) == 'e')) {
+			return -1;
+		}
+		int season = number(s, i, n);
+
+		int end = -1;
+		for (int j = i + n + 1; end < 0 || !isSeparator(s.charAt(j - 1)); j = end) {
+			n = digits(s, j);
+			if (n < 2 || n > 3) {
+				break;
+			}
+
+			values.add(new SxE(season, number(s, j, n)));
+			end = skip(s, j + n);
+		}
+		return end;
+	}
+
+	/**
+	 * 101-105, ...
+	 *
+	 * <pre>
+	 * (?&lt;!\p{Alnum}|[-])(\d{2,3})[-](\d{2,3})(?!\p{Alnum}|[-])
+	 * </pre>
+	 */
+	private int matchE01E02SEQ(CharSequence s, int from, int i, List<SxE> values) {
+		if (isAlnum(charAt(s, from, i - 1)) || charAt(s, from, i - 1) == '-') {
+			return -1;
+		}
+
+		int n = digits(s, i);
+		if (n < 2 || n > 3 || charAt(s, 0, i + n) != '-') {
+			return -1;
+		}
+
+		int j = i + n + 1;
+		int m = digits(s, j);
+		if (m < 2 || m > 3 || isAlnum(charAt(s, from, j + m)) || charAt(s, from, j + m) == '-') {
+			return -1;
+		}
+
+		int e1 = number(s, i, n);
+		int e2 = number(s, j, m);
+
+		// range patterns without season are more prone to false positives (e.g. Episode 01-50 is probably not a multi-episode but some sort of season pack)
+		if (Math.abs(e1 - e2) < 9) {
+			range(values, UNDEFINED, Math.min(e1, e2), Math.max(e1, e2));
+		}
+		return j + m;
+	}
+
+	/**
+	 * ep1, ep.1, Part 1, 2013.P10, E1E2E3E4, ...
+	 *
+	 * <pre>
+	 * (?&lt;!\p{Alnum})(\d{2}|\d{4})?[\P{Alnum}]{0,3}(((?i:e|ep|episode|p|part)[\P{Alnum}]{0,3}\d{1,3})+)(?!\p{Digit})
+	 * </pre>
+	 */
+	private int matchEP0(CharSequence s, int from, int i, List<SxE> values) {
+		if (isAlnum(charAt(s, from, i - 1))) {
+			return -1;
+		}
+
+		// regular expressions with negated character classes don't start matching in the middle of a surrogate pair
+		if (Character.isLowSurrogate(s.charAt(i)) && Character.isHighSurrogate(charAt(s, from, i - 1))) {
+			return -1;
+		}
+
+		// the season digits can only be followed by separators and the episode marker
+		int n = digits(s, i);
+		if (n != 0 && n != 2 && n != 4) {
+			return -1;
+		}
+		int season = n == 0 ? UNDEFINED : number(s, i, n);
+
+		// at most one episode marker can be followed by separators and digits, and episode numbers with more than 3 digits end the sequence
+		int end = -1;
+		for (int j = skipNonAlnum(s, i + n); (j = skipEpisodeMarker(s, j)) >= 0; end = j) {
+			j = skipNonAlnum(s, j);
+			n = digits(s, j);
+			if (n < 1 || n > 3) {
+				break;
+			}
+
+			values.add(new SxE(season, number(s, j, n)));
+			j += n;
+		}
+		return end;
+	}
+
+	private int skipEpisodeMarker(CharSequence s, int i) {
+		for (String marker : EPISODE_MARKERS) {
+			int end = i + marker.length();
+			if (regionMatches(s, i, marker) && !(end < s.length() && isAlnum(s.charAt(end)) && !isDigit(s.charAt(end)))) {
+				return end;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 01, 102, 1003, 10102, ... (enclosed in separators)
+	 *
+	 * <pre>
+	 * (?&lt;!\p{Alnum})([0-2]?\d?)(\d{2})(\d{2})?(?!\p{Alnum})
+	 * </pre>
+	 */
+	private int matchNum101_TOKEN(CharSequence s, int from, int i, List<SxE> values) {
+		if (isAlnum(charAt(s, from, i - 1))) {
+			return -1;
+		}
+
+		int n = digits(s, i);
+		if (n < 2 || n > 6 || isAlnum(charAt(s, from, i + n))) {
+			return -1;
+		}
+
+		// number of season digits, i.e. 2 (SSEE), 3 (SEE), 4 (SSEE or EEEE), 5 (SEEEE), 6 (SSEEEE)
+		int h = n == 2 ? 0 : n % 2 == 1 ? 1 : s.charAt(i) <= '2' ? 2 : n == 4 ? 0 : -1;
+		if (h < 0) {
+			return -1;
+		}
+
+		// interpret match as season and episode, but ignore 001 => 0x01 Season 0 matches
+		int season = h == 0 ? UNDEFINED : number(s, i, h);
+		if (season > 0) {
+			for (int j = i + h; j < i + n; j += 2) {
+				values.add(new SxE(season, number(s, j, 2)));
+			}
+		}
+
+		// interpret match both ways, as SxE match as well as episode number only match if it's not an double episode
+		if (n - h == 2) {
+			SxE absolute = new SxE(UNDEFINED, number(s, i, n));
+			if (!values.contains(absolute)) {
+				values.add(absolute);
+			}
+		}
+		return i + n;
+	}
+
+	/**
+	 * 1of6, 1-of-6, ... as Episode 1
+	 *
+	 * <pre>
+	 * (?&lt;!\p{Alnum})(\d{1,2})[^._ ]?(?i:of)[^._ ]?(\d{1,2})(?!\p{Digit})
+	 * </pre>
+	 */
+	private int matchE1of2(CharSequence s, int from, int i, List<SxE> values) {
+		if (isAlnum(charAt(s, from, i - 1))) {
+			return -1;
+		}
+
+		for (int n = Math.min(digits(s, i), 2); n > 0; n--) {
+			// the optional characters around "of" may be any character but a separator, even a digit
+			for (int j = skipOptional(s, i + n); j >= i + n; j = j > i + n ? i + n : -1) {
+				if (regionMatches(s, j, "of")) {
+					for (int k = skipOptional(s, j + 2); k >= j + 2; k = k > j + 2 ? j + 2 : -1) {
+						int m = digits(s, k);
+						if (m == 1 || m == 2) {
+							values.add(new SxE(UNDEFINED, number(s, i, n)));
+							return k + m;
+						}
+					}
+				}
+			}
+		}
+		return -1;
+	}
+
+	private int skipOptional(CharSequence s, int i) {
+		return i < s.length() && !isSeparator(s.charAt(i)) ? skip(s, i) : i;
+	}
+
+	/**
+	 * (last-resort) 101, 102, ... (and greedily just grab the first)
+	 *
+	 * <pre>
+	 * (?&lt;!\p{Digit})(\d{1})(\d{2})(?!\p{Digit})(.*)
+	 * </pre>
+	 */
+	private int matchNum101_SUBSTRING(CharSequence s, int from, int i, List<SxE> values) {
+		if (isDigit(charAt(s, from, i - 1)) || digits(s, i) != 3) {
+			return -1;
+		}
+
+		values.add(new SxE(number(s, i, 1), number(s, i + 1, 2)));
+
+		// consume the rest of the line
+		int end = i + 3;
+		while (end < s.length() && "\n\r\u0085  ".indexOf(s.charAt(end)) < 0) {
+			end++;
+		}
+		return end;
+	}
+
+	private static void range(List<SxE> values, int season, int min, int max) {
+		for (int e = min; e <= max; e++) {
+			values.add(new SxE(season, e));
+		}
+	}
+
+	/**
+	 * @return false for letters that no rule can start with
+	 */
+	private static boolean isStart(char c) {
+		switch (c | 0x20) {
+		case 's':
+		case 'e':
+		case 'p':
+			return true;
+		default:
+			return !isAlnum(c) || isDigit(c);
+		}
+	}
+
+	private static boolean isSeasonNumber(int digits) {
+		return digits == 1 || digits == 2 || digits == 4;
+	}
+
+	private static boolean isSeparator(char c) {
+		return c == '.' || c == '_' || c == ' ';
+	}
+
+	static boolean isDigit(char c) {
+		return c >= '0' && c <= '9'; // \d is ASCII only by default
+	}
+
+	static boolean isAlnum(char c) {
+		return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'); // \p{Alnum} is ASCII only by default
+	}
+
+	/**
+	 * @return character at the given index or 0 if the index is out of bounds (i.e. look-behind and look-ahead see nothing beyond the region)
+	 */
+	private static char charAt(CharSequence s, int from, int i) {
+		return i >= from && i < s.length() ? s.charAt(i) : 0;
+	}
+
+	/**
+	 * @return true if the character at the given index is the given lower case letter or its upper case equivalent
+	 */
+	private static boolean is(CharSequence s, int i, char letter) {
+		return i < s.length() && (s.charAt(i) == letter || s.charAt(i) == letter - 'a' + 'A');
+	}
+
+	private static boolean regionMatches(CharSequence s, int i, String lowerCaseWord) {
+		if (i + lowerCaseWord.length() > s.length()) {
+			return false;
+		}
+
+		for (int j = 0; j < lowerCaseWord.length(); j++) {
+			if (!is(s, i + j, lowerCaseWord.charAt(j))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int digits(CharSequence s, int i) {
+		int n = 0;
+		while (isDigit(charAt(s, 0, i + n))) {
+			n++;
+		}
+		return n;
+	}
+
+	private static int number(CharSequence s, int i, int digits) {
+		int number = 0;
+		for (int j = i; j < i + digits; j++) {
+			number = number * 10 + (s.charAt(j) - '0');
+		}
+		return number;
+	}
+
+	/**
+	 * @return index of the next code point, same as a single character class in a regular expression
+	 */
+	private static int skip(CharSequence s, int i) {
+		return i < s.length() ? i + Character.charCount(Character.codePointAt(s, i)) : i;
+	}
+
+	/**
+	 * @return index after up to 3 non-alphanumeric code points
+	 */
+	private static int skipNonAlnum(CharSequence s, int i) {
+		for (int k = 0; k < 3 && i < s.length() && !isAlnum(s.charAt(i)); k++) {
+			i = skip(s, i);
+		}
+		return i;
+	}
+
+}
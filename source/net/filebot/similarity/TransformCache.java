@@ -0,0 +1,103 @@
+package net.filebot.similarity;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Memoizes normalized representations of objects by object identity for the duration of a match session, so that all metrics of a {@link MetricCascade} or {@link MetricAvg} can share the same transformations
+ */
+public class TransformCache {
+
+	private static final ThreadLocal<TransformCache> context = new ThreadLocal<TransformCache>();
+
+	private static final Object NULL = new Object();
+
+	private final Map<Key, Object> cache = new ConcurrentHashMap<Key, Object>(256);
+
+	public static TransformCache current() {
+		return context.get();
+	}
+
+	public static Binding bind(TransformCache cache) {
+		return new Binding(cache);
+	}
+
+	/**
+	 * Apply the given transformation or reuse a previous result for the same key and object (both compared by identity) if a match session is active on the current thread
+	 */
+	public static <T> T transform(Object key, Object object, Function<Object, T> function) {
+		TransformCache cache = context.get();
+
+		// strings are usually created on the fly and are not worth caching by identity
+		if (cache == null || object == null || object instanceof CharSequence) {
+			return function.apply(object);
+		}
+
+		return cache.get(key, object, function);
+	}
+
+	public <T> T get(Object key, Object object, Function<Object, T> function) {
+		Key k = new Key(key, object);
+
+		// don't use computeIfAbsent() since transformations may be nested
+		Object value = cache.get(k);
+		if (value == null) {
+			T result = function.apply(object);
+			cache.putIfAbsent(k, result == null ? NULL : result);
+			return result;
+		}
+
+		@SuppressWarnings("unchecked")
+		T result = value == NULL ? null : (T) value;
+		return result;
+	}
+
+	public static class Binding implements AutoCloseable {
+
+		private final TransformCache previous;
+
+		private Binding(TransformCache cache) {
+			this.previous = context.get();
+
+			if (cache != null) {
+				context.set(cache);
+			}
+		}
+
+		@Override
+		public void close() {
+			if (previous != null) {
+				context.set(previous);
+			} else {
+				context.remove();
+			}
+		}
+	}
+
+	private static class Key {
+
+		private final Object key;
+		private final Object object;
+
+		public Key(Object key, Object object) {
+			this.key = key;
+			this.object = object;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (other instanceof Key) {
+				Key k = (Key) other;
+				return object == k.object && key == k.key;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(key) + System.identityHashCode(object);
+		}
+	}
+
+}
@@ -1,5 +1,6 @@
 package net.filebot.subtitle;
 
+import static java.util.Arrays.*;
 import static java.util.Collections.*;
 import static net.filebot.Logging.*;
 import static net.filebot.media.MediaDetection.*;
@@ -15,8 +16,9 @@ import java.util.WeakHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import net.filebot.mediainfo.MediaInfo;
 import net.filebot.mediainfo.MediaInfo.StreamKind;
+import net.filebot.mediainfo.MediaInfoPool;
+import net.filebot.mediainfo.MediaInfoSnapshot;
 import net.filebot.similarity.CrossPropertyMetric;
 import net.filebot.similarity.EpisodeMetrics;
 import net.filebot.similarity.MetricAvg;
@@ -181,11 +183,14 @@ public enum SubtitleMetrics implements SimilarityMetric {
 			return emptyMap();
 		}
 
+		private final List<String> videoProperties = asList("FrameRate", "Duration");
+
 		private final Map<File, Map<String, Object>> mediaInfoCache = synchronizedMap(new WeakHashMap<File, Map<String, Object>>(64));
 
 		private Map<String, Object> getVideoProperties(File file) {
 			return mediaInfoCache.computeIfAbsent(file, key -> {
-				try (MediaInfo mi = new MediaInfo().open(file)) {
+				try {
+					MediaInfoSnapshot mi = MediaInfoPool.getInstance().get(file, StreamKind.Video, videoProperties);
 					float fps = Float.parseFloat(mi.get(StreamKind.Video, 0, "FrameRate"));
 					long millis = Long.parseLong(mi.get(StreamKind.Video, 0, "Duration"));
 					return getProperties(fps, millis);
@@ -23,8 +23,8 @@ import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableColumnModel;
 import javax.swing.table.TableModel;
 
-import net.filebot.mediainfo.MediaInfo;
 import net.filebot.mediainfo.MediaInfo.StreamKind;
+import net.filebot.mediainfo.MediaInfoSnapshot;
 import net.filebot.util.ui.LoadingOverlayPane;
 import net.miginfocom.swing.MigLayout;
 
@@ -62,29 +62,26 @@ class MediaInfoTool extends Tool<TableModel> {
 		List<File> files = listFiles(root, filter(VIDEO_FILES, AUDIO_FILES), HUMAN_NAME_ORDER);
 		Map<MediaInfoKey, String[]> data = new TreeMap<MediaInfoKey, String[]>();
 
-		try (MediaInfo mi = new MediaInfo()) {
-			IntStream.range(0, files.size()).forEach(f -> {
-				try {
-					mi.open(files.get(f));
-					mi.snapshot().forEach((kind, streams) -> {
-						IntStream.range(0, streams.size()).forEach(i -> {
-							streams.get(i).forEach((name, value) -> {
-								String[] values = data.computeIfAbsent(new MediaInfoKey(kind, i, name), k -> new String[files.size()]);
-								values[f] = value;
-							});
+		IntStream.range(0, files.size()).forEach(f -> {
+			try {
+				MediaInfoSnapshot.snapshot(files.get(f)).forEach((kind, streams) -> {
+					IntStream.range(0, streams.size()).forEach(i -> {
+						streams.get(i).forEach((name, value) -> {
+							String[] values = data.computeIfAbsent(new MediaInfoKey(kind, i, name), k -> new String[files.size()]);
+							values[f] = value;
 						});
 					});
-				} catch (IllegalArgumentException e) {
-					debug.finest(e::toString);
-				} catch (Exception e) {
-					debug.warning(e::toString);
-				}
+				});
+			} catch (IllegalArgumentException e) {
+				debug.finest(e::toString);
+			} catch (Exception e) {
+				debug.warning(e::toString);
+			}
 
-				if (Thread.interrupted()) {
-					throw new CancellationException();
-				}
-			});
-		}
+			if (Thread.interrupted()) {
+				throw new CancellationException();
+			}
+		});
 
 		return new MediaInfoTableModel(data.isEmpty() ? emptyList() : files, data);
 	}
@@ -50,8 +50,8 @@ import javax.swing.table.TableRowSorter;
 import net.filebot.ResourceManager;
 import net.filebot.format.ExpressionFormat;
 import net.filebot.format.MediaBindingBean;
-import net.filebot.mediainfo.MediaInfo;
 import net.filebot.mediainfo.MediaInfo.StreamKind;
+import net.filebot.mediainfo.MediaInfoSnapshot;
 import net.filebot.util.DefaultThreadFactory;
 import net.filebot.util.FileUtilities.ExtensionFileFilter;
 import net.miginfocom.swing.MigLayout;
@@ -230,7 +230,7 @@ class BindingDialog extends JDialog {
 
 		private Map<StreamKind, List<Map<String, String>>> getMediaInfo(File file) {
 			try {
-				return MediaInfo.snapshot(file);
+				return MediaInfoSnapshot.snapshot(file);
 			} catch (Exception e) {
 				log.log(Level.SEVERE, e.getMessage(), e);
 				return null;
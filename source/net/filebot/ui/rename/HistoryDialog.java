@@ -589,7 +589,7 @@ class HistoryDialog extends JDialog {
 
 		@Override
 		protected boolean accept(List<File> files) {
-			return containsOnly(files, new ExtensionFileFilter("xml"));
+			return files.size() > 0;
 		}
 
 		@Override
@@ -599,6 +599,12 @@ class HistoryDialog extends JDialog {
 
 		@Override
 		protected void load(List<File> files, TransferAction action) throws IOException {
+			// show history of the given files and folders
+			if (!containsOnly(files, new ExtensionFileFilter("xml"))) {
+				setModel(HistorySpooler.getInstance().getHistory(files));
+				return;
+			}
+
 			for (File file : files) {
 				try {
 					HistorySpooler.getInstance().append(History.importHistory(new FileInputStream(file)));
@@ -1,6 +1,7 @@
 package net.filebot.ui.rename;
 
 import static java.util.Collections.*;
+import static java.util.stream.Collectors.*;
 import static net.filebot.util.ExceptionUtilities.*;
 import static net.filebot.util.FileUtilities.*;
 
@@ -9,30 +10,38 @@ import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.SwingWorker.StateValue;
 
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.TransformedList;
 import ca.odell.glazedlists.event.ListEvent;
 import net.filebot.similarity.Match;
+import net.filebot.util.DefaultThreadFactory;
+import net.filebot.util.SystemProperty;
 import net.filebot.util.ui.SwingUI;
 
 public class RenameModel extends MatchModel<Object, File> {
 
-	private final FormattedFutureEventList names = new FormattedFutureEventList(this.values());
+	// e.g. -Dnet.filebot.ui.rename.RenameModel.threads=4
+	private static final int FORMAT_THREADS = SystemProperty.of("net.filebot.ui.rename.RenameModel.threads", Integer::parseInt, Runtime.getRuntime().availableProcessors()).get();
+
+	private static final int CHANGE_EVENT_DELAY = 50;
+
+	private final FormattedFutureEventList names;
 
 	private final Map<Object, MatchFormatter> formatters = new LinkedHashMap<Object, MatchFormatter>();
 
@@ -56,6 +65,14 @@ public class RenameModel extends MatchModel<Object, File> {
 
 	private boolean preserveExtension = true;
 
+	public RenameModel() {
+		this(FORMAT_THREADS);
+	}
+
+	RenameModel(int threads) {
+		this.names = new FormattedFutureEventList(this.values(), threads);
+	}
+
 	public EventList<FormattedFuture> names() {
 		return names;
 	}
@@ -75,6 +92,18 @@ public class RenameModel extends MatchModel<Object, File> {
 		names.refresh();
 	}
 
+	/**
+	 * Format rows that are currently visible first
+	 */
+	public void setVisibleRange(int first, int last) {
+		names.setVisibleRange(first, last);
+	}
+
+	List<FormattedFuture> getPendingFutures() {
+		// futures that are queued but not yet started
+		return names.getPendingFutures();
+	}
+
 	public Map<File, File> getRenameMap() {
 		Map<File, File> map = new LinkedHashMap<File, File>();
 
@@ -162,11 +191,23 @@ public class RenameModel extends MatchModel<Object, File> {
 
 		private final List<FormattedFuture> futures = new ArrayList<FormattedFuture>();
 
-		private final Executor backgroundFormatter = new ThreadPoolExecutor(0, 1, 5L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+		private final ThreadPoolExecutor backgroundFormatter;
+
+		// submission order (i.e. row order)
+		private long sequence = 0;
 
-		public FormattedFutureEventList(EventList<Object> source) {
+		private int firstVisibleIndex = 0;
+		private int lastVisibleIndex = -1;
+
+		// coalesce change events of completed futures
+		private final Set<FormattedFuture> changes = newSetFromMap(new IdentityHashMap<FormattedFuture, Boolean>());
+		private Timer changeEventTimer;
+
+		public FormattedFutureEventList(EventList<Object> source, int threads) {
 			super(source);
 			this.source.addListEventListener(this);
+			this.backgroundFormatter = new ThreadPoolExecutor(threads, threads, 5L, TimeUnit.SECONDS, new PriorityBlockingQueue<Runnable>(), new DefaultThreadFactory("RenameModel", Thread.NORM_PRIORITY, true));
+			this.backgroundFormatter.allowCoreThreadTimeOut(true);
 		}
 
 		@Override
@@ -245,7 +286,7 @@ public class RenameModel extends MatchModel<Object, File> {
 					}
 
 					// observe and enqueue worker task
-					submit(future);
+					submit(future, index);
 				} else if (type == ListEvent.DELETE) {
 					// remove future from data and formatter queue
 					FormattedFuture obsolete = futures.remove(index);
@@ -255,6 +296,9 @@ public class RenameModel extends MatchModel<Object, File> {
 			}
 
 			updates.commitEvent();
+
+			// remove obsolete tasks from the queue
+			purge();
 		}
 
 		public void refresh() {
@@ -269,18 +313,64 @@ public class RenameModel extends MatchModel<Object, File> {
 				cancel(futures.set(i, future));
 
 				// submit new future
-				submit(future);
+				submit(future, i);
 
 				updates.elementUpdated(i, obsolete, future);
 			}
 
 			updates.commitEvent();
+
+			// remove obsolete tasks from the queue
+			purge();
+		}
+
+		public void setVisibleRange(int first, int last) {
+			if (first == firstVisibleIndex && last == lastVisibleIndex) {
+				return;
+			}
+
+			firstVisibleIndex = first;
+			lastVisibleIndex = last;
+
+			// reorder pending tasks (priority must not change while the task is in the queue)
+			List<Runnable> tasks = new ArrayList<Runnable>(backgroundFormatter.getQueue().size());
+			backgroundFormatter.getQueue().drainTo(tasks);
+
+			if (tasks.size() > 0) {
+				Set<FormattedFuture> visible = newSetFromMap(new IdentityHashMap<FormattedFuture, Boolean>());
+				for (int i = Math.max(0, first); i <= last && i < futures.size(); i++) {
+					visible.add(futures.get(i));
+				}
+
+				for (Runnable it : tasks) {
+					FormatTask task = (FormatTask) it;
+					if (!task.future.isCancelled()) {
+						task.visible = visible.contains(task.future);
+						backgroundFormatter.getQueue().add(task);
+					}
+				}
+
+				// make sure that there are worker threads to take care of the tasks
+				backgroundFormatter.prestartAllCoreThreads();
+			}
 		}
 
-		private void submit(FormattedFuture future) {
+		private boolean isVisible(int index) {
+			return index >= firstVisibleIndex && index <= lastVisibleIndex;
+		}
+
+		private void submit(FormattedFuture future, int index) {
 			// observe and enqueue worker task
 			future.addPropertyChangeListener(futureListener);
-			backgroundFormatter.execute(future);
+			backgroundFormatter.execute(new FormatTask(future, isVisible(index), sequence++));
+		}
+
+		private List<FormattedFuture> getPendingFutures() {
+			return backgroundFormatter.getQueue().stream().map(it -> ((FormatTask) it).future).collect(toList());
+		}
+
+		private void purge() {
+			backgroundFormatter.getQueue().removeIf(it -> ((FormatTask) it).future.isCancelled());
 		}
 
 		private void cancel(FormattedFuture future) {
@@ -293,18 +383,56 @@ public class RenameModel extends MatchModel<Object, File> {
 
 			@Override
 			public void propertyChange(PropertyChangeEvent evt) {
-				int index = futures.indexOf(evt.getSource());
+				// fire a single change event for all futures that have completed in the meantime
+				if (changes.add((FormattedFuture) evt.getSource()) && changeEventTimer == null) {
+					changeEventTimer = SwingUI.invokeLater(CHANGE_EVENT_DELAY, () -> fireChangeEvents());
+				}
+			}
+		};
 
-				// sanity check
-				if (index >= 0 && index < size()) {
-					FormattedFuture future = (FormattedFuture) evt.getSource();
+		private void fireChangeEvents() {
+			changeEventTimer = null;
 
-					updates.beginEvent(true);
-					updates.elementUpdated(index, future, future);
-					updates.commitEvent();
+			updates.beginEvent(true);
+			for (int i = 0; i < futures.size() && changes.size() > 0; i++) {
+				FormattedFuture future = futures.get(i);
+				if (changes.remove(future)) {
+					updates.elementUpdated(i, future, future);
 				}
 			}
-		};
+			updates.commitEvent();
+
+			// ignore futures that have been removed
+			changes.clear();
+		}
+	}
+
+	private static class FormatTask implements Runnable, Comparable<FormatTask> {
+
+		private final FormattedFuture future;
+		private final long sequence;
+
+		private boolean visible;
+
+		public FormatTask(FormattedFuture future, boolean visible, long sequence) {
+			this.future = future;
+			this.visible = visible;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public void run() {
+			future.run();
+		}
+
+		@Override
+		public int compareTo(FormatTask other) {
+			// visible rows first, then in row order
+			if (visible != other.visible) {
+				return visible ? -1 : 1;
+			}
+			return Long.compare(sequence, other.sequence);
+		}
 	}
 
 	public static class FormattedFuture extends SwingWorker<String, Void> {
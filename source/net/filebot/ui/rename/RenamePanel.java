@@ -179,6 +179,12 @@ public class RenamePanel extends JComponent {
 		// synchronize viewports
 		new ScrollPaneSynchronizer(namesList, filesList);
 
+		// format visible rows first
+		namesList.getListScrollPane().getViewport().addChangeListener(evt -> {
+			JList<?> list = namesList.getListComponent();
+			renameModel.setVisibleRange(list.getFirstVisibleIndex(), list.getLastVisibleIndex());
+		});
+
 		// delete items from both lists
 		Action removeAction = newAction("Exclude Selected Items", ResourceManager.getIcon("dialog.cancel"), evt -> {
 			RenameList list = null;
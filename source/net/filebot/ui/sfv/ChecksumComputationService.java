@@ -8,14 +8,13 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 import net.filebot.Settings;
 import net.filebot.util.DefaultThreadFactory;
+import net.filebot.util.DeviceAwareExecutor;
 
 class ChecksumComputationService {
 
@@ -84,10 +83,11 @@ class ChecksumComputationService {
 		}
 	}
 
-	private class ChecksumComputationExecutor extends ThreadPoolExecutor {
+	private class ChecksumComputationExecutor extends DeviceAwareExecutor {
 
 		public ChecksumComputationExecutor() {
-			super(1, threadPoolSize, 0L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new DefaultThreadFactory("ChecksumComputationPool", Thread.MIN_PRIORITY));
+			// limit concurrent reads per device
+			super(1, threadPoolSize, new DefaultThreadFactory("ChecksumComputationPool", Thread.MIN_PRIORITY), r -> r instanceof ChecksumComputationTask ? ((ChecksumComputationTask) r).getFile() : null);
 
 			synchronized (executors) {
 				if (executors.add(this) && executors.size() == 1) {
@@ -1,64 +1,49 @@
 package net.filebot.ui.sfv;
 
-import static net.filebot.util.FileUtilities.*;
-
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.InputStream;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.concurrent.CancellationException;
 
 import javax.swing.SwingWorker;
 
-import net.filebot.hash.Hash;
+import net.filebot.hash.HashComputation;
 import net.filebot.hash.HashType;
 
 class ChecksumComputationTask extends SwingWorker<Map<HashType, String>, Void> {
 
 	private final File file;
-	private final HashType hashType;
+	private final Collection<HashType> hashTypes;
 
 	public ChecksumComputationTask(File file, HashType hashType) {
+		this(file, EnumSet.of(hashType));
+	}
+
+	public ChecksumComputationTask(File file, Collection<HashType> hashTypes) {
 		this.file = file;
-		this.hashType = hashType;
+		this.hashTypes = EnumSet.copyOf(hashTypes);
+	}
+
+	public File getFile() {
+		return file;
 	}
 
 	@Override
 	protected Map<HashType, String> doInBackground() throws Exception {
-		// create hash instance
-		Hash hash = hashType.newHash();
-
 		// cache length for speed
 		long length = file.length();
 
-		// open file
-		InputStream in = new FileInputStream(file);
+		// read file only once for all hash types
+		return HashComputation.compute(file, hashTypes, position -> {
+			// update progress
+			setProgress(length > 0 ? (int) Math.min(100, (position * 100) / length) : 100);
 
-		try {
-			byte[] buffer = new byte[BUFFER_SIZE];
-
-			long position = 0;
-			int len = 0;
-
-			while ((len = in.read(buffer)) >= 0) {
-				position += len;
-
-				hash.update(buffer, 0, len);
-
-				// update progress
-				setProgress((int) ((position * 100) / length));
-
-				// check abort status
-				if (isCancelled() || Thread.interrupted()) {
-					throw new CancellationException();
-				}
+			// check abort status
+			if (isCancelled()) {
+				throw new CancellationException();
 			}
-		} finally {
-			in.close();
-		}
-
-		return Collections.singletonMap(hashType, hash.digest());
+		});
 	}
 
 }
@@ -12,10 +12,13 @@ import static net.filebot.util.ui.SwingUI.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 
@@ -153,7 +156,7 @@ class ChecksumTableTransferablePolicy extends BackgroundFileTransferablePolicy<C
 				String hash = new String(entry.getValue());
 
 				ChecksumCell correct = new ChecksumCell(name, file, singletonMap(type, hash));
-				ChecksumCell current = createComputationCell(name, baseFolder, type);
+				ChecksumCell current = createComputationCell(name, baseFolder, EnumSet.of(type));
 
 				ChecksumCell[] columns = { correct, current };
 				publish(columns);
@@ -184,13 +187,19 @@ class ChecksumTableTransferablePolicy extends BackgroundFileTransferablePolicy<C
 		} else {
 			String name = normalizePathSeparators(relativeFile.getPath());
 
+			// compute hashes for all verification files in a single pass
+			Map<File, String> hashByVerificationFile = verificationTracker.get().getHashByVerificationFile(absoluteFile);
+			Set<HashType> hashTypes = EnumSet.of(model.getHashType());
+
+			for (File verificationFile : hashByVerificationFile.keySet()) {
+				hashTypes.add(verificationTracker.get().getVerificationFileType(verificationFile));
+			}
+
 			// publish computation cell first
-			ChecksumCell[] computeCell = { createComputationCell(name, root, model.getHashType()) };
+			ChecksumCell[] computeCell = { createComputationCell(name, root, hashTypes) };
 			publish(computeCell);
 
 			// publish verification cell, if we can
-			Map<File, String> hashByVerificationFile = verificationTracker.get().getHashByVerificationFile(absoluteFile);
-
 			for (Entry<File, String> entry : hashByVerificationFile.entrySet()) {
 				HashType hashType = verificationTracker.get().getVerificationFileType(entry.getKey());
 
@@ -200,7 +209,7 @@ class ChecksumTableTransferablePolicy extends BackgroundFileTransferablePolicy<C
 		}
 	}
 
-	protected ChecksumCell createComputationCell(String name, File root, HashType hash) {
+	protected ChecksumCell createComputationCell(String name, File root, Collection<HashType> hash) {
 		ChecksumCell cell = new ChecksumCell(name, root, new ChecksumComputationTask(new File(root, name), hash));
 
 		// start computation task
@@ -13,9 +13,11 @@ import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 
 import javax.swing.AbstractAction;
@@ -97,6 +99,23 @@ public class SfvPanel extends JComponent {
 		return transferablePolicy;
 	}
 
+	protected Set<HashType> getHashTypes(ChecksumRow row, ChecksumCell cell, HashType hash) {
+		Set<HashType> types = EnumSet.of(hash);
+
+		// compute missing hashes for all verification files in a single pass
+		for (ChecksumCell verification : row.values()) {
+			if (verification.getRoot().isFile()) {
+				for (HashType it : HashType.values()) {
+					if (verification.getChecksum(it) != null && cell.getChecksum(it) == null) {
+						types.add(it);
+					}
+				}
+			}
+		}
+
+		return types;
+	}
+
 	protected void restartComputation(HashType hash) {
 		// cancel all running computations
 		computationService.reset();
@@ -109,7 +128,7 @@ public class SfvPanel extends JComponent {
 		for (ChecksumRow row : model.rows()) {
 			for (ChecksumCell cell : row.values()) {
 				if (cell.getChecksum(hash) == null && cell.getRoot().isDirectory()) {
-					cell.putTask(new ChecksumComputationTask(new File(cell.getRoot(), cell.getName()), hash));
+					cell.putTask(new ChecksumComputationTask(new File(cell.getRoot(), cell.getName()), getHashTypes(row, cell, hash)));
 
 					ExecutorService executor = executors.get(cell.getRoot());
 
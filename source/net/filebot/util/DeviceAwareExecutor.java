@@ -0,0 +1,389 @@
+package net.filebot.util;
+
+import static java.util.Collections.*;
+import static net.filebot.Logging.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+/**
+ * Thread pool for I/O bound tasks that limits the number of concurrent tasks per physical device (i.e. {@link FileStore}), so that a spinning disk is read by one thread at a time, while tasks on solid state drives can run in parallel.
+ */
+public class DeviceAwareExecutor extends ThreadPoolExecutor {
+
+	public DeviceAwareExecutor(int poolSize, ThreadFactory threadFactory) {
+		this(poolSize, poolSize, threadFactory, r -> r instanceof FileTask ? ((FileTask<?>) r).getFile() : null);
+	}
+
+	public DeviceAwareExecutor(int corePoolSize, int maximumPoolSize, ThreadFactory threadFactory, Function<Runnable, File> file) {
+		super(corePoolSize, maximumPoolSize, 0L, TimeUnit.SECONDS, new DeviceQueue(file, maximumPoolSize), threadFactory);
+	}
+
+	public <T> Future<T> submit(File file, Callable<T> task) {
+		FileTask<T> f = new FileTask<T>(file, task);
+		execute(f);
+		return f;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		// make sure all tasks go through the device queue
+		prestartAllCoreThreads();
+		super.execute(command);
+	}
+
+	@Override
+	protected void afterExecute(Runnable r, Throwable t) {
+		super.afterExecute(r, t);
+		((DeviceQueue) getQueue()).release(r);
+	}
+
+	// keep recently resolved folders around, since there may be any number of folders but only a few devices
+	private static final int DEVICE_CACHE_SIZE = 1024;
+
+	private static final Map<File, Object> devices = synchronizedMap(new LinkedHashMap<File, Object>(DEVICE_CACHE_SIZE, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<File, Object> eldest) {
+			return size() > DEVICE_CACHE_SIZE;
+		}
+	});
+
+	private static final Object UNKNOWN_DEVICE = new Object();
+
+	public static Object getDevice(File file) {
+		File folder = file.getAbsoluteFile().getParentFile();
+		if (folder == null) {
+			return UNKNOWN_DEVICE;
+		}
+
+		// files in the same folder are on the same device
+		Object device = devices.get(folder);
+		if (device == null) {
+			// resolve file store without holding the cache lock
+			try {
+				device = Files.getFileStore(folder.toPath());
+			} catch (Exception e) {
+				debug.finest(format("Unknown device: %s", e));
+				device = UNKNOWN_DEVICE;
+			}
+			devices.put(folder, device);
+		}
+		return device;
+	}
+
+	private static final Pattern NETWORK_FILE_SYSTEM = Pattern.compile("nfs.*|cifs|smb.*|afpfs|webdav|davfs|fuse[.]sshfs", Pattern.CASE_INSENSITIVE);
+
+	public static int getConcurrencyLimit(Object device, int parallelism) {
+		if (device instanceof FileStore) {
+			FileStore store = (FileStore) device;
+
+			// network shares don't benefit from many concurrent readers
+			if (NETWORK_FILE_SYSTEM.matcher(store.type()).matches()) {
+				return Math.min(2, parallelism);
+			}
+
+			// read /sys/block/<device>/queue/rotational on Linux
+			Boolean rotational = isRotational(store);
+			if (rotational != null && rotational) {
+				return 1;
+			}
+		}
+
+		// solid state drives and local devices of unknown type
+		return parallelism;
+	}
+
+	private static Boolean isRotational(FileStore store) {
+		try {
+			if (store.name().startsWith("/dev/")) {
+				Path block = Paths.get("/sys/class/block", Paths.get(store.name()).toRealPath().getFileName().toString()).toRealPath();
+
+				// partitions inherit the queue settings of the parent device
+				for (Path it : new Path[] { block, block.getParent() }) {
+					Path rotational = it.resolve("queue/rotational");
+					if (Files.exists(rotational)) {
+						return "1".equals(new String(Files.readAllBytes(rotational)).trim());
+					}
+				}
+			}
+		} catch (IOException e) {
+			debug.log(Level.FINEST, e, e::toString);
+		}
+		return null;
+	}
+
+	private static class FileTask<T> extends FutureTask<T> {
+
+		private final File file;
+
+		public FileTask(File file, Callable<T> callable) {
+			super(callable);
+			this.file = file;
+		}
+
+		public File getFile() {
+			return file;
+		}
+	}
+
+	/**
+	 * Task queue that only hands out tasks for devices that have not yet reached their concurrency limit
+	 */
+	private static class DeviceQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+		private final Function<Runnable, File> file;
+		private final int parallelism;
+
+		private final Map<Object, Lane> lanes = new LinkedHashMap<Object, Lane>();
+		private final Map<Runnable, Lane> running = new IdentityHashMap<Runnable, Lane>();
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition available = lock.newCondition();
+
+		private int size = 0;
+
+		public DeviceQueue(Function<Runnable, File> file, int parallelism) {
+			this.file = file;
+			this.parallelism = parallelism;
+		}
+
+		private Lane getLane(Runnable r) {
+			File f = file.apply(r);
+			Object device = f == null ? UNKNOWN_DEVICE : getDevice(f);
+			return lanes.computeIfAbsent(device, k -> new Lane(getConcurrencyLimit(k, parallelism)));
+		}
+
+		public void release(Runnable r) {
+			lock.lock();
+			try {
+				Lane lane = running.remove(r);
+				if (lane != null) {
+					lane.active--;
+					available.signalAll();
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public boolean offer(Runnable r) {
+			// resolve device before we lock the queue
+			File f = file.apply(r);
+			if (f != null) {
+				getDevice(f);
+			}
+
+			lock.lock();
+			try {
+				getLane(r).tasks.add(r);
+				size++;
+				available.signalAll();
+				return true;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public boolean offer(Runnable r, long timeout, TimeUnit unit) {
+			return offer(r);
+		}
+
+		@Override
+		public void put(Runnable r) {
+			offer(r);
+		}
+
+		@Override
+		public Runnable poll() {
+			lock.lock();
+			try {
+				for (Lane lane : lanes.values()) {
+					if (lane.active < lane.limit && !lane.tasks.isEmpty()) {
+						Runnable r = lane.tasks.poll();
+						lane.active++;
+						running.put(r, lane);
+						size--;
+						return r;
+					}
+				}
+				return null;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+			long nanos = unit.toNanos(timeout);
+			lock.lockInterruptibly();
+			try {
+				Runnable r;
+				while ((r = poll()) == null) {
+					if (nanos <= 0) {
+						return null;
+					}
+					nanos = available.awaitNanos(nanos);
+				}
+				return r;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public Runnable take() throws InterruptedException {
+			lock.lockInterruptibly();
+			try {
+				Runnable r;
+				while ((r = poll()) == null) {
+					available.await();
+				}
+				return r;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public Runnable peek() {
+			lock.lock();
+			try {
+				for (Lane lane : lanes.values()) {
+					if (!lane.tasks.isEmpty()) {
+						return lane.tasks.peek();
+					}
+				}
+				return null;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			lock.lock();
+			try {
+				for (Lane lane : lanes.values()) {
+					if (lane.tasks.remove(o)) {
+						size--;
+						return true;
+					}
+				}
+				return false;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public int size() {
+			lock.lock();
+			try {
+				return size;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public int remainingCapacity() {
+			return Integer.MAX_VALUE;
+		}
+
+		@Override
+		public int drainTo(Collection<? super Runnable> c) {
+			return drainTo(c, Integer.MAX_VALUE);
+		}
+
+		@Override
+		public int drainTo(Collection<? super Runnable> c, int maxElements) {
+			lock.lock();
+			try {
+				int n = 0;
+				for (Lane lane : lanes.values()) {
+					while (n < maxElements && !lane.tasks.isEmpty()) {
+						c.add(lane.tasks.poll());
+						size--;
+						n++;
+					}
+				}
+				return n;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public Iterator<Runnable> iterator() {
+			List<Runnable> snapshot = new ArrayList<Runnable>(size());
+
+			lock.lock();
+			try {
+				lanes.values().forEach(lane -> snapshot.addAll(lane.tasks));
+			} finally {
+				lock.unlock();
+			}
+
+			Iterator<Runnable> it = snapshot.iterator();
+			return new Iterator<Runnable>() {
+
+				private Runnable current;
+
+				@Override
+				public boolean hasNext() {
+					return it.hasNext();
+				}
+
+				@Override
+				public Runnable next() {
+					return current = it.next();
+				}
+
+				@Override
+				public void remove() {
+					DeviceQueue.this.remove(current);
+				}
+			};
+		}
+
+		private static class Lane {
+
+			public final int limit;
+			public final ArrayDeque<Runnable> tasks = new ArrayDeque<Runnable>();
+			public int active = 0;
+
+			public Lane(int limit) {
+				this.limit = limit;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,312 @@
+package net.filebot.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton that finds all occurrences of a large number of keywords in a single pass over the input. Characters are compared with ASCII case folding (same as {@link java.util.regex.Pattern#CASE_INSENSITIVE}), and case-sensitive matches
+ * are verified against the original keyword. Keywords may contain a wildcard character that matches any single character, in which case the automaton matches the last literal part of the keyword and the whole keyword is verified.
+ */
+public class KeywordMatcher {
+
+	// noncharacter that doesn't occur in text
+	private static final char NO_WILDCARD = '\uFFFF';
+
+	private final String[] keywords;
+	private final char wildcard;
+	private final int[] priority;
+
+	// sorted transitions for each state
+	private final char[][] labels;
+	private final int[][] targets;
+
+	private final int[] failure;
+	private final int[] depth;
+
+	// keywords ending in each state, and the next state with keywords along the failure links
+	private final int[][] terminals;
+	private final int[] output;
+
+	// offset of the literal part that we match for each wildcard keyword, and keywords that are all wildcards
+	private final int[] anchors;
+	private final int[] wildcards;
+
+	public KeywordMatcher(String... keywords) {
+		this(keywords, NO_WILDCARD);
+	}
+
+	public KeywordMatcher(String[] keywords, char wildcard) {
+		this(keywords, wildcard, getPriority(keywords));
+	}
+
+	/**
+	 * @param priority
+	 *            order in which keywords that start at the same offset are tried (lowest first)
+	 */
+	public KeywordMatcher(String[] keywords, char wildcard, int[] priority) {
+		this.keywords = keywords;
+		this.wildcard = wildcard;
+		this.priority = priority;
+		this.anchors = new int[keywords.length];
+
+		List<Integer> wildcardKeywords = new ArrayList<Integer>();
+
+		List<Map<Character, Integer>> trie = new ArrayList<Map<Character, Integer>>();
+		List<List<Integer>> ends = new ArrayList<List<Integer>>();
+		List<Integer> depths = new ArrayList<Integer>();
+
+		trie.add(new TreeMap<Character, Integer>());
+		ends.add(new ArrayList<Integer>());
+		depths.add(0);
+
+		for (int k = 0; k < keywords.length; k++) {
+			if (keywords[k].isEmpty()) {
+				continue;
+			}
+
+			// match the last literal part of wildcard keywords (i.e. the whole keyword if there are no wildcards)
+			int end = keywords[k].length();
+			while (end > 0 && keywords[k].charAt(end - 1) == wildcard) {
+				end--;
+			}
+			if (end == 0) {
+				wildcardKeywords.add(k);
+				continue;
+			}
+
+			anchors[k] = keywords[k].lastIndexOf(wildcard, end - 1) + 1;
+			String literal = keywords[k].substring(anchors[k], end);
+
+			int state = 0;
+			for (int i = 0; i < literal.length(); i++) {
+				Integer next = trie.get(state).get(fold(literal.charAt(i)));
+				if (next == null) {
+					next = trie.size();
+					trie.get(state).put(fold(literal.charAt(i)), next);
+					trie.add(new TreeMap<Character, Integer>());
+					ends.add(new ArrayList<Integer>());
+					depths.add(i + 1);
+				}
+				state = next;
+			}
+			ends.get(state).add(k);
+		}
+
+		wildcards = wildcardKeywords.stream().mapToInt(Integer::intValue).toArray();
+
+		int size = trie.size();
+		labels = new char[size][];
+		targets = new int[size][];
+		failure = new int[size];
+		depth = new int[size];
+		terminals = new int[size][];
+		output = new int[size];
+
+		for (int s = 0; s < size; s++) {
+			Map<Character, Integer> edges = trie.get(s);
+			labels[s] = new char[edges.size()];
+			targets[s] = new int[edges.size()];
+
+			int i = 0;
+			for (Map.Entry<Character, Integer> it : edges.entrySet()) {
+				labels[s][i] = it.getKey();
+				targets[s][i] = it.getValue();
+				i++;
+			}
+
+			terminals[s] = ends.get(s).stream().mapToInt(Integer::intValue).toArray();
+			depth[s] = depths.get(s);
+		}
+
+		// breadth-first traversal so that failure links always point to states that have already been processed
+		Queue<Integer> queue = new ArrayDeque<Integer>();
+		for (int t : targets[0]) {
+			queue.add(t);
+		}
+
+		while (!queue.isEmpty()) {
+			int s = queue.remove();
+			output[s] = terminals[s].length > 0 ? s : output[failure[s]];
+
+			for (int i = 0; i < labels[s].length; i++) {
+				int t = targets[s][i];
+				int f = failure[s];
+				while (f > 0 && transition(f, labels[s][i]) < 0) {
+					f = failure[f];
+				}
+				int next = transition(f, labels[s][i]);
+				failure[t] = next >= 0 && next != t ? next : 0;
+				queue.add(t);
+			}
+		}
+	}
+
+	public String[] getKeywords() {
+		return keywords.clone();
+	}
+
+	public String getKeyword(int index) {
+		return keywords[index];
+	}
+
+	/**
+	 * Report all (possibly overlapping) keyword occurrences in order of their end offset
+	 */
+	public void match(CharSequence s, boolean ignoreCase, MatchHandler handler) {
+		int state = 0;
+
+		// wildcard keywords that end after the current offset
+		List<int[]> pending = new ArrayList<int[]>(0);
+
+		for (int i = 0; i < s.length(); i++) {
+			char c = fold(s.charAt(i));
+
+			int next = transition(state, c);
+			while (next < 0 && state > 0) {
+				state = failure[state];
+				next = transition(state, c);
+			}
+			state = next < 0 ? 0 : next;
+
+			for (int t = output[state]; t > 0; t = output[failure[t]]) {
+				for (int k : terminals[t]) {
+					int start = i + 1 - depth[t] - anchors[k];
+					int end = start + keywords[k].length();
+
+					if (depth[t] == keywords[k].length()) {
+						// plain keyword
+						if (ignoreCase || regionMatches(s, start, keywords[k], false)) {
+							handler.match(start, end, k);
+						}
+					} else if (start >= 0 && end <= s.length() && regionMatches(s, start, keywords[k], ignoreCase)) {
+						if (end == i + 1) {
+							handler.match(start, end, k);
+						} else {
+							pending.add(new int[] { start, end, k });
+						}
+					}
+				}
+			}
+
+			// keywords that are all wildcards match anywhere
+			for (int k : wildcards) {
+				int start = i + 1 - keywords[k].length();
+				if (start >= 0) {
+					handler.match(start, i + 1, k);
+				}
+			}
+
+			for (Iterator<int[]> it = pending.iterator(); it.hasNext();) {
+				int[] m = it.next();
+				if (m[1] == i + 1) {
+					handler.match(m[0], m[1], m[2]);
+					it.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return end offsets of all keywords starting at each offset (in order of keyword priority) or null if no keyword starts at the given offset
+	 */
+	public int[][] getMatchEnds(CharSequence s, boolean ignoreCase) {
+		int[][] ends = new int[s.length()][];
+		int[][] priorities = new int[s.length()][];
+
+		match(s, ignoreCase, (start, end, keyword) -> {
+			int[] previous = ends[start];
+			int p = priority[keyword];
+
+			if (previous == null) {
+				ends[start] = new int[] { end };
+				priorities[start] = new int[] { p };
+				return;
+			}
+
+			// ignore end offsets that will already be tried before this one
+			int i = 0;
+			while (i < previous.length && priorities[start][i] <= p) {
+				if (previous[i] == end) {
+					return;
+				}
+				i++;
+			}
+
+			ends[start] = insert(previous, i, end);
+			priorities[start] = insert(priorities[start], i, p);
+		});
+
+		return ends;
+	}
+
+	/**
+	 * @return priority of each keyword in reverse lexicographic order, i.e. same order as regex alternatives sorted in reverse order, so that keywords are tried before their prefixes
+	 */
+	public static int[] getPriority(String[] keywords) {
+		Integer[] order = new Integer[keywords.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> keywords[b].compareTo(keywords[a]));
+
+		int[] priority = new int[keywords.length];
+		for (int i = 0; i < order.length; i++) {
+			priority[order[i]] = i;
+		}
+		return priority;
+	}
+
+	private static int[] insert(int[] values, int index, int value) {
+		int[] next = new int[values.length + 1];
+		System.arraycopy(values, 0, next, 0, index);
+		next[index] = value;
+		System.arraycopy(values, index, next, index + 1, values.length - index);
+		return next;
+	}
+
+	private int transition(int state, char c) {
+		char[] label = labels[state];
+
+		int low = 0;
+		int high = label.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (label[mid] < c) {
+				low = mid + 1;
+			} else if (label[mid] > c) {
+				high = mid - 1;
+			} else {
+				return targets[state][mid];
+			}
+		}
+		return -1;
+	}
+
+	private boolean regionMatches(CharSequence s, int offset, String keyword, boolean ignoreCase) {
+		for (int i = 0; i < keyword.length(); i++) {
+			char k = keyword.charAt(i);
+			char c = s.charAt(offset + i);
+			if (k != wildcard && (ignoreCase ? fold(c) != fold(k) : c != k)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static char fold(char c) {
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
+
+	@FunctionalInterface
+	public interface MatchHandler {
+
+		void match(int start, int end, int keyword);
+	}
+
+}
@@ -1,6 +1,7 @@
 package net.filebot.web;
 
 import static java.util.Arrays.*;
+import static net.filebot.Logging.*;
 
 import java.io.Serializable;
 import java.util.List;
@@ -56,7 +57,8 @@ public abstract class AbstractEpisodeListProvider implements EpisodeListProvider
 		SortOrder requestOrder = vetoRequestParameter(order);
 		Locale requestLanguage = vetoRequestParameter(language);
 
-		return getDataCache(requestOrder, requestLanguage).computeIfAbsent(searchResult.getId(), it -> {
+		// ignore cached data that we can't decode
+		return getDataCache(requestOrder, requestLanguage).computeIf(searchResult.getId(), it -> it == null || !SeriesDataCodec.isSupported(it.getObjectValue()), it -> {
 			return fetchSeriesData(searchResult, requestOrder, requestLanguage);
 		});
 	}
@@ -70,7 +72,25 @@ public abstract class AbstractEpisodeListProvider implements EpisodeListProvider
 	}
 
 	protected TypedCache<SeriesData> getDataCache(SortOrder order, Locale language) {
-		return getCache("data_" + order.ordinal() + "_" + language).cast(SeriesData.class);
+		return getCache("data_" + order.ordinal() + "_" + language).typed(AbstractEpisodeListProvider::readSeriesData, AbstractEpisodeListProvider::writeSeriesData);
+	}
+
+	private static SeriesData readSeriesData(Object value) {
+		try {
+			return value instanceof byte[] ? SeriesDataCodec.decode((byte[]) value) : (SeriesData) value;
+		} catch (Exception e) {
+			// cache lookup will treat the value as a cache miss and fetch the data again
+			throw new IllegalStateException("Failed to decode series data: " + e.getMessage(), e);
+		}
+	}
+
+	private static Object writeSeriesData(SeriesData data) {
+		try {
+			return data == null ? null : SeriesDataCodec.encode(data);
+		} catch (Exception e) {
+			debug.warning(format("Failed to encode series data: %s", e));
+			return data;
+		}
 	}
 
 	protected static class SeriesData implements Serializable {
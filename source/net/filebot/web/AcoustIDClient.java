@@ -1,6 +1,9 @@
 package net.filebot.web;
 
 import static java.nio.charset.StandardCharsets.*;
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+import static java.util.stream.Collectors.*;
 import static net.filebot.Logging.*;
 import static net.filebot.util.JsonUtilities.*;
 import static net.filebot.util.RegularExpressions.*;
@@ -12,26 +15,52 @@ import java.io.InputStreamReader;
 import java.lang.ProcessBuilder.Redirect;
 import java.lang.reflect.Field;
 import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import javax.swing.Icon;
 
+import com.cedarsoftware.util.io.JsonWriter;
+
 import net.filebot.Cache;
 import net.filebot.CacheType;
 import net.filebot.ResourceManager;
+import net.filebot.util.DefaultThreadFactory;
+import net.filebot.util.SystemProperty;
 
 public class AcoustIDClient implements MusicIdentificationService {
 
-	private static final FloodLimit REQUEST_LIMIT = new FloodLimit(3, 1, TimeUnit.SECONDS);
+	private static final RateLimit REQUEST_LIMIT = RateLimit.forHost("api.acoustid.org", 3, Duration.ofSeconds(1), 3);
+
+	// number of concurrent fpcalc processes
+	public static final int FPCALC_THREADS = SystemProperty.of("net.filebot.web.AcoustIDClient.threads", Integer::parseInt, Runtime.getRuntime().availableProcessors()).get();
+
+	// number of fingerprints per lookup request
+	public static final int BATCH_SIZE = SystemProperty.of("net.filebot.web.AcoustIDClient.batch", Integer::parseInt, 20).get();
+
+	private static final ThreadPoolExecutor fpcalcThreadPool = new ThreadPoolExecutor(FPCALC_THREADS, FPCALC_THREADS, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<Runnable>(), new DefaultThreadFactory("fpcalc", Thread.NORM_PRIORITY, true));
+
+	static {
+		fpcalcThreadPool.allowCoreThreadTimeOut(true);
+	}
 
 	private String apikey;
 
@@ -55,51 +84,173 @@ public class AcoustIDClient implements MusicIdentificationService {
 
 	@Override
 	public Map<File, AudioTrack> lookup(Collection<File> files) throws Exception {
-		Map<File, AudioTrack> results = new LinkedHashMap<File, AudioTrack>();
+		Map<File, Chromaprint> fingerprints = fingerprint(files);
+
+		// request only fingerprints that are not cached yet
+		Map<File, String> responses = new HashMap<File, String>();
+		List<File> queue = new ArrayList<File>();
+
+		for (Entry<File, Chromaprint> it : fingerprints.entrySet()) {
+			Object response = getCache().get(it.getValue().getCacheKey());
+			if (response != null) {
+				responses.put(it.getKey(), (String) response);
+			} else {
+				queue.add(it.getKey());
+			}
+		}
 
-		for (File file : files) {
-			Map<ChromaprintField, String> fp = fpcalc(file);
+		// send batch requests concurrently
+		Map<List<File>, Future<List<String>>> requests = new LinkedHashMap<List<File>, Future<List<String>>>();
+		for (int i = 0; i < queue.size(); i += BATCH_SIZE) {
+			List<File> batch = queue.subList(i, Math.min(i + BATCH_SIZE, queue.size()));
+			requests.put(batch, lookupAsync(batch.stream().map(fingerprints::get).collect(toList())));
+		}
 
-			// sanity check
-			if (!fp.containsKey(ChromaprintField.DURATION) || !fp.containsKey(ChromaprintField.FINGERPRINT))
-				continue;
+		try {
+			for (Entry<List<File>, Future<List<String>>> it : requests.entrySet()) {
+				List<File> batch = it.getKey();
+				List<String> batchResponse = getResult(it.getValue());
 
-			int duration = Integer.parseInt(fp.get(ChromaprintField.DURATION));
-			String fingerprint = fp.get(ChromaprintField.FINGERPRINT);
+				for (int j = 0; j < batch.size(); j++) {
+					responses.put(batch.get(j), batchResponse.get(j));
+				}
+			}
+		} finally {
+			// abort pending requests if one has failed
+			requests.values().forEach(it -> it.cancel(true));
+		}
 
-			// sanity check
-			if (duration < 10)
-				continue;
+		Map<File, AudioTrack> results = new LinkedHashMap<File, AudioTrack>();
 
-			String response = lookup(duration, fingerprint);
+		for (Entry<File, Chromaprint> it : fingerprints.entrySet()) {
+			String response = responses.get(it.getKey());
 			if (response != null && response.length() > 0) {
-				results.put(file, parseResult(lookup(duration, fingerprint), duration));
+				results.put(it.getKey(), parseResult(response, it.getValue().duration));
 			}
 		}
 
 		return results;
 	}
 
+	protected Map<File, Chromaprint> fingerprint(Collection<File> files) throws Exception {
+		Map<File, Future<Map<ChromaprintField, String>>> tasks = new LinkedHashMap<File, Future<Map<ChromaprintField, String>>>();
+		for (File file : files) {
+			tasks.put(file, fpcalcThreadPool.submit(() -> fpcalc(file)));
+		}
+
+		Map<File, Chromaprint> fingerprints = new LinkedHashMap<File, Chromaprint>();
+
+		try {
+			for (Entry<File, Future<Map<ChromaprintField, String>>> it : tasks.entrySet()) {
+				Map<ChromaprintField, String> fp = getResult(it.getValue());
+
+				// sanity check
+				if (!fp.containsKey(ChromaprintField.DURATION) || !fp.containsKey(ChromaprintField.FINGERPRINT))
+					continue;
+
+				int duration = Integer.parseInt(fp.get(ChromaprintField.DURATION));
+				String fingerprint = fp.get(ChromaprintField.FINGERPRINT);
+
+				// sanity check
+				if (duration < 10)
+					continue;
+
+				fingerprints.put(it.getKey(), new Chromaprint(duration, fingerprint));
+			}
+		} finally {
+			// abort pending fpcalc tasks if one has failed
+			tasks.values().forEach(it -> it.cancel(true));
+		}
+
+		return fingerprints;
+	}
+
+	private static <T> T getResult(Future<T> future) throws Exception {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	protected URL getLookupURL() throws Exception {
+		return new URL("http://api.acoustid.org/v2/lookup?client=" + apikey + "&meta=recordings+releases+releasegroups+tracks+compress");
+	}
+
+	protected Map<String, String> getRequestParameters() {
+		Map<String, String> requestParam = new HashMap<String, String>();
+		requestParam.put("Content-Encoding", "gzip");
+		requestParam.put("Accept-Encoding", "gzip");
+		return requestParam;
+	}
+
 	public String lookup(int duration, String fingerprint) throws Exception {
-		Map<String, String> postParam = new LinkedHashMap<String, String>();
-		postParam.put("duration", String.valueOf(duration));
-		postParam.put("fingerprint", fingerprint);
+		Chromaprint fp = new Chromaprint(duration, fingerprint);
 
 		// e.g.
 		// http://api.acoustid.org/v2/lookup?client=8XaBELgH&meta=recordings+releasegroups+compress&duration=641&fingerprint=AQABz0qUkZK4oOfhL-CPc4e5C_wW2H2QH9uDL4cvoT8UNQ-eHtsE8cceeFJx-LiiHT-aPzhxoc-Opj_eI5d2hOFyMJRzfDk-QSsu7fBxqZDMHcfxPfDIoPWxv9C1o3yg44d_3Df2GJaUQeeR-cb2HfaPNsdxHj2PJnpwPMN3aPcEMzd-_MeB_Ej4D_CLP8ghHjkJv_jh_UDuQ8xnILwunPg6hF2R8HgzvLhxHVYP_ziJX0eKPnIE1UePMByDJyg7wz_6yELsB8n4oDmDa0Gv40hf6D3CE3_wH6HFaxCPUD9-hNeF5MfWEP3SCGym4-SxnXiGs0mRjEXD6fgl4LmKWrSChzzC33ge9PB3otyJMk-IVC6R8MTNwD9qKQ_CC8kPv4THzEGZS8GPI3x0iGVUxC1hRSizC5VzoamYDi-uR7iKPhGSI82PkiWeB_eHijvsaIWfBCWH5AjjCfVxZ1TQ3CvCTclGnEMfHbnZFA8pjD6KXwd__Cn-Y8e_I9cq6CR-4S9KLXqQcsxxoWh3eMxiHI6TIzyPv0M43YHz4yte-Cv-4D16Hv9F9C9SPUdyGtZRHV-OHEeeGD--BKcjVLOK_NCDXMfx44dzHEiOZ0Z44Rf6DH5R3uiPj4d_PKolJNyRJzyu4_CTD2WOvzjKH9GPb4cUP1Av9EuQd8fGCFee4JlRHi18xQh96NLxkCgfWFKOH6WGeoe4I3za4c5hTscTPEZTES1x8kE-9MQPjT8a8gh5fPgQZtqCFj9MDvp6fDx6NCd07bjx7MLR9AhtnFnQ70GjOcV0opmm4zpY3SOa7HiwdTtyHa6NC4e-HN-OfC5-OP_gLe2QDxfUCz_0w9l65HiPAz9-IaGOUA7-4MZ5CWFOlIfe4yUa6AiZGxf6w0fFxsjTOdC6Itbh4mGD63iPH9-RFy909XAMj7mC5_BvlDyO6kGTZKJxHUd4NDwuZUffw_5RMsde5CWkJAgXnDReNEaP6DTOQ65yaD88HoeX8fge-DSeHo9Qa8cTHc80I-_RoHxx_UHeBxrJw62Q34Kd7MEfpCcu6BLeB1ePw6OO4sOF_sHhmB504WWDZiEu8sKPpkcfCT9xfej0o0lr4T5yNJeOvjmu40w-TDmqHXmYgfFhFy_M7tD1o0cO_B2ms2j-ACEEQgQgAIwzTgAGmBIKIImNQAABwgQATAlhDGCCEIGIIM4BaBgwQBogEBIOESEIA8ARI5xAhxEFmAGAMCKAURKQQpQzRAAkCCBQEAKkQYIYIQQxCixCDADCABMAE0gpJIgyxhEDiCKCCIGAEIgJIQByAhFgGACCACMRQEyBAoxQiHiCBCFOECQFAIgAABR2QAgFjCDMA0AUMIoAIMChQghChASGEGeYEAIAIhgBSErnJPPEGWYAMgw05AhiiGHiBBBGGSCQcQgwRYJwhDDhgCSCSSEIQYwILoyAjAIigBFEUQK8gAYAQ5BCAAjkjCCAEEMZAUQAZQCjCCkpCgFMCCiIcVIAZZgilAQAiSHQECOcQAQIc4QClAHAjDDGkAGAMUoBgyhihgEChFCAAWEIEYwIJYwViAAlHCBIGEIEAEIQAoBwwgwiEBAEEEOoEwBY4wRwxAhBgAcKAESIQAwwIowRFhoBhAE
 
-		return (String) getCache().computeIfAbsent(postParam.toString(), it -> {
+		return (String) getCache().computeIfAbsent(fp.getCacheKey(), it -> {
 			REQUEST_LIMIT.acquirePermit();
 
-			URL url = new URL("http://api.acoustid.org/v2/lookup?client=" + apikey + "&meta=recordings+releases+releasegroups+tracks+compress");
-			Map<String, String> requestParam = new HashMap<String, String>();
-			requestParam.put("Content-Encoding", "gzip");
-			requestParam.put("Accept-Encoding", "gzip");
+			Map<String, String> postParam = new LinkedHashMap<String, String>();
+			postParam.put("duration", String.valueOf(duration));
+			postParam.put("fingerprint", fingerprint);
 
-			return UTF_8.decode(post(url, postParam, requestParam)).toString();
+			return UTF_8.decode(post(getLookupURL(), postParam, getRequestParameters())).toString();
 		});
 	}
 
+	/**
+	 * Look up multiple fingerprints with a single request and store the result for each fingerprint in the same format as a single fingerprint lookup
+	 */
+	public List<String> lookup(List<Chromaprint> fingerprints) throws Exception {
+		return getResult(lookupAsync(fingerprints));
+	}
+
+	public CompletableFuture<List<String>> lookupAsync(List<Chromaprint> fingerprints) throws Exception {
+		Map<String, String> postParam = new LinkedHashMap<String, String>();
+		for (int i = 0; i < fingerprints.size(); i++) {
+			postParam.put("duration." + i, String.valueOf(fingerprints.get(i).duration));
+			postParam.put("fingerprint." + i, fingerprints.get(i).fingerprint);
+		}
+
+		REQUEST_LIMIT.acquirePermit();
+
+		return postAsync(getLookupURL(), postParam, getRequestParameters()).thenApply(response -> {
+			try {
+				return parseLookupResponse(fingerprints, readJson(UTF_8.decode(response)));
+			} catch (IOException e) {
+				throw new CompletionException(e);
+			}
+		});
+	}
+
+	private List<String> parseLookupResponse(List<Chromaprint> fingerprints, Object data) throws IOException {
+		String status = getString(data, "status");
+		if (!"ok".equals(status)) {
+			throw new IOException(String.format("%s responded with error: %s", getName(), status));
+		}
+
+		String[] responses = new String[fingerprints.size()];
+
+		for (Object fp : getArray(data, "fingerprints")) {
+			int index = Integer.parseInt(getString(fp, "index"));
+
+			Map<String, Object> response = new LinkedHashMap<String, Object>();
+			response.put("status", status);
+			response.put("results", getArray(fp, "results"));
+
+			responses[index] = JsonWriter.objectToJson(response, singletonMap(JsonWriter.TYPE, false));
+			getCache().put(fingerprints.get(index).getCacheKey(), responses[index]);
+		}
+
+		return asList(responses);
+	}
+
 	public AudioTrack parseResult(String json, final int targetDuration) throws IOException {
 		Object data = readJson(json);
 
@@ -215,6 +366,21 @@ public class AcoustIDClient implements MusicIdentificationService {
 		return output;
 	}
 
+	public static class Chromaprint {
+
+		public final int duration;
+		public final String fingerprint;
+
+		public Chromaprint(int duration, String fingerprint) {
+			this.duration = duration;
+			this.fingerprint = fingerprint;
+		}
+
+		public String getCacheKey() {
+			return "{duration=" + duration + ", fingerprint=" + fingerprint + "}"; // same as the post parameters of a single fingerprint lookup
+		}
+	}
+
 	private static class MostFieldsNotNull implements Comparator<Object> {
 
 		@Override
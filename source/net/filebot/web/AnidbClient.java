@@ -14,13 +14,13 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URL;
+import java.time.Duration;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -38,7 +38,7 @@ import net.filebot.ResourceManager;
 
 public class AnidbClient extends AbstractEpisodeListProvider {
 
-	private static final FloodLimit REQUEST_LIMIT = new FloodLimit(2, 5, TimeUnit.SECONDS); // no more than 2 requests within a 5 second window
+	private static final RateLimit REQUEST_LIMIT = RateLimit.forHost("api.anidb.net", 2, Duration.ofSeconds(5), 1); // one request every 2.5 seconds without bursts
 
 	private final String client;
 	private final int clientver;
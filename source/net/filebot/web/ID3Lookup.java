@@ -17,6 +17,7 @@ import javax.swing.Icon;
 import net.filebot.ResourceManager;
 import net.filebot.mediainfo.MediaInfo;
 import net.filebot.mediainfo.MediaInfo.StreamKind;
+import net.filebot.mediainfo.MediaInfoPool;
 
 public class ID3Lookup implements MusicIdentificationService {
 
@@ -43,19 +44,15 @@ public class ID3Lookup implements MusicIdentificationService {
 	private <T> Map<File, T> read(Collection<File> files, Function<MediaInfo, T> parse, FileFilter... filters) {
 		Map<File, T> info = new LinkedHashMap<File, T>(files.size());
 
-		try (MediaInfo m = new MediaInfo()) {
-			for (File f : filter(files, filters)) {
-				try {
-					// open or throw exception
-					m.open(f);
-
-					T object = parse.apply(m);
-					if (object != null) {
-						info.put(f, object);
-					}
-				} catch (Throwable e) {
-					debug.warning(e::getMessage);
+		for (File f : filter(files, filters)) {
+			try {
+				// open or throw exception
+				T object = MediaInfoPool.getInstance().apply(f, parse);
+				if (object != null) {
+					info.put(f, object);
 				}
+			} catch (Throwable e) {
+				debug.warning(e::getMessage);
 			}
 		}
 
@@ -71,12 +68,10 @@ public class ID3Lookup implements MusicIdentificationService {
 	}
 
 	private <T> T read(File file, Function<MediaInfo, T> parse) {
-		try (MediaInfo m = new MediaInfo()) {
-			try {
-				return parse.apply(m.open(file));
-			} catch (Throwable e) {
-				debug.warning(e::getMessage);
-			}
+		try {
+			return MediaInfoPool.getInstance().apply(file, parse);
+		} catch (Throwable e) {
+			debug.warning(e::getMessage);
 		}
 
 		return null;
@@ -7,8 +7,12 @@ import static java.util.stream.Collectors.*;
 import static net.filebot.similarity.Normalization.*;
 
 import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
@@ -20,10 +24,13 @@ import com.ibm.icu.text.Transliterator;
 
 import uk.ac.shef.wit.simmetrics.similaritymetrics.AbstractStringMetric;
 import uk.ac.shef.wit.simmetrics.similaritymetrics.QGramsDistance;
+import uk.ac.shef.wit.simmetrics.tokenisers.InterfaceTokeniser;
+import uk.ac.shef.wit.simmetrics.tokenisers.TokeniserQGram3Extended;
 
 public class LocalSearch<T> {
 
-	private AbstractStringMetric metric = new QGramsDistance();
+	private InterfaceTokeniser tokeniser = new TokeniserQGram3Extended();
+	private AbstractStringMetric metric = new QGramsDistance(tokeniser);
 	private float resultMinimumSimilarity = 0.5f;
 	private int resultSetSize = 20;
 
@@ -32,15 +39,43 @@ public class LocalSearch<T> {
 	private T[] objects;
 	private Set<String>[] fields;
 
+	// q-gram -> indices of all objects that have at least one field containing the given q-gram
+	private Map<String, int[]> index;
+
+	// minimum number of q-grams of any field per object
+	private int[] minimumFieldSize;
+
 	public LocalSearch(T[] data, Function<T, Collection<String>> keywords) {
 		objects = data.clone();
 		fields = stream(objects).map(keywords).map(this::normalize).toArray(Set[]::new);
+
+		Map<String, List<Integer>> postings = new HashMap<String, List<Integer>>();
+		minimumFieldSize = new int[objects.length];
+
+		for (int i = 0; i < objects.length; i++) {
+			Set<String> qgrams = new HashSet<String>();
+			int minimum = Integer.MAX_VALUE;
+
+			for (String field : fields[i]) {
+				List<String> tokens = tokeniser.tokenizeToArrayList(field);
+				qgrams.addAll(tokens);
+				minimum = Math.min(minimum, tokens.size());
+			}
+
+			for (String qgram : qgrams) {
+				postings.computeIfAbsent(qgram, k -> new ArrayList<Integer>()).add(i);
+			}
+			minimumFieldSize[i] = qgrams.isEmpty() ? 0 : minimum;
+		}
+
+		index = new HashMap<String, int[]>(postings.size());
+		postings.forEach((qgram, list) -> index.put(qgram, list.stream().mapToInt(Integer::intValue).toArray()));
 	}
 
 	public List<T> search(String q) throws ExecutionException, InterruptedException {
 		String query = normalize(q);
 
-		return IntStream.range(0, objects.length).mapToObj(i -> {
+		return candidates(query).mapToObj(i -> {
 			T object = objects[i];
 			Set<String> field = fields[i];
 
@@ -51,6 +86,37 @@ public class LocalSearch<T> {
 		}).filter(Objects::nonNull).sorted(reverseOrder(comparing(Entry::getValue))).limit(resultSetSize).map(Entry::getKey).collect(toList());
 	}
 
+	protected IntStream candidates(String query) {
+		// short queries may be contained in any field without sharing a single q-gram, so we need to check everything
+		if (query.length() < 3) {
+			return IntStream.range(0, objects.length);
+		}
+
+		// count shared q-grams per object (upper bound for the number of shared q-grams of the best matching field)
+		List<String> qgrams = tokeniser.tokenizeToArrayList(query);
+		int[] shared = new int[objects.length];
+		List<Integer> hits = new ArrayList<Integer>();
+
+		for (String qgram : qgrams) {
+			int[] posting = index.get(qgram);
+			if (posting != null) {
+				for (int i : posting) {
+					if (shared[i]++ == 0) {
+						hits.add(i);
+					}
+				}
+			}
+		}
+
+		// if any field contains the query, then all q-grams that don't include padding characters must be shared
+		int containment = query.length() - 2;
+
+		// q-gram similarity is defined as 2 * shared / (n1 + n2) so objects that can't possibly reach the minimum similarity can be skipped
+		return hits.stream().mapToInt(Integer::intValue).filter(i -> {
+			return shared[i] >= containment || 2f * shared[i] / (qgrams.size() + minimumFieldSize[i]) > resultMinimumSimilarity;
+		}).sorted();
+	}
+
 	public void setResultMinimumSimilarity(float resultMinimumSimilarity) {
 		this.resultMinimumSimilarity = resultMinimumSimilarity;
 	}
@@ -10,6 +10,7 @@ import static net.filebot.util.StringUtilities.*;
 import static net.filebot.web.WebRequest.*;
 
 import java.net.URL;
+import java.time.Duration;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoField;
@@ -22,7 +23,6 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -35,7 +35,7 @@ import net.filebot.ResourceManager;
 
 public class OMDbClient implements MovieIdentificationService {
 
-	private static final FloodLimit REQUEST_LIMIT = new FloodLimit(2, 1, TimeUnit.SECONDS);
+	private static final RateLimit REQUEST_LIMIT = RateLimit.forHost("www.omdbapi.com", 2, Duration.ofSeconds(1), 2);
 
 	private String apikey;
 
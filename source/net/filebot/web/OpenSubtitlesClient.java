@@ -11,13 +11,21 @@ import static net.filebot.web.OpenSubtitlesHasher.*;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.logging.Level;
@@ -29,9 +37,11 @@ import net.filebot.Cache.TypedCache;
 import net.filebot.CacheType;
 import net.filebot.ResourceManager;
 import net.filebot.media.MediaDetection;
-import net.filebot.mediainfo.MediaInfo;
 import net.filebot.mediainfo.MediaInfo.StreamKind;
+import net.filebot.mediainfo.MediaInfoSnapshot;
+import net.filebot.util.DefaultThreadFactory;
 import net.filebot.util.ExceptionUtilities;
+import net.filebot.util.SystemProperty;
 import net.filebot.util.Timer;
 import net.filebot.web.OpenSubtitlesXmlRpc.BaseInfo;
 import net.filebot.web.OpenSubtitlesXmlRpc.Query;
@@ -45,6 +55,18 @@ import redstone.xmlrpc.XmlRpcFault;
  */
 public class OpenSubtitlesClient implements SubtitleProvider, VideoHashSubtitleService, MovieIdentificationService {
 
+	// XMLRPC::CheckMovieHash2 accepts up to 200 hashes per request
+	public static final int HASH_BATCH_SIZE = SystemProperty.of("net.filebot.web.OpenSubtitlesClient.batch", Integer::parseInt, 200).get();
+
+	// only the first and last 64 KB of each file are read, so hashing is bound by I/O latency (e.g. network shares) rather than CPU
+	public static final int HASH_THREADS = SystemProperty.of("net.filebot.web.OpenSubtitlesClient.threads", Integer::parseInt, 8).get();
+
+	private static final ThreadPoolExecutor hashThreadPool = new ThreadPoolExecutor(HASH_THREADS, HASH_THREADS, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<Runnable>(), new DefaultThreadFactory("OpenSubtitlesHasher", Thread.MIN_PRIORITY, true));
+
+	static {
+		hashThreadPool.allowCoreThreadTimeOut(true);
+	}
+
 	public final OpenSubtitlesXmlRpc xmlrpc;
 
 	private String username = "";
@@ -312,7 +334,8 @@ public class OpenSubtitlesClient implements SubtitleProvider, VideoHashSubtitleS
 			sub.setSubContent(readFile(subtitleFile));
 		}
 
-		try (MediaInfo mi = new MediaInfo().open(videoFile)) {
+		try {
+			MediaInfoSnapshot mi = MediaInfoSnapshot.of(videoFile);
 			sub.setMovieFPS(mi.get(StreamKind.Video, 0, "FrameRate"));
 			sub.setMovieTimeMS(mi.get(StreamKind.General, 0, "Duration"));
 		} catch (Throwable e) {
@@ -340,27 +363,67 @@ public class OpenSubtitlesClient implements SubtitleProvider, VideoHashSubtitleS
 	}
 
 	public synchronized Map<File, Movie> getMovieDescriptors(Collection<File> movieFiles, Locale locale) throws Exception {
-		// create result array
-		Map<File, Movie> results = new HashMap<File, Movie>();
+		TypedCache<Movie> cache = getLookupCache(locale);
 
 		// make sure we don't get mismatches by making sure the hash has not been confirmed numerous times
 		int minSeenCount = 20;
 
-		for (File f : movieFiles) {
-			if (f.length() > HASH_CHUNK_SIZE) {
-				String hash = computeHash(f);
+		Map<File, String> hashes = computeHashes(movieFiles);
+		Map<String, Movie> matches = new HashMap<String, Movie>();
 
-				Movie match = getLookupCache(locale).computeIfAbsent(hash, it -> {
-					return xmlrpc.checkMovieHash(singleton(hash), minSeenCount).get(hash);
-				});
+		// request only hashes that are not cached yet
+		List<String> queue = new ArrayList<String>();
+		for (String hash : new LinkedHashSet<String>(hashes.values())) {
+			if (cache.containsKey(hash)) {
+				matches.put(hash, cache.get(hash));
+			} else {
+				queue.add(hash);
+			}
+		}
 
-				results.put(f, match);
+		for (int i = 0; i < queue.size(); i += HASH_BATCH_SIZE) {
+			List<String> batch = queue.subList(i, Math.min(i + HASH_BATCH_SIZE, queue.size()));
+			Map<String, Movie> response = xmlrpc.checkMovieHash(batch, minSeenCount);
+
+			// cache negative results as well
+			for (String hash : batch) {
+				matches.put(hash, response.get(hash));
+				cache.put(hash, response.get(hash));
 			}
 		}
 
+		// create result array
+		Map<File, Movie> results = new HashMap<File, Movie>();
+		hashes.forEach((f, hash) -> results.put(f, matches.get(hash)));
 		return results;
 	}
 
+	protected Map<File, String> computeHashes(Collection<File> files) throws Exception {
+		Map<File, Future<String>> tasks = new LinkedHashMap<File, Future<String>>();
+		for (File f : files) {
+			if (f.length() > HASH_CHUNK_SIZE) {
+				tasks.put(f, hashThreadPool.submit(() -> computeHash(f)));
+			}
+		}
+
+		Map<File, String> hashes = new LinkedHashMap<File, String>();
+
+		try {
+			for (Entry<File, Future<String>> it : tasks.entrySet()) {
+				try {
+					hashes.put(it.getKey(), it.getValue().get());
+				} catch (ExecutionException e) {
+					throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+				}
+			}
+		} finally {
+			// abort pending tasks if one has failed
+			tasks.values().forEach(it -> it.cancel(true));
+		}
+
+		return hashes;
+	}
+
 	@Override
 	public URI getSubtitleListLink(SubtitleSearchResult searchResult, Locale locale) {
 		return URI.create(String.format("http://www.opensubtitles.org/en/search/imdbid-%d/sublanguageid-%s", searchResult.getImdbId(), getSubLanguageID(locale)));
@@ -0,0 +1,153 @@
+package net.filebot.web;
+
+import static net.filebot.Logging.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import net.filebot.util.SystemProperty;
+
+/**
+ * Lock-free token bucket (i.e. generic cell rate algorithm) shared by all clients that talk to the same host. Permits are handed out at a fixed rate with a limited burst, and the rate limit backs off if the server responds with HTTP 429 or 503.
+ */
+public class RateLimit {
+
+	private static final Map<String, RateLimit> limits = new ConcurrentHashMap<String, RateLimit>();
+
+	public static RateLimit forHost(String host, int permits, Duration period, int burst) {
+		return limits.computeIfAbsent(host.toLowerCase(), h -> {
+			// e.g. -Dnet.filebot.web.RateLimit.api.themoviedb.org=40/PT10S/5
+			return SystemProperty.of("net.filebot.web.RateLimit." + h, s -> parse(h, s)).optional().orElseGet(() -> new RateLimit(h, permits, period, burst));
+		});
+	}
+
+	public static Optional<RateLimit> forHost(String host) {
+		return host == null ? Optional.empty() : Optional.ofNullable(limits.get(host.toLowerCase()));
+	}
+
+	public static Map<String, RateLimit> getRateLimits() {
+		return limits;
+	}
+
+	private static final Pattern LIMIT = Pattern.compile("(\\d+)/(\\w+)(?:/(\\d+))?");
+
+	private static RateLimit parse(String host, String limit) {
+		Matcher m = LIMIT.matcher(limit);
+		if (!m.matches()) {
+			throw new IllegalArgumentException("Illegal rate limit: " + limit);
+		}
+
+		int permits = Integer.parseInt(m.group(1));
+		Duration period = Duration.parse(m.group(2));
+		if (permits < 1 || period.isNegative() || period.isZero()) {
+			throw new IllegalArgumentException("Illegal rate limit: " + limit);
+		}
+
+		return new RateLimit(host, permits, period, m.group(3) == null ? permits : Integer.parseInt(m.group(3)));
+	}
+
+	private static final long MIN_BACKOFF = TimeUnit.SECONDS.toNanos(1);
+	private static final long MAX_BACKOFF = TimeUnit.MINUTES.toNanos(1);
+
+	private final String host;
+
+	private final long interval;
+	private final long tolerance;
+
+	// theoretical arrival time of the next permit
+	private final AtomicLong next = new AtomicLong(System.nanoTime());
+	private final AtomicLong backoff = new AtomicLong(0);
+
+	private final LongAdder permitCount = new LongAdder();
+	private final LongAdder waitCount = new LongAdder();
+	private final LongAdder waitTime = new LongAdder();
+	private final AtomicLong maxWaitTime = new AtomicLong(0);
+	private final LongAdder backoffCount = new LongAdder();
+
+	public RateLimit(String host, int permits, Duration period, int burst) {
+		this.host = host;
+		this.interval = period.toNanos() / permits;
+		this.tolerance = interval * (Math.max(1, burst) - 1);
+	}
+
+	public String getHost() {
+		return host;
+	}
+
+	public void acquirePermit() throws InterruptedException {
+		long wait = reserve();
+		permitCount.increment();
+
+		if (wait > 0) {
+			waitCount.increment();
+			waitTime.add(wait);
+			maxWaitTime.accumulateAndGet(wait, Math::max);
+
+			debug.finest(format("Rate limit %s: wait %,d ms", host, TimeUnit.NANOSECONDS.toMillis(wait)));
+			TimeUnit.NANOSECONDS.sleep(wait);
+		}
+	}
+
+	protected long reserve() {
+		while (true) {
+			long now = System.nanoTime();
+			long tat = next.get();
+
+			// reserve the next slot and wait until it is due
+			if (next.compareAndSet(tat, Math.max(tat, now) + interval)) {
+				return Math.max(0, tat - tolerance - now);
+			}
+		}
+	}
+
+	public void backoff(Duration retryAfter) {
+		// double the delay for each consecutive error response unless the server tells us how long to wait
+		long delay = backoff.updateAndGet(d -> Math.min(MAX_BACKOFF, Math.max(MIN_BACKOFF, d * 2)));
+		if (retryAfter != null) {
+			delay = Math.max(delay, retryAfter.toNanos());
+		}
+
+		long resume = System.nanoTime() + delay;
+		next.accumulateAndGet(resume + tolerance, Math::max);
+		backoffCount.increment();
+
+		debug.warning(format("Rate limit %s: back off for %,d ms", host, TimeUnit.NANOSECONDS.toMillis(delay)));
+	}
+
+	public void reset() {
+		backoff.set(0);
+	}
+
+	public long getPermitCount() {
+		return permitCount.sum();
+	}
+
+	public long getWaitCount() {
+		return waitCount.sum();
+	}
+
+	public long getTotalWaitTime(TimeUnit unit) {
+		return unit.convert(waitTime.sum(), TimeUnit.NANOSECONDS);
+	}
+
+	public long getMaxWaitTime(TimeUnit unit) {
+		return unit.convert(maxWaitTime.get(), TimeUnit.NANOSECONDS);
+	}
+
+	public long getBackoffCount() {
+		return backoffCount.sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s [permits: %,d, waits: %,d, total wait: %,d ms, max wait: %,d ms, backoffs: %,d]", host, getPermitCount(), getWaitCount(), getTotalWaitTime(TimeUnit.MILLISECONDS), getMaxWaitTime(TimeUnit.MILLISECONDS), getBackoffCount());
+	}
+
+}
@@ -0,0 +1,387 @@
+package net.filebot.web;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.filebot.web.AbstractEpisodeListProvider.SeriesData;
+
+/**
+ * Compact binary encoding of {@link SeriesData} for the episode list caches. Strings are stored only once (e.g. series name and the same episode title in different episode lists), numbers are stored as variable-length integers, and all episodes
+ * refer to a shared {@link SeriesInfo} record. Objects of unknown types (i.e. subclasses) are stored via Java serialization.
+ */
+final class SeriesDataCodec {
+
+	private static final byte SERIALIZED = 0;
+	private static final byte VERSION = 1;
+
+	private static final byte SERIES_INFO = 0;
+	private static final byte THETVDB_SERIES_INFO = 1;
+
+	public static boolean isSupported(Object value) {
+		if (value instanceof byte[]) {
+			byte[] bytes = (byte[]) value;
+			return bytes.length > 0 && (bytes[0] == VERSION || bytes[0] == SERIALIZED);
+		}
+		return value instanceof SeriesData;
+	}
+
+	public static byte[] encode(SeriesData data) throws IOException {
+		if (!isEncodable(data)) {
+			return serialize(data);
+		}
+
+		Encoder encoder = new Encoder();
+		encoder.writeSeriesInfoRef(data.seriesInfo);
+		encoder.writeVarInt(data.episodeList.length);
+		for (Episode it : data.episodeList) {
+			encoder.writeEpisode(it);
+		}
+		return encoder.toByteArray();
+	}
+
+	public static SeriesData decode(byte[] bytes) throws IOException {
+		switch (bytes[0]) {
+		case SERIALIZED:
+			return deserialize(bytes);
+		case VERSION:
+			Decoder decoder = new Decoder(bytes);
+			SeriesData data = new SeriesData();
+			data.seriesInfo = decoder.readSeriesInfoRef();
+			data.episodeList = new Episode[decoder.readVarInt()];
+			for (int i = 0; i < data.episodeList.length; i++) {
+				data.episodeList[i] = decoder.readEpisode();
+			}
+			return data;
+		default:
+			throw new IOException("Unsupported format: " + bytes[0]);
+		}
+	}
+
+	private static boolean isEncodable(SeriesData data) {
+		if (!isEncodable(data.seriesInfo)) {
+			return false;
+		}
+		for (Episode it : data.episodeList) {
+			if (it == null || it.getClass() != Episode.class || !isEncodable(it.seriesInfo)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isEncodable(SeriesInfo info) {
+		return info == null || info.getClass() == SeriesInfo.class || info.getClass() == TheTVDBSeriesInfo.class;
+	}
+
+	private static byte[] serialize(SeriesData data) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		bytes.write(SERIALIZED);
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(data);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static SeriesData deserialize(byte[] bytes) throws IOException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1))) {
+			return (SeriesData) in.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static class Encoder {
+
+		private final Map<String, Integer> strings = new HashMap<String, Integer>();
+		private final Map<ByteBuffer, Integer> records = new HashMap<ByteBuffer, Integer>();
+
+		private final ByteArrayOutputStream stringTable = new ByteArrayOutputStream();
+		private final ByteArrayOutputStream recordTable = new ByteArrayOutputStream();
+
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream(4096);
+		private ByteArrayOutputStream out = body;
+
+		public void writeEpisode(Episode e) throws IOException {
+			writeString(e.seriesName);
+			writeInteger(e.season);
+			writeInteger(e.episode);
+			writeString(e.title);
+			writeInteger(e.absolute);
+			writeInteger(e.special);
+			writeDate(e.airdate);
+			writeInteger(e.id);
+			writeSeriesInfoRef(e.seriesInfo);
+		}
+
+		public void writeSeriesInfoRef(SeriesInfo info) throws IOException {
+			if (info == null) {
+				writeVarInt(0);
+				return;
+			}
+
+			// encode record and store identical records only once
+			ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+			ByteArrayOutputStream parent = out;
+			out = record;
+			writeSeriesInfo(info);
+			out = parent;
+
+			Integer index = records.get(ByteBuffer.wrap(record.toByteArray()));
+			if (index == null) {
+				index = records.size();
+				records.put(ByteBuffer.wrap(record.toByteArray()), index);
+				record.writeTo(recordTable);
+			}
+
+			writeVarInt(index + 1);
+		}
+
+		private void writeSeriesInfo(SeriesInfo info) throws IOException {
+			out.write(info instanceof TheTVDBSeriesInfo ? THETVDB_SERIES_INFO : SERIES_INFO);
+
+			writeString(info.database);
+			writeString(info.order);
+			writeString(info.language);
+			writeInteger(info.id);
+			writeString(info.name);
+			writeStringArray(info.aliasNames);
+			writeString(info.certification);
+			writeDate(info.startDate);
+			writeStringArray(info.genres);
+			writeString(info.network);
+			writeString(info.rating == null ? null : info.rating.toString());
+			writeInteger(info.ratingCount);
+			writeInteger(info.runtime);
+			writeString(info.status);
+
+			if (info instanceof TheTVDBSeriesInfo) {
+				TheTVDBSeriesInfo tvdb = (TheTVDBSeriesInfo) info;
+				writeString(tvdb.imdbId);
+				writeString(tvdb.overview);
+				writeString(tvdb.airsDayOfWeek);
+				writeString(tvdb.airsTime);
+				writeString(tvdb.banner == null ? null : tvdb.banner.toString());
+				writeVarLong(tvdb.lastUpdated);
+			}
+		}
+
+		private void writeString(String s) throws IOException {
+			if (s == null) {
+				writeVarInt(0);
+				return;
+			}
+
+			Integer index = strings.get(s);
+			if (index == null) {
+				index = strings.size();
+				strings.put(s, index);
+
+				byte[] bytes = s.getBytes(UTF_8);
+				writeVarLong(stringTable, bytes.length);
+				stringTable.write(bytes);
+			}
+
+			writeVarInt(index + 1);
+		}
+
+		private void writeStringArray(String[] values) throws IOException {
+			if (values == null) {
+				writeVarInt(0);
+				return;
+			}
+
+			writeVarInt(values.length + 1);
+			for (String it : values) {
+				writeString(it);
+			}
+		}
+
+		private void writeInteger(Integer i) throws IOException {
+			writeVarLong(i == null ? 0 : zigzag(i) + 1);
+		}
+
+		private void writeDate(SimpleDate date) throws IOException {
+			if (date == null) {
+				writeVarInt(0);
+				return;
+			}
+
+			writeVarLong(zigzag(date.getYear()) + 1);
+			writeVarInt(date.getMonth());
+			writeVarInt(date.getDay());
+		}
+
+		public void writeVarInt(int i) throws IOException {
+			writeVarLong(i & 0xFFFFFFFFL);
+		}
+
+		private void writeVarLong(long l) throws IOException {
+			writeVarLong(out, l);
+		}
+
+		private static void writeVarLong(ByteArrayOutputStream out, long l) {
+			while ((l & ~0x7FL) != 0) {
+				out.write((int) ((l & 0x7F) | 0x80));
+				l >>>= 7;
+			}
+			out.write((int) l);
+		}
+
+		private static long zigzag(long l) {
+			return (l << 1) ^ (l >> 63);
+		}
+
+		public byte[] toByteArray() throws IOException {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(stringTable.size() + recordTable.size() + body.size() + 16);
+			bytes.write(VERSION);
+
+			writeVarLong(bytes, strings.size());
+			stringTable.writeTo(bytes);
+
+			writeVarLong(bytes, records.size());
+			recordTable.writeTo(bytes);
+
+			body.writeTo(bytes);
+			return bytes.toByteArray();
+		}
+	}
+
+	private static class Decoder {
+
+		private final ByteBuffer in;
+
+		private final String[] strings;
+		private final SeriesInfo[] records;
+
+		public Decoder(byte[] bytes) throws IOException {
+			this.in = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+
+			strings = new String[readVarInt()];
+			for (int i = 0; i < strings.length; i++) {
+				int length = readVarInt();
+				strings[i] = new String(bytes, in.position(), length, UTF_8);
+				in.position(in.position() + length);
+			}
+
+			records = new SeriesInfo[readVarInt()];
+			for (int i = 0; i < records.length; i++) {
+				records[i] = readSeriesInfo();
+			}
+		}
+
+		public Episode readEpisode() throws IOException {
+			Episode e = new Episode();
+			e.seriesName = readString();
+			e.season = readInteger();
+			e.episode = readInteger();
+			e.title = readString();
+			e.absolute = readInteger();
+			e.special = readInteger();
+			e.airdate = readDate();
+			e.id = readInteger();
+
+			// all episodes share the same series info object
+			e.seriesInfo = readSeriesInfoRef();
+			return e;
+		}
+
+		public SeriesInfo readSeriesInfoRef() throws IOException {
+			int index = readVarInt();
+			return index == 0 ? null : records[index - 1];
+		}
+
+		private SeriesInfo readSeriesInfo() throws IOException {
+			byte type = in.get();
+			SeriesInfo info = type == THETVDB_SERIES_INFO ? new TheTVDBSeriesInfo() : new SeriesInfo();
+
+			info.database = readString();
+			info.order = readString();
+			info.language = readString();
+			info.id = readInteger();
+			info.name = readString();
+			info.aliasNames = readStringArray();
+			info.certification = readString();
+			info.startDate = readDate();
+			info.genres = readStringArray();
+			info.network = readString();
+			String rating = readString();
+			info.rating = rating == null ? null : Double.valueOf(rating);
+			info.ratingCount = readInteger();
+			info.runtime = readInteger();
+			info.status = readString();
+
+			if (type == THETVDB_SERIES_INFO) {
+				TheTVDBSeriesInfo tvdb = (TheTVDBSeriesInfo) info;
+				tvdb.imdbId = readString();
+				tvdb.overview = readString();
+				tvdb.airsDayOfWeek = readString();
+				tvdb.airsTime = readString();
+				String banner = readString();
+				tvdb.banner = banner == null ? null : new URL(banner);
+				tvdb.lastUpdated = readVarLong();
+			}
+			return info;
+		}
+
+		private String readString() throws IOException {
+			int index = readVarInt();
+			return index == 0 ? null : strings[index - 1];
+		}
+
+		private String[] readStringArray() throws IOException {
+			int length = readVarInt();
+			if (length == 0) {
+				return null;
+			}
+
+			String[] values = new String[length - 1];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = readString();
+			}
+			return values;
+		}
+
+		private Integer readInteger() throws IOException {
+			long l = readVarLong();
+			return l == 0 ? null : (int) unzigzag(l - 1);
+		}
+
+		private SimpleDate readDate() throws IOException {
+			long year = readVarLong();
+			if (year == 0) {
+				return null;
+			}
+			return new SimpleDate((int) unzigzag(year - 1), readVarInt(), readVarInt());
+		}
+
+		public int readVarInt() throws IOException {
+			return (int) readVarLong();
+		}
+
+		private long readVarLong() throws IOException {
+			long l = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				byte b = in.get();
+				l |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return l;
+				}
+			}
+			throw new IOException("Malformed varint");
+		}
+
+		private static long unzigzag(long l) {
+			return (l >>> 1) ^ -(l & 1);
+		}
+	}
+
+}
@@ -12,6 +12,7 @@ import static net.filebot.web.WebRequest.*;
 import java.io.FileNotFoundException;
 import java.net.URI;
 import java.net.URL;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -21,7 +22,6 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
@@ -37,7 +37,7 @@ import net.filebot.ResourceManager;
 public class TMDbClient implements MovieIdentificationService, ArtworkProvider {
 
 	// X-RateLimit: 40 requests per 10 seconds => https://developers.themoviedb.org/3/getting-started/request-rate-limiting
-	private static final FloodLimit REQUEST_LIMIT = new FloodLimit(35, 10, TimeUnit.SECONDS);
+	private static final RateLimit REQUEST_LIMIT = RateLimit.forHost("api.themoviedb.org", 35, Duration.ofSeconds(10), 5);
 
 	private final String host = "api.themoviedb.org";
 	private final String version = "3";
@@ -361,7 +361,7 @@ public class TMDbClient implements MovieIdentificationService, ArtworkProvider {
 		String cacheName = language == null ? getName() : getName() + "_" + language;
 
 		Cache cache = Cache.getCache(cacheName, CacheType.Monthly);
-		Object json = cache.json(key, k -> getResource(k, language)).fetch(withPermit(fetchIfNoneMatch(url -> key, cache), r -> REQUEST_LIMIT.acquirePermit())).expire(Cache.ONE_WEEK).get();
+		Object json = cache.json(key, k -> getResource(k, language)).fetch(withPermit(fetchIfNoneMatch(url -> key, cache), r -> REQUEST_LIMIT.acquirePermit())).expire(Cache.ONE_WEEK).revalidate(Cache.ONE_WEEK).get();
 
 		if (asMap(json).isEmpty()) {
 			throw new FileNotFoundException(String.format("Resource is empty: %s => %s", json, getResource(key, language)));
@@ -23,6 +23,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import javax.swing.Icon;
@@ -30,11 +35,22 @@ import javax.swing.Icon;
 import net.filebot.Cache;
 import net.filebot.CacheType;
 import net.filebot.ResourceManager;
+import net.filebot.util.DefaultThreadFactory;
+import net.filebot.util.SystemProperty;
 
 public class TheTVDBClient extends AbstractEpisodeListProvider implements ArtworkProvider {
 
 	private static final Locale DEFAULT_LOCALE = Locale.ENGLISH;
 
+	// limit the number of concurrent requests per client
+	private static final int REQUEST_CONCURRENCY = SystemProperty.of("net.filebot.web.TheTVDBClient.concurrency", Integer::parseInt, 4).get();
+
+	private static final ThreadPoolExecutor requestThreadPool = new ThreadPoolExecutor(REQUEST_CONCURRENCY, REQUEST_CONCURRENCY, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<Runnable>(), new DefaultThreadFactory("TheTVDBClient", Thread.NORM_PRIORITY, true));
+
+	static {
+		requestThreadPool.allowCoreThreadTimeOut(true);
+	}
+
 	private String apikey;
 
 	public TheTVDBClient(String apikey) {
@@ -64,7 +80,7 @@ public class TheTVDBClient extends AbstractEpisodeListProvider implements Artwor
 
 	protected Object requestJson(String path, Locale locale, Duration expirationTime) throws Exception {
 		Cache cache = Cache.getCache(locale == null || locale == Locale.ROOT ? getName() : getName() + "_" + locale.getLanguage(), CacheType.Monthly);
-		return cache.json(path, this::getEndpoint).fetch(fetchIfModified(() -> getRequestHeader(locale))).expire(expirationTime).get();
+		return cache.json(path, this::getEndpoint).fetch(fetchIfModified(() -> getRequestHeader(locale))).expire(expirationTime).revalidate(expirationTime).get();
 	}
 
 	protected URL getEndpoint(String path) throws Exception {
@@ -195,14 +211,7 @@ public class TheTVDBClient extends AbstractEpisodeListProvider implements Artwor
 		List<Episode> episodes = new ArrayList<Episode>();
 		List<Episode> specials = new ArrayList<Episode>();
 
-		for (int i = 1, n = 1; i <= n; i++) {
-			Object json = requestJson("series/" + series.getId() + "/episodes?page=" + i, locale, Cache.ONE_DAY);
-
-			Integer lastPage = getInteger(getMap(json, "links"), "last");
-			if (lastPage != null) {
-				n = lastPage;
-			}
-
+		for (Object json : requestEpisodePages(series, locale)) {
 			streamJsonObjects(json, "data").forEach(it -> {
 				Integer id = getInteger(it, "id");
 				String episodeName = getString(it, "episodeName");
@@ -261,6 +270,39 @@ public class TheTVDBClient extends AbstractEpisodeListProvider implements Artwor
 		return new SeriesData(info, episodes);
 	}
 
+	protected List<Object> requestEpisodePages(SearchResult series, Locale locale) throws Exception {
+		String path = "series/" + series.getId() + "/episodes?page=";
+
+		// the first page tells us how many pages there are
+		Object firstPage = requestJson(path + 1, locale, Cache.ONE_DAY);
+		Integer lastPage = getInteger(getMap(firstPage, "links"), "last");
+
+		// fetch remaining pages concurrently
+		List<Future<Object>> nextPages = new ArrayList<Future<Object>>();
+		for (int i = 2; lastPage != null && i <= lastPage; i++) {
+			String page = path + i;
+			nextPages.add(requestThreadPool.submit(() -> requestJson(page, locale, Cache.ONE_DAY)));
+		}
+
+		List<Object> pages = new ArrayList<Object>(nextPages.size() + 1);
+		pages.add(firstPage);
+
+		try {
+			for (Future<Object> it : nextPages) {
+				pages.add(it.get());
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw e;
+		} finally {
+			nextPages.forEach(it -> it.cancel(true));
+		}
+
+		return pages;
+	}
+
 	public SearchResult lookupByID(int id, Locale locale) throws Exception {
 		if (id <= 0) {
 			throw new IllegalArgumentException("Illegal TheTVDB ID: " + id);
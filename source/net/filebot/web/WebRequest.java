@@ -21,6 +21,7 @@ import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CodingErrorAction;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
@@ -32,6 +33,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Level;
@@ -57,6 +63,7 @@ import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.DefaultHandler;
 
 import net.filebot.util.ByteBufferOutputStream;
+import net.filebot.util.DefaultThreadFactory;
 import net.filebot.util.SystemProperty;
 
 public final class WebRequest {
@@ -64,6 +71,15 @@ public final class WebRequest {
 	private static final String ENCODING_GZIP = "gzip";
 	private static final String CHARSET_UTF8 = "UTF-8";
 
+	// number of concurrent asynchronous requests and number of idle keep-alive connections per host
+	public static final int CONNECTIONS = SystemProperty.of("net.filebot.web.WebRequest.connections", Integer::parseInt, 8).get();
+
+	private static final ThreadPoolExecutor requestThreadPool = new ThreadPoolExecutor(CONNECTIONS, CONNECTIONS, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<Runnable>(), new DefaultThreadFactory("WebRequest", Thread.NORM_PRIORITY, true));
+
+	static {
+		requestThreadPool.allowCoreThreadTimeOut(true);
+	}
+
 	public static Reader getReader(URLConnection connection) throws IOException {
 		try {
 			connection.addRequestProperty("Accept-Encoding", ENCODING_GZIP);
@@ -140,7 +156,7 @@ public final class WebRequest {
 		int contentLength = connection.getContentLength();
 		String encoding = connection.getContentEncoding();
 
-		InputStream inputStream = connection.getInputStream();
+		InputStream inputStream = getInputStream(connection);
 		if (ENCODING_GZIP.equalsIgnoreCase(encoding)) {
 			inputStream = new GZIPInputStream(inputStream);
 		}
@@ -172,6 +188,30 @@ public final class WebRequest {
 		return buffer.getByteBuffer();
 	}
 
+	public static CompletableFuture<ByteBuffer> fetchAsync(URL url, long ifModifiedSince, Object etag, Map<String, String> requestParameters, Consumer<Map<String, List<String>>> responseParameters) {
+		return submit(() -> fetch(url, ifModifiedSince, etag, requestParameters, responseParameters));
+	}
+
+	public static CompletableFuture<ByteBuffer> postAsync(URL url, Map<String, ?> parameters, Map<String, String> requestParameters) {
+		return submit(() -> post(url, parameters, requestParameters));
+	}
+
+	public static CompletableFuture<ByteBuffer> postAsync(URL url, byte[] postData, String contentType, Map<String, String> requestParameters) {
+		return submit(() -> post(url, postData, contentType, requestParameters));
+	}
+
+	private static <T> CompletableFuture<T> submit(Callable<T> request) {
+		CompletableFuture<T> response = new CompletableFuture<T>();
+		requestThreadPool.execute(() -> {
+			try {
+				response.complete(request.call());
+			} catch (Throwable e) {
+				response.completeExceptionally(e);
+			}
+		});
+		return response;
+	}
+
 	public static ByteBuffer post(URL url, Map<String, ?> parameters, Map<String, String> requestParameters) throws IOException {
 		byte[] postData = encodeParameters(parameters, true).getBytes("UTF-8");
 		if (requestParameters != null && ENCODING_GZIP.equals(requestParameters.get("Content-Encoding"))) {
@@ -204,7 +244,7 @@ public final class WebRequest {
 		int contentLength = connection.getContentLength();
 		String encoding = connection.getContentEncoding();
 
-		InputStream inputStream = connection.getInputStream();
+		InputStream inputStream = getInputStream(connection);
 		if (ENCODING_GZIP.equalsIgnoreCase(encoding)) {
 			inputStream = new GZIPInputStream(inputStream);
 		}
@@ -226,6 +266,51 @@ public final class WebRequest {
 		return buffer.getByteBuffer();
 	}
 
+	private static InputStream getInputStream(URLConnection connection) throws IOException {
+		if (!(connection instanceof HttpURLConnection)) {
+			return connection.getInputStream();
+		}
+
+		int code = ((HttpURLConnection) connection).getResponseCode();
+
+		// slow down all requests to the same host if the server tells us that we're sending too many requests
+		RateLimit.forHost(connection.getURL().getHost()).ifPresent(limit -> {
+			if (code == 429 || code == 503) {
+				limit.backoff(getRetryAfter(connection));
+			} else if (code < 400) {
+				limit.reset();
+			}
+		});
+
+		// read error response so that the underlying connection can be reused for the next request to the same host
+		if (code >= 400) {
+			discard(((HttpURLConnection) connection).getErrorStream());
+		}
+
+		return connection.getInputStream();
+	}
+
+	private static void discard(InputStream inputStream) {
+		if (inputStream != null) {
+			try (InputStream in = inputStream) {
+				byte[] buffer = new byte[BUFFER_SIZE];
+				while (in.read(buffer) >= 0) {
+					continue;
+				}
+			} catch (IOException e) {
+				debug.finest(e::toString);
+			}
+		}
+	}
+
+	private static Duration getRetryAfter(URLConnection connection) {
+		String retryAfter = connection.getHeaderField("Retry-After");
+		if (retryAfter != null && retryAfter.trim().matches("\\d+")) {
+			return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+		}
+		return null;
+	}
+
 	public static int head(URL url) throws IOException {
 		HttpURLConnection c = (HttpURLConnection) url.openConnection();
 		c.setRequestMethod("HEAD");
@@ -4,22 +4,26 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import net.filebot.format.CompiledScriptCacheTest;
 import net.filebot.format.ExpressionFormatTest;
 import net.filebot.hash.VerificationFormatTest;
+import net.filebot.media.IndexSnapshotTest;
 import net.filebot.media.MediaDetectionTest;
 import net.filebot.media.ReleaseInfoTest;
 import net.filebot.media.VideoFormatTest;
+import net.filebot.mediainfo.MediaInfoSnapshotTest;
 import net.filebot.mediainfo.MediaInfoTest;
 import net.filebot.similarity.EpisodeMetricsTest;
 import net.filebot.similarity.SimilarityTestSuite;
 import net.filebot.subtitle.SubtitleReaderTestSuite;
 import net.filebot.ui.SupportDialogTest;
 import net.filebot.ui.rename.MatchModelTest;
+import net.filebot.ui.rename.RenameModelTest;
 import net.filebot.util.UtilTestSuite;
 import net.filebot.web.WebTestSuite;
 
 @RunWith(Suite.class)
-@SuiteClasses({ ExpressionFormatTest.class, VerificationFormatTest.class, MatchModelTest.class, SupportDialogTest.class, EpisodeMetricsTest.class, ReleaseInfoTest.class, VideoFormatTest.class, MediaDetectionTest.class, MediaInfoTest.class, SimilarityTestSuite.class, WebTestSuite.class, SubtitleReaderTestSuite.class, UtilTestSuite.class })
+@SuiteClasses({ CacheTest.class, HistoryJournalTest.class, HistoryIndexTest.class, HistorySpoolerTest.class, CachedResourceTest.class, HeapCacheStoreTest.class, ExpressionFormatTest.class, CompiledScriptCacheTest.class, VerificationFormatTest.class, MatchModelTest.class, RenameModelTest.class, SupportDialogTest.class, EpisodeMetricsTest.class, ReleaseInfoTest.class, VideoFormatTest.class, MediaDetectionTest.class, IndexSnapshotTest.class, MediaInfoTest.class, MediaInfoSnapshotTest.class, SimilarityTestSuite.class, WebTestSuite.class, SubtitleReaderTestSuite.class, UtilTestSuite.class })
 public class AllTests {
 
 }
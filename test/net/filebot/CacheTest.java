@@ -0,0 +1,101 @@
+package net.filebot;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class CacheTest {
+
+	Cache cache = new Cache(new HeapCacheStoreTest.MapStore(), CacheType.Ephemeral);
+
+	@Test
+	public void computeOnce() throws Exception {
+		AtomicInteger count = new AtomicInteger(0);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<Object>> results = new ArrayList<Future<Object>>();
+
+		for (int i = 0; i < 8; i++) {
+			results.add(executor.submit(() -> cache.computeIfAbsent("key", it -> {
+				Thread.sleep(200);
+				return "value" + count.incrementAndGet();
+			})));
+		}
+
+		for (Future<Object> it : results) {
+			assertEquals("value1", it.get());
+		}
+		executor.shutdown();
+
+		assertEquals(1, count.get());
+		assertEquals(1, cache.getStats().getLoadCount());
+	}
+
+	@Test
+	public void shareFailure() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<Object>> results = new ArrayList<Future<Object>>();
+
+		for (int i = 0; i < 4; i++) {
+			results.add(executor.submit(() -> cache.computeIfAbsent("fail", it -> {
+				Thread.sleep(200);
+				throw new IllegalStateException("fail");
+			})));
+		}
+
+		for (Future<Object> it : results) {
+			try {
+				it.get();
+				fail();
+			} catch (Exception e) {
+				assertTrue(e.getCause() instanceof IllegalStateException);
+			}
+		}
+		executor.shutdown();
+
+		// failed computation is not cached
+		assertEquals("ok", cache.computeIfAbsent("fail", it -> "ok"));
+	}
+
+	@Test
+	public void computeRecursive() throws Exception {
+		assertEquals("a", cache.computeIfAbsent("recursive", it -> {
+			return cache.computeIfAbsent("recursive", e -> "a");
+		}));
+	}
+
+	@Test
+	public void containsNullValue() throws Exception {
+		assertFalse(cache.containsKey("null"));
+
+		cache.put("null", null);
+
+		assertTrue(cache.containsKey("null"));
+		assertNull(cache.get("null"));
+	}
+
+	@Test
+	public void recomputeUnreadableValue() throws Exception {
+		Cache.TypedCache<String> typed = cache.typed(it -> {
+			if ("corrupt".equals(it)) {
+				throw new IllegalStateException("Failed to decode value");
+			}
+			return (String) it;
+		}, it -> it);
+
+		cache.put("unreadable", "corrupt");
+
+		// value that can't be read is a cache miss
+		assertNull(typed.get("unreadable"));
+		assertEquals("value", typed.computeIfAbsent("unreadable", it -> "value"));
+		assertEquals("value", typed.get("unreadable"));
+	}
+
+}
@@ -0,0 +1,52 @@
+package net.filebot;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.junit.Assert.*;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class CachedResourceTest {
+
+	Cache cache = new Cache(new HeapCacheStoreTest.MapStore(), CacheType.Ephemeral);
+
+	AtomicInteger requests = new AtomicInteger(0);
+	CountDownLatch revalidated = new CountDownLatch(2);
+
+	CachedResource<String, String> resource(Duration maxStaleness) {
+		return cache.text("key", k -> new URL("http://example.com/" + k)).fetch((url, lastModified) -> {
+			revalidated.countDown();
+			return UTF_8.encode(String.valueOf(requests.incrementAndGet()));
+		}).expire(Duration.ZERO).revalidate(maxStaleness);
+	}
+
+	@Test
+	public void staleWhileRevalidate() throws Exception {
+		assertEquals("1", resource(Cache.ONE_DAY).get());
+		Thread.sleep(5);
+
+		// return stale value right away
+		assertEquals("1", resource(Cache.ONE_DAY).get());
+
+		assertTrue(revalidated.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 100 && !"2".equals(cache.get("key")); i++) {
+			Thread.sleep(50);
+		}
+		assertEquals("2", cache.get("key"));
+	}
+
+	@Test
+	public void maxStaleness() throws Exception {
+		assertEquals("1", resource(Duration.ZERO).get());
+		Thread.sleep(5);
+
+		// stale value is too old
+		assertEquals("2", resource(Duration.ZERO).get());
+	}
+
+}
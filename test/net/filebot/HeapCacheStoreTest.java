@@ -0,0 +1,147 @@
+package net.filebot;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import net.sf.ehcache.Element;
+
+public class HeapCacheStoreTest {
+
+	static class MapStore implements CacheStore {
+
+		final Map<Object, Element> map = new ConcurrentHashMap<Object, Element>();
+		final CacheStats stats = new CacheStats();
+
+		@Override
+		public String getName() {
+			return "test";
+		}
+
+		@Override
+		public Element get(Object key) {
+			Element element = map.get(key);
+			if (element == null) {
+				stats.recordMiss();
+			} else {
+				stats.recordHit();
+			}
+			return element;
+		}
+
+		@Override
+		public void put(Element element) {
+			map.put(element.getObjectKey(), element);
+		}
+
+		@Override
+		public void remove(Object key) {
+			map.remove(key);
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void clear() {
+			map.clear();
+		}
+
+		@Override
+		public CacheStats getStats() {
+			return stats;
+		}
+	}
+
+	MapStore disk = new MapStore();
+	HeapCacheStore heap = new HeapCacheStore(disk, 10_000, Duration.ofDays(1));
+
+	static String value(int size) {
+		return new String(new char[size]);
+	}
+
+	@Test
+	public void hitInHeap() throws Exception {
+		heap.put(new Element("a", "A"));
+
+		assertEquals("A", heap.get("a").getObjectValue());
+		assertEquals("A", heap.get("a").getObjectValue());
+
+		assertEquals(0, disk.getStats().getHitCount());
+		assertEquals(2, heap.getStats().getHitCount());
+	}
+
+	@Test
+	public void loadFromStore() throws Exception {
+		disk.put(new Element("a", "A"));
+
+		assertEquals("A", heap.get("a").getObjectValue());
+		assertEquals("A", heap.get("a").getObjectValue());
+
+		assertEquals(1, disk.getStats().getHitCount());
+		assertEquals(1, heap.getStats().getMissCount());
+	}
+
+	@Test
+	public void evictByWeight() throws Exception {
+		for (int i = 0; i < 100; i++) {
+			heap.put(new Element(i, value(500)));
+		}
+
+		assertTrue(heap.getWeight() <= 10_000);
+		assertTrue(heap.size() < 100);
+		assertEquals(100, disk.map.size());
+	}
+
+	@Test
+	public void keepHotElements() throws Exception {
+		heap.put(new Element("hot", value(500)));
+		for (int i = 0; i < 10; i++) {
+			heap.get("hot");
+		}
+
+		// scan over many cold elements
+		for (int i = 0; i < 1000; i++) {
+			heap.put(new Element(i, value(500)));
+		}
+
+		assertTrue(heap.contains("hot"));
+	}
+
+	@Test
+	public void rejectHugeElements() throws Exception {
+		heap.put(new Element("huge", value(100_000)));
+
+		assertFalse(heap.contains("huge"));
+		assertTrue(disk.map.containsKey("huge"));
+	}
+
+	@Test
+	public void removeAndClear() throws Exception {
+		heap.put(new Element("a", "A"));
+		heap.put(new Element("b", "B"));
+
+		heap.remove("a");
+		assertNull(heap.get("a"));
+
+		heap.clear();
+		assertNull(heap.get("b"));
+		assertEquals(0, heap.getWeight());
+	}
+
+	@Test
+	public void expire() throws Exception {
+		HeapCacheStore heap = new HeapCacheStore(disk, 10_000, Duration.ZERO);
+		heap.put(new Element("a", "A"));
+
+		disk.clear();
+		Thread.sleep(5);
+		assertNull(heap.get("a"));
+	}
+
+}
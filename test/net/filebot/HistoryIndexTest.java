@@ -0,0 +1,147 @@
+package net.filebot;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+import static java.util.stream.Collectors.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.filebot.History.Element;
+import net.filebot.History.Sequence;
+
+public class HistoryIndexTest {
+
+	File folder;
+	File index;
+	FileChannel channel;
+	HistoryJournal journal;
+
+	@Before
+	public void setUp() throws Exception {
+		folder = Files.createTempDirectory("history").toFile();
+		index = new File(folder, "history.index");
+		channel = FileChannel.open(new File(folder, "history.journal").toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+		journal = new HistoryJournal(channel);
+
+		journal.append(asList(rename(1, "/media/1", "A.avi", "B.avi"), rename(2, "/media/10", "A.avi", "/archive/A.avi"), rename(3, "/media/1", "B.avi", "C.avi")));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		channel.close();
+		for (File f : folder.listFiles()) {
+			f.delete();
+		}
+		folder.delete();
+	}
+
+	static Sequence rename(long date, String dir, String from, String to) {
+		return new Sequence(new Date(date), singletonList(new Element(from, to, new File(dir))));
+	}
+
+	HistoryIndex open(History session) throws Exception {
+		return HistoryIndex.open(index, journal, session);
+	}
+
+	static List<String> find(HistoryIndex index, String... paths) throws Exception {
+		return index.find(stream(paths).map(File::new).collect(toList())).stream().map(m -> m.getOriginalPath().getPath() + " -> " + m.getCurrentPath().getPath()).collect(toList());
+	}
+
+	static Map<String, String> getRenameMap(HistoryIndex index, Collection<File> paths) throws Exception {
+		Map<String, String> map = new LinkedHashMap<String, String>();
+		index.getRenameMap(paths).forEach((k, v) -> map.put(k.getPath(), v.getPath()));
+		return map;
+	}
+
+	@Test
+	public void build() throws Exception {
+		assertFalse(index.exists());
+
+		HistoryIndex history = open(new History());
+		assertTrue(index.exists());
+
+		assertEquals(asList("/media/1/A.avi -> /media/1/B.avi", "/media/1/B.avi -> /media/1/C.avi"), find(history, "/media/1/B.avi"));
+		assertEquals(asList("/media/10/A.avi -> /archive/A.avi"), find(history, "/archive/A.avi"));
+
+		// same as History.getRenameMap() for the given files
+		assertEquals(singletonMap("/media/1/B.avi", "/media/1/C.avi"), getRenameMap(history, singleton(new File("/media/1/C.avi"))));
+	}
+
+	@Test
+	public void prefixLookup() throws Exception {
+		HistoryIndex history = open(new History());
+
+		// folder prefix must not match sibling folders with the same prefix
+		assertEquals(asList("/media/1/A.avi -> /media/1/B.avi", "/media/1/B.avi -> /media/1/C.avi"), find(history, "/media/1"));
+		assertEquals(asList("/media/10/A.avi -> /archive/A.avi"), find(history, "/media/10/"));
+		assertEquals(3, find(history, "/media").size());
+		assertEquals(emptyList(), find(history, "/med"));
+	}
+
+	@Test
+	public void tailScan() throws Exception {
+		open(new History());
+		byte[] bytes = Files.readAllBytes(index.toPath());
+
+		// records committed after the index was built and session history
+		journal.append(singleton(rename(4, "/media/1", "C.avi", "D.avi")));
+
+		History session = new History();
+		session.add(rename(5, "/media/1", "A.avi", "E.avi"));
+
+		HistoryIndex history = open(session);
+		assertArrayEquals(bytes, Files.readAllBytes(index.toPath()));
+
+		assertEquals(asList("/media/1/A.avi -> /media/1/B.avi", "/media/1/B.avi -> /media/1/C.avi", "/media/1/C.avi -> /media/1/D.avi", "/media/1/A.avi -> /media/1/E.avi"), find(history, "/media/1"));
+
+		// last rename determines the current path
+		assertEquals(singletonMap("/media/1/A.avi", "/media/1/E.avi"), getRenameMap(history, singleton(new File("/media/1/A.avi"))));
+	}
+
+	@Test
+	public void rebuild() throws Exception {
+		open(new History());
+
+		// journal has been compacted, i.e. record positions have changed
+		journal.append(singleton(rename(1, "/media/1", "A.avi", "B.avi")));
+		journal.compact(new File(folder, "history.journal.bak"));
+		journal.append(singleton(rename(4, "/media/10", "X.avi", "Y.avi")));
+
+		HistoryIndex history = open(new History());
+		assertEquals(asList("/media/10/A.avi -> /archive/A.avi", "/media/10/X.avi -> /media/10/Y.avi"), find(history, "/media/10"));
+
+		// corrupt index file
+		Files.write(index.toPath(), new byte[] { 1, 2, 3 });
+		history = open(new History());
+		assertTrue(index.length() > 3);
+		assertEquals(asList("/media/10/A.avi -> /archive/A.avi", "/media/10/X.avi -> /media/10/Y.avi"), find(history, "/media/10"));
+
+		// truncated index file
+		byte[] bytes = Files.readAllBytes(index.toPath());
+		Files.write(index.toPath(), copyOf(bytes, bytes.length - 1));
+		history = open(new History());
+		assertArrayEquals(bytes, Files.readAllBytes(index.toPath()));
+		assertEquals(asList("/media/10/A.avi -> /archive/A.avi", "/media/10/X.avi -> /media/10/Y.avi"), find(history, "/media/10"));
+	}
+
+	@Test
+	public void keyIgnoreCase() throws Exception {
+		assertEquals("d:\\movies\\avatar.mkv", HistoryIndex.getKey("D:\\Movies\\Avatar.mkv", true));
+		assertEquals(HistoryIndex.getKey("D:\\MOVIES\\ÄÖÜ", true), HistoryIndex.getKey("d:\\movies\\äöü", true));
+		assertEquals("D:\\Movies", HistoryIndex.getKey("D:\\Movies", false));
+	}
+
+}
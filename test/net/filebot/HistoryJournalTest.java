@@ -0,0 +1,216 @@
+package net.filebot;
+
+import static java.util.Arrays.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.filebot.History.Element;
+import net.filebot.History.Sequence;
+
+public class HistoryJournalTest {
+
+	File file;
+	File backup;
+	FileChannel channel;
+
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("history", ".journal");
+		backup = new File(file.getPath() + ".bak");
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		channel.close();
+		file.delete();
+		backup.delete();
+	}
+
+	static Sequence sequence(int i) {
+		return new Sequence(new Date(i * 1000L), asList(new Element("Movie " + i + ".avi", "Movie (" + i + ").avi", new File("/media/" + i)), new Element("Movie " + i + ".srt", "Movie (" + i + ").srt", new File("/media/" + i))));
+	}
+
+	static List<Sequence> sequences(int from, int to) {
+		List<Sequence> sequences = new ArrayList<Sequence>();
+		for (int i = from; i < to; i++) {
+			sequences.add(sequence(i));
+		}
+		return sequences;
+	}
+
+	List<Long> positions(HistoryJournal journal) throws Exception {
+		List<Long> positions = new ArrayList<Long>();
+		journal.scan(HistoryJournal.HEADER_SIZE, (position, checksum, sequence) -> positions.add(position));
+		return positions;
+	}
+
+	@Test
+	public void appendAndRead() throws Exception {
+		HistoryJournal journal = new HistoryJournal(channel);
+		assertTrue(journal.isEmpty());
+
+		journal.append(sequences(0, 3));
+		journal.append(sequences(3, 5));
+
+		// read committed records from disk
+		journal = new HistoryJournal(channel);
+		assertFalse(journal.isEmpty());
+		assertEquals(10, journal.getTotalSize());
+		assertEquals(sequences(0, 5), journal.read().sequences());
+		assertEquals(channel.size(), journal.getLength());
+	}
+
+	@Test
+	public void scan() throws Exception {
+		HistoryJournal journal = new HistoryJournal(channel);
+		journal.append(sequences(0, 5));
+
+		List<Long> positions = positions(journal);
+		assertEquals(5, positions.size());
+		assertEquals(HistoryJournal.HEADER_SIZE, positions.get(0).longValue());
+
+		for (int i = 0; i < positions.size(); i++) {
+			assertEquals(sequence(i), journal.read(positions.get(i)));
+		}
+
+		// scan from the middle
+		List<Sequence> tail = new ArrayList<Sequence>();
+		assertTrue(journal.scan(positions.get(3), (position, checksum, sequence) -> tail.add(sequence)).isEmpty());
+		assertEquals(sequences(3, 5), tail);
+	}
+
+	@Test
+	public void ignoreUncommittedRecords() throws Exception {
+		HistoryJournal journal = new HistoryJournal(channel);
+		journal.append(sequences(0, 2));
+		long length = journal.getLength();
+
+		// e.g. crash after records have been written but before the header has been updated
+		channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 42, 1, 2, 3, 4, 5, 6, 7 }), length);
+
+		journal = new HistoryJournal(channel);
+		assertEquals(sequences(0, 2), journal.read().sequences());
+
+		// uncommitted records are overwritten
+		journal.append(sequences(2, 3));
+		assertEquals(sequences(0, 3), new HistoryJournal(channel).read().sequences());
+		assertEquals(channel.size(), journal.getLength());
+	}
+
+	@Test
+	public void skipDamagedRecord() throws Exception {
+		HistoryJournal journal = new HistoryJournal(channel);
+		journal.append(sequences(0, 3));
+		journal.append(sequences(3, 5));
+
+		// flip a single bit in the second record
+		long damaged = positions(journal).get(1);
+		long next = positions(journal).get(2);
+
+		ByteBuffer b = ByteBuffer.allocate(1);
+		channel.read(b, damaged + 20);
+		b.put(0, (byte) (b.get(0) ^ 1)).rewind();
+		channel.write(b, damaged + 20);
+
+		byte[] bytes = Files.readAllBytes(file.toPath());
+
+		journal = new HistoryJournal(channel);
+		List<Sequence> expected = sequences(0, 5);
+		expected.remove(1);
+
+		List<Sequence> actual = new ArrayList<Sequence>();
+		List<long[]> ranges = journal.scan(HistoryJournal.HEADER_SIZE, (position, checksum, sequence) -> actual.add(sequence));
+
+		assertEquals(expected, actual);
+		assertEquals(1, ranges.size());
+		assertArrayEquals(new long[] { damaged, next }, ranges.get(0));
+
+		// reading must not modify the journal
+		assertEquals(expected, journal.read().sequences());
+		assertArrayEquals(bytes, Files.readAllBytes(file.toPath()));
+
+		// damaged records are removed explicitly
+		assertEquals(expected, journal.compact(backup).sequences());
+		assertEquals(expected, new HistoryJournal(channel).read().sequences());
+		assertTrue(journal.scan(HistoryJournal.HEADER_SIZE, (position, checksum, sequence) -> {
+		}).isEmpty());
+		assertFalse(backup.exists());
+	}
+
+	@Test
+	public void skipDamagedRecordLength() throws Exception {
+		HistoryJournal journal = new HistoryJournal(channel);
+		journal.append(sequences(0, 5));
+
+		// record length exceeds the journal
+		long damaged = positions(journal).get(2);
+		channel.write(ByteBuffer.allocate(4).putInt(0, Integer.MAX_VALUE), damaged);
+
+		List<Sequence> expected = sequences(0, 5);
+		expected.remove(2);
+
+		assertEquals(expected, new HistoryJournal(channel).read().sequences());
+	}
+
+	@Test
+	public void compact() throws Exception {
+		HistoryJournal journal = new HistoryJournal(channel);
+		journal.append(sequences(0, 3));
+		journal.append(sequences(0, 3)); // e.g. same history imported twice
+
+		assertEquals(12, journal.getTotalSize());
+
+		History history = journal.compact(backup);
+		assertEquals(sequences(0, 3), history.sequences());
+		assertEquals(6, journal.getTotalSize());
+		assertFalse(journal.isCompactionRequired());
+
+		journal = new HistoryJournal(channel);
+		assertEquals(sequences(0, 3), journal.read().sequences());
+		assertEquals(channel.size(), journal.getLength());
+		assertFalse(backup.exists());
+	}
+
+	@Test
+	public void restore() throws Exception {
+		HistoryJournal journal = new HistoryJournal(channel);
+		journal.append(sequences(0, 3));
+
+		// e.g. crash after the compacted journal has been written to the backup file but before it has been copied
+		try (FileChannel copy = FileChannel.open(backup.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+			new HistoryJournal(copy).append(sequences(0, 2));
+		}
+
+		HistoryJournal.restore(channel, backup);
+		assertEquals(sequences(0, 2), new HistoryJournal(channel).read().sequences());
+		assertEquals(channel.size(), new HistoryJournal(channel).getLength());
+		assertFalse(backup.exists());
+	}
+
+	@Test
+	public void discardIncompleteBackup() throws Exception {
+		HistoryJournal journal = new HistoryJournal(channel);
+		journal.append(sequences(0, 3));
+
+		// e.g. crash before the header of the backup file has been written
+		Files.write(backup.toPath(), new byte[] { 1, 2, 3 });
+
+		HistoryJournal.restore(channel, backup);
+		assertEquals(sequences(0, 3), new HistoryJournal(channel).read().sequences());
+		assertFalse(backup.exists());
+	}
+
+}
@@ -0,0 +1,101 @@
+package net.filebot;
+
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.filebot.History.Sequence;
+
+public class HistorySpoolerTest {
+
+	File folder;
+	File xml;
+	File journal;
+	File index;
+
+	@Before
+	public void setUp() throws Exception {
+		folder = Files.createTempDirectory("history").toFile();
+		xml = new File(folder, "history.xml");
+		journal = new File(folder, "history.journal");
+		index = new File(folder, "history.index");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (File f : folder.listFiles()) {
+			f.delete();
+		}
+		folder.delete();
+	}
+
+	HistorySpooler createSpooler() {
+		return new HistorySpooler(xml, journal, index);
+	}
+
+	@Test
+	public void commit() throws Exception {
+		HistorySpooler spooler = createSpooler();
+		spooler.append(singletonMap(new File(folder, "a.avi"), new File(folder, "b.avi")));
+		spooler.commit();
+
+		assertTrue(spooler.getSessionHistory().sequences().isEmpty());
+		assertEquals(1, spooler.getPersistentHistoryTotalSize());
+
+		spooler = createSpooler();
+		spooler.append(singletonMap(new File(folder, "c.avi"), new File(folder, "d.avi")));
+
+		// committed history and session history
+		List<Sequence> history = spooler.getCompleteHistory().sequences();
+		assertEquals(2, history.size());
+		assertEquals("a.avi", history.get(0).elements().get(0).from());
+		assertEquals("d.avi", new File(history.get(1).elements().get(0).to()).getName());
+
+		assertEquals(new File(folder, "b.avi"), spooler.getRenameMap(singleton(new File(folder, "b.avi"))).get(new File(folder, "a.avi")));
+	}
+
+	@Test
+	public void importLegacyHistory() throws Exception {
+		History legacy = new History(HistoryJournalTest.sequences(0, 3));
+		try (OutputStream out = new FileOutputStream(xml)) {
+			History.writeHistory(legacy, out);
+		}
+
+		HistorySpooler spooler = createSpooler();
+		assertEquals(legacy.sequences(), spooler.getCompleteHistory().sequences());
+
+		// history.xml is kept for previous versions
+		assertTrue(xml.exists());
+
+		spooler.append(singletonMap(new File(folder, "a.avi"), new File(folder, "b.avi")));
+		spooler.commit();
+		assertEquals(4, createSpooler().getCompleteHistory().sequences().size());
+	}
+
+	@Test
+	public void exportHistory() throws Exception {
+		// enough history to require compaction
+		History history = new History(HistoryJournalTest.sequences(0, 20000));
+
+		HistorySpooler spooler = createSpooler();
+		spooler.append(history);
+		spooler.commit();
+
+		// history.xml is rewritten when the journal is compacted
+		try (InputStream in = new FileInputStream(xml)) {
+			assertEquals(history.sequences(), History.importHistory(in).sequences());
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+package net.filebot.format;
+
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.MultipleCompilationErrorsException;
+import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import groovy.lang.GroovyClassLoader;
+
+public class CompiledScriptCacheTest {
+
+	static File folder;
+
+	@BeforeClass
+	public static void createFolder() throws Exception {
+		folder = Files.createTempDirectory("groovy").toFile();
+		folder.deleteOnExit();
+	}
+
+	CompiledScriptCache createCache(String configuration) {
+		CompilerConfiguration config = new CompilerConfiguration();
+		return new CompiledScriptCache(new GroovyScriptEngineImpl(new GroovyClassLoader(getClass().getClassLoader(), config)), config, configuration, folder);
+	}
+
+	@Test
+	public void compile() throws Exception {
+		CompiledScriptCache cache = createCache("compile");
+		String script = "[1, 2, 3].collect{ it * x }.sum()";
+
+		assertEquals(12, cache.compile(script).eval(new SimpleBindings(singletonMap("x", 2))));
+		assertSame(cache.getScriptClass(script), cache.getScriptClass(script));
+
+		assertEquals(1, cache.getStats().getMissCount());
+		assertEquals(2, cache.getStats().getHitCount());
+	}
+
+	@Test
+	public void load() throws Exception {
+		String script = "class Value { def value }; [1, 2, 3].collect{ new Value(value: it * x) }*.value.sum()";
+
+		createCache("load").compile(script);
+
+		// load bytecode from disk
+		CompiledScriptCache cache = createCache("load");
+		assertEquals(18, cache.compile(script).eval(new SimpleBindings(singletonMap("x", 3))));
+		assertEquals(0, cache.getStats().getMissCount());
+		assertEquals(1, cache.getStats().getHitCount());
+
+		// different compiler configuration
+		cache = createCache("reload");
+		cache.compile(script);
+		assertEquals(1, cache.getStats().getMissCount());
+	}
+
+	@Test
+	public void grab() throws Exception {
+		// e.g. @Grab('org.example:library:1.0') dependencies are only added to the class loader when the script is compiled
+		String script = "// @Grab\n'grab'";
+
+		createCache("grab").compile(script);
+
+		CompiledScriptCache cache = createCache("grab");
+		assertEquals("grab", cache.compile(script).eval());
+		assertEquals(1, cache.getStats().getMissCount());
+		assertEquals(0, cache.getStats().getHitCount());
+	}
+
+	@Test
+	public void classDeclaration() throws Exception {
+		CompiledScriptCache cache = createCache("classDeclaration");
+		assertEquals("Value", cache.getScriptClass("class Value { def value }").getName());
+	}
+
+	@Test
+	public void include() throws Exception {
+		// e.g. include('lib.groovy') declares classes that are used by the calling script
+		String library = "class Library { def answer() { 42 } }; 'include'";
+		String script = "new Library().answer()";
+
+		CompiledScriptCache cache = createCache("include");
+		assertEquals("include", cache.compile(library).eval());
+		assertEquals(42, cache.compile(script).eval());
+
+		// load bytecode from disk
+		cache = createCache("include");
+		assertEquals("include", cache.compile(library).eval());
+		assertEquals(42, cache.compile(script).eval());
+		assertEquals(2, cache.getStats().getHitCount());
+
+		// latest class declaration takes precedence
+		cache.compile("class Library { def answer() { 0 } }; 'redeclare'").eval();
+		assertEquals(0, cache.compile("new Library().answer() + 0").eval());
+	}
+
+	@Test(expected = MultipleCompilationErrorsException.class)
+	public void syntaxError() throws Throwable {
+		try {
+			createCache("syntaxError").compile("1 +");
+		} catch (ScriptException e) {
+			throw e.getCause();
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+package net.filebot.hash;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import net.filebot.hash.HashComputation.ReadMode;
+
+public class HashComputationTest {
+
+	@Test
+	public void computeAllInSinglePass() throws Exception {
+		byte[] data = new byte[2 * HashComputation.CHUNK_SIZE + 12345];
+		new Random(42).nextBytes(data);
+
+		File file = File.createTempFile("hash", ".bin");
+		file.deleteOnExit();
+		Files.write(file.toPath(), data);
+
+		Map<HashType, String> hashes = HashComputation.compute(file, EnumSet.allOf(HashType.class), position -> {
+			assertTrue(position <= data.length);
+		});
+
+		for (HashType type : HashType.values()) {
+			assertEquals(type.name(), hash(file, type), hashes.get(type));
+		}
+	}
+
+	@Test
+	public void computeMemoryMapped() throws Exception {
+		byte[] data = new byte[HashComputation.CHUNK_SIZE + 54321];
+		new Random(7).nextBytes(data);
+
+		File file = File.createTempFile("hash", ".bin");
+		file.deleteOnExit();
+		Files.write(file.toPath(), data);
+
+		EnumSet<HashType> types = EnumSet.of(HashType.SFV, HashType.MD5, HashType.SHA256);
+		assertEquals(HashComputation.compute(file, types, ReadMode.Channel, position -> {
+		}), HashComputation.compute(file, types, ReadMode.MemoryMapped, position -> {
+		}));
+	}
+
+	@Test
+	public void computeConcurrently() throws Exception {
+		byte[] data = new byte[HashComputation.CHUNK_SIZE + 4321];
+		new Random(3).nextBytes(data);
+
+		File file = File.createTempFile("hash", ".bin");
+		file.deleteOnExit();
+		Files.write(file.toPath(), data);
+
+		// more concurrent computations than pooled buffers
+		ExecutorService executor = Executors.newFixedThreadPool(HashComputation.BUFFER_POOL_SIZE + 3);
+		try {
+			List<Future<String>> results = new ArrayList<Future<String>>();
+			for (int i = 0; i < 20; i++) {
+				results.add(executor.submit(() -> VerificationUtilities.crc32(file)));
+			}
+			for (Future<String> it : results) {
+				assertEquals(hash(file, HashType.SFV), it.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertTrue(HashComputation.getAllocatedBuffers() <= HashComputation.BUFFER_POOL_SIZE);
+	}
+
+	@Test
+	public void computeEmptyFile() throws Exception {
+		File file = File.createTempFile("hash", ".bin");
+		file.deleteOnExit();
+
+		assertEquals("00000000", VerificationUtilities.crc32(file));
+		assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", VerificationUtilities.sha256(file));
+	}
+
+	private static String hash(File file, HashType type) throws Exception {
+		Hash hash = type.newHash();
+		byte[] buffer = new byte[64 * 1024];
+
+		try (InputStream in = new FileInputStream(file)) {
+			for (int len = 0; (len = in.read(buffer)) >= 0;) {
+				hash.update(buffer, 0, len);
+			}
+		}
+
+		return hash.digest();
+	}
+
+}
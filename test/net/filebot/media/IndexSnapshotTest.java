@@ -0,0 +1,201 @@
+package net.filebot.media;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.util.Arrays.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.filebot.Resource;
+import net.filebot.similarity.CommonSequenceMatcher;
+import net.filebot.web.Movie;
+import net.filebot.web.SearchResult;
+
+public class IndexSnapshotTest {
+
+	static final byte[] MOVIE_DATA = "Avatar 2009\nAmélie 2001".getBytes(UTF_8);
+	static final byte[] SERIES_DATA = "Firefly\nDoctor Who".getBytes(UTF_8);
+
+	File file;
+	AtomicInteger parseCount = new AtomicInteger(0);
+
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("index", ".snapshot");
+		file.delete();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		file.delete();
+	}
+
+	Resource<Movie[]> parseMovies() {
+		return () -> {
+			parseCount.incrementAndGet();
+			return new Movie[] { new Movie("Avatar", new String[] { "Avatar 3D" }, 2009, 499549, 19995, null), new Movie("Amélie", new String[] { "Le Fabuleux Destin d'Amélie Poulain" }, 2001, 211915, 194, null) };
+		};
+	}
+
+	Resource<SearchResult[]> parseSeries() {
+		return () -> {
+			parseCount.incrementAndGet();
+			return new SearchResult[] { new SearchResult(78874, "Firefly", new String[0]), new SearchResult(78804, "Doctor Who", new String[] { "Doctor Who (2005)", "Dr. Who" }) };
+		};
+	}
+
+	IndexSnapshot<Movie> openMovies(byte[] source) throws Exception {
+		return IndexSnapshot.open(file, source, parseMovies(), HighPerformanceMatcher::prepare, IndexSnapshot.MOVIE);
+	}
+
+	@Test
+	public void movieRoundTrip() throws Exception {
+		IndexSnapshot<Movie> parsed = openMovies(MOVIE_DATA);
+		List<IndexEntry<Movie>> expected = parsed.getEntries(); // write snapshot
+		assertTrue(file.exists());
+
+		IndexSnapshot<Movie> snapshot = openMovies(MOVIE_DATA);
+		assertEquals(1, parseCount.get());
+
+		Movie[] movies = snapshot.getObjects();
+		assertEquals(2, movies.length);
+		for (int i = 0; i < movies.length; i++) {
+			Movie m = parsed.getObjects()[i];
+			assertEquals(m.getName(), movies[i].getName());
+			assertArrayEquals(m.getAliasNames(), movies[i].getAliasNames());
+			assertEquals(m.getYear(), movies[i].getYear());
+			assertEquals(m.getImdbId(), movies[i].getImdbId());
+			assertEquals(m.getTmdbId(), movies[i].getTmdbId());
+		}
+
+		assertEntriesEqual(expected, snapshot.getEntries());
+	}
+
+	@Test
+	public void seriesRoundTrip() throws Exception {
+		IndexSnapshot<SearchResult> parsed = IndexSnapshot.open(file, SERIES_DATA, parseSeries(), HighPerformanceMatcher::prepare, IndexSnapshot.SERIES);
+		List<IndexEntry<SearchResult>> expected = parsed.getEntries();
+
+		IndexSnapshot<SearchResult> snapshot = IndexSnapshot.open(file, SERIES_DATA, parseSeries(), HighPerformanceMatcher::prepare, IndexSnapshot.SERIES);
+		assertEquals(1, parseCount.get());
+
+		SearchResult[] series = snapshot.getObjects();
+		assertEquals(2, series.length);
+		for (int i = 0; i < series.length; i++) {
+			SearchResult r = parsed.getObjects()[i];
+			assertEquals(r.getId(), series[i].getId());
+			assertEquals(r.getName(), series[i].getName());
+			assertArrayEquals(r.getAliasNames(), series[i].getAliasNames());
+		}
+
+		assertEntriesEqual(expected, snapshot.getEntries());
+	}
+
+	@Test
+	public void invalidateOnChecksum() throws Exception {
+		openMovies(MOVIE_DATA).getEntries();
+
+		// same length but different content
+		byte[] modified = MOVIE_DATA.clone();
+		modified[0] = 'a';
+
+		openMovies(modified).getEntries();
+		assertEquals(2, parseCount.get());
+
+		// snapshot has been replaced
+		openMovies(modified).getEntries();
+		assertEquals(2, parseCount.get());
+	}
+
+	@Test
+	public void invalidateOnJavaVersion() throws Exception {
+		openMovies(MOVIE_DATA).getEntries();
+
+		// header: magic, version, checksum, java.version length, java.version bytes
+		try (RandomAccessFile f = new RandomAccessFile(file, "rw")) {
+			f.seek(4 + 4 + 8 + 4);
+			f.write('X');
+		}
+
+		openMovies(MOVIE_DATA).getEntries();
+		assertEquals(2, parseCount.get());
+	}
+
+	@Test
+	public void fallbackOnCorruptSnapshot() throws Exception {
+		List<IndexEntry<Movie>> expected = openMovies(MOVIE_DATA).getEntries();
+
+		// valid header but truncated data
+		byte[] bytes = Files.readAllBytes(file.toPath());
+		Files.write(file.toPath(), copyOf(bytes, bytes.length / 2));
+
+		IndexSnapshot<Movie> snapshot = openMovies(MOVIE_DATA);
+		assertEquals(2, parseCount.get());
+		assertEntriesEqual(expected, snapshot.getEntries());
+
+		// snapshot has been replaced
+		openMovies(MOVIE_DATA).getEntries();
+		assertEquals(2, parseCount.get());
+
+		// bit flip
+
+		bytes = Files.readAllBytes(file.toPath());
+		bytes[bytes.length / 2] ^= 1;
+		Files.write(file.toPath(), bytes);
+
+		snapshot = openMovies(MOVIE_DATA);
+		assertEquals(3, parseCount.get());
+		assertEntriesEqual(expected, snapshot.getEntries());
+
+		// garbage
+		Files.write(file.toPath(), "garbage".getBytes(UTF_8));
+		snapshot = openMovies(MOVIE_DATA);
+		assertEquals(4, parseCount.get());
+		assertEntriesEqual(expected, snapshot.getEntries());
+	}
+
+	@Test
+	public void compareWithCollationKey() throws Exception {
+		Collator collator = CommonSequenceMatcher.getLenientCollator(Locale.ENGLISH);
+		CollationKey[] key = HighPerformanceMatcher.prepare("amelie Zulu");
+
+		assertEquals(0, key[0].compareTo(collator.getCollationKey("Amélie")));
+		assertTrue(key[1].compareTo(collator.getCollationKey("Alpha")) > 0);
+	}
+
+	static <T> void assertEntriesEqual(List<IndexEntry<T>> expected, List<IndexEntry<T>> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getLenientName(), actual.get(i).getLenientName());
+			assertEquals(expected.get(i).getStrictName(), actual.get(i).getStrictName());
+			assertKeyEquals(expected.get(i).getLenientKey(), actual.get(i).getLenientKey());
+			assertKeyEquals(expected.get(i).getStrictKey(), actual.get(i).getStrictKey());
+		}
+	}
+
+	static void assertKeyEquals(CollationKey[] expected, CollationKey[] actual) {
+		if (expected == null) {
+			assertNull(actual);
+			return;
+		}
+
+		assertEquals(expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i].getSourceString(), actual[i].getSourceString());
+			assertArrayEquals(expected[i].toByteArray(), actual[i].toByteArray());
+			assertEquals(0, expected[i].compareTo(actual[i]));
+		}
+	}
+
+}
@@ -1,12 +1,22 @@
 
 package net.filebot.media;
 
+import static java.nio.charset.StandardCharsets.*;
+import static java.util.Arrays.*;
 import static java.util.Collections.*;
+import static net.filebot.util.StringUtilities.*;
 import static org.junit.Assert.*;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.junit.Test;
+import org.tukaani.xz.XZInputStream;
 
 public class ReleaseInfoTest {
 
@@ -50,6 +60,108 @@ public class ReleaseInfoTest {
 		assertEquals("John [2016]  ", clean(info.getClutterBracketPattern(false), "John [2016] [Action, Drama] (ENG)"));
 	}
 
+	@Test
+	public void getReleaseGroupFilter() throws Exception {
+		ReleaseInfo info = new ReleaseInfo() {
+
+			@Override
+			protected byte[] bytes(String name, Duration expirationTime) {
+				switch (name) {
+				case "url.release-groups":
+					return "aXXo\nRARBG\nHorribleSubs\nLOL\nlol\nTigole-\n-ZR-".getBytes(UTF_8);
+				case "url.query-blacklist":
+					return "^Movies$\nweb[- ]?dl\nwebrip\nDVD".getBytes(UTF_8);
+				default:
+					throw new IllegalArgumentException(name);
+				}
+			}
+		};
+
+		String[] names = { "Jurassic.Park[1993]DvDrip-aXXo[RARBG]", "[HorribleSubs]_Infinite_Stratos_2_-_01_[HorribleSubs]", "HorribleSubs_Infinite_Stratos_2_-_01_horriblesubs", "The.aXXo.Movie.2005", "LOL-[Tigole-.web-dl(Lol_-ZR-(", "Movies", "Movie.WEBRip.DVD-lol" };
+
+		for (String s : names) {
+			assertEquals(s, clean(info.getReleaseGroupPattern(true), s), info.getReleaseGroupFilter(true).apply(s));
+			assertEquals(s, clean(info.getReleaseGroupPattern(false), s), info.getReleaseGroupFilter(false).apply(s));
+			assertEquals(s, clean(info.getReleaseGroupTrimPattern(), s), info.getReleaseGroupTrimFilter().apply(s));
+			assertEquals(s, clean(info.getBlacklistPattern(), s), info.getBlacklistFilter().apply(s));
+		}
+
+		assertEquals("aXXo[RARBG]", info.getReleaseGroup("Jurassic.Park[1993]DvDrip-aXXo[RARBG]"));
+		assertEquals("RARBG", info.getReleaseGroup("Jurassic.Park[1993]DvDrip-axxo[RARBG]"));
+		assertEquals("lol", info.getReleaseGroup("Movie.WEBRip.DVD-LOL")); // prefer the last standard spelling
+		assertEquals(null, info.getReleaseGroup("The.aXXo.Movie.2005"));
+	}
+
+	@Test
+	public void getReleaseGroupFilterDataFile() throws Exception {
+		// release group data with regular expression characters, e.g. 9.GiRL or de\[42\]
+		ReleaseInfo info = new ReleaseInfo() {
+
+			@Override
+			protected byte[] bytes(String name, Duration expirationTime) throws Exception {
+				return readDataFile(getProperty(name).substring(getProperty(name).lastIndexOf('/') + 1));
+			}
+		};
+
+		String[] groups = new String(readDataFile("release-groups.txt.xz"), UTF_8).split("\\R");
+		assertTrue(asList(groups).contains("9.GiRL"));
+
+		// all release group patterns are matched as keywords
+		assertTrue(stream(groups).allMatch(g -> KeywordPattern.toKeyword(g) != null));
+
+		List<String> names = new ArrayList<String>();
+		for (int i = 0; i < groups.length; i++) {
+			// all groups with wildcards or escape characters and a sample of the other groups
+			String g = groups[i];
+			if (!g.matches(".*[.\\\\].*") && i % 50 != 0) {
+				continue;
+			}
+
+			names.add("Movie.Name.2009.720p.BluRay.x264-" + g);
+			names.add("Movie.Name.2009.720p.BluRay.x264-" + g.replace("\\", ""));
+			names.add("[" + g.toUpperCase() + "] Show Name - 01 [720p]");
+			names.add("Show.Name.S01E01-" + g.replace('.', '_') + "[rarbg]");
+			names.add("The." + g.toLowerCase() + ".Movie.2005");
+		}
+
+		Pattern strict = info.getReleaseGroupPattern(true);
+		Pattern nonStrict = info.getReleaseGroupPattern(false);
+		Pattern trim = info.getReleaseGroupTrimPattern();
+		Pattern[] paragon = stream(groups).map(g -> Pattern.compile("(?<!\\p{Alnum})" + Pattern.quote(g) + "(?!\\p{Alnum})", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CHARACTER_CLASS)).toArray(Pattern[]::new);
+
+		for (String s : names) {
+			assertEquals(s, clean(strict, s), info.getReleaseGroupFilter(true).apply(s));
+			assertEquals(s, clean(nonStrict, s), info.getReleaseGroupFilter(false).apply(s));
+			assertEquals(s, clean(trim, s), info.getReleaseGroupTrimFilter().apply(s));
+
+			// same as ReleaseInfo.getReleaseGroup() with regular expression matching
+			String group = matchLastOccurrence(s, strict);
+			if (group == null) {
+				group = matchLastOccurrence(s, nonStrict);
+			}
+			if (group != null) {
+				// same as ReleaseInfo.matchLast() but with precompiled patterns
+				for (int i = 0; i < groups.length; i++) {
+					group = paragon[i].matcher(group).replaceAll(groups[i]);
+				}
+				if (group.lastIndexOf(']') < group.lastIndexOf('[')) {
+					group += ']';
+				}
+			}
+			assertEquals(s, group, info.getReleaseGroup(s));
+		}
+
+		assertEquals("9.GiRL", info.getReleaseGroup("Movie.2009.720p-9.girl"));
+		assertEquals("9_girl", info.getReleaseGroup("Movie.2009.720p-9_girl"));
+		assertEquals("de[42]", info.getReleaseGroup("Movie.2009.720p-de[42]"));
+	}
+
+	private static byte[] readDataFile(String name) throws Exception {
+		try (InputStream in = new XZInputStream(new FileInputStream(new File("downloads/data", name)))) {
+			return in.readAllBytes();
+		}
+	}
+
 	private static String clean(Pattern p, String s) {
 		return p.matcher(s).replaceAll("");
 	}
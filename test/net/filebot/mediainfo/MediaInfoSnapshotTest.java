@@ -0,0 +1,63 @@
+package net.filebot.mediainfo;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import net.filebot.mediainfo.MediaInfo.StreamKind;
+
+public class MediaInfoSnapshotTest {
+
+	Map<StreamKind, List<Map<String, String>>> getSample() {
+		Map<String, String> general = new LinkedHashMap<String, String>();
+		general.put("Format", "Matroska");
+		general.put("Title", "Tab\tNewline\nBackslash\\n");
+
+		Map<StreamKind, List<Map<String, String>>> snapshot = new EnumMap<StreamKind, List<Map<String, String>>>(StreamKind.class);
+		snapshot.put(StreamKind.General, singletonList(general));
+		snapshot.put(StreamKind.Audio, asList(singletonMap("Language", "Japanese"), singletonMap("Language", "English")));
+		return snapshot;
+	}
+
+	@Test
+	public void encode() {
+		Map<StreamKind, List<Map<String, String>>> snapshot = getSample();
+		assertEquals(snapshot, MediaInfoSnapshot.decode(MediaInfoSnapshot.encode(snapshot)));
+	}
+
+	@Test
+	public void get() {
+		MediaInfoSnapshot mi = new MediaInfoSnapshot(getSample());
+
+		assertEquals("Matroska", mi.get(StreamKind.General, 0, "Format"));
+		assertEquals("English", mi.get(StreamKind.Audio, 1, "Language"));
+		assertEquals(2, mi.streamCount(StreamKind.Audio));
+
+		// same as MediaInfo
+		assertEquals("", mi.get(StreamKind.General, 0, "Duration"));
+		assertEquals("", mi.get(StreamKind.Audio, 2, "Language"));
+		assertEquals("", mi.get(StreamKind.Video, 0, "Format"));
+		assertEquals(0, mi.streamCount(StreamKind.Video));
+	}
+
+	@Test
+	public void getFileIdentity() throws Exception {
+		File file = File.createTempFile("mediainfo", ".mkv");
+		file.deleteOnExit();
+
+		String identity = MediaInfoSnapshot.getFileIdentity(file);
+		assertEquals(identity, MediaInfoSnapshot.getFileIdentity(file));
+
+		file.setLastModified(file.lastModified() - 60000);
+		assertNotEquals(identity, MediaInfoSnapshot.getFileIdentity(file));
+	}
+
+}
@@ -1,9 +1,13 @@
 package net.filebot.mediainfo;
 
+import static java.util.Arrays.*;
 import static org.junit.Assert.*;
 
 import java.io.File;
 import java.net.URL;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.Ignore;
@@ -56,4 +60,26 @@ public class MediaInfoTest {
 		testSampleFile("Österreichisch");
 	}
 
+	@Test
+	public void batch() throws Exception {
+		Map<StreamKind, List<String>> parameters = new EnumMap<StreamKind, List<String>>(StreamKind.class);
+		parameters.put(StreamKind.General, asList("Format", "Duration"));
+		parameters.put(StreamKind.Video, asList("Format", "Width", "Height"));
+
+		MediaInfoSnapshot mi = MediaInfoPool.getInstance().get(getSampleFile("English"), parameters);
+
+		assertEquals("MPEG-4", mi.get(StreamKind.General, 0, "Format"));
+		assertEquals("AVC", mi.get(StreamKind.Video, 0, "Format"));
+		assertEquals("1280", mi.get(StreamKind.Video, 0, "Width"));
+		assertEquals("720", mi.get(StreamKind.Video, 0, "Height"));
+		assertEquals(0, mi.streamCount(StreamKind.Audio));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void lease() throws Exception {
+		MediaInfoPool.Lease lease = MediaInfoPool.getInstance().acquire();
+		lease.close();
+		lease.get();
+	}
+
 }
@@ -21,4 +21,14 @@ public class NameSimilarityMetricTest {
 		assertEquals(1, metric.getSimilarity("test s01e04 four", "test   s01e04     four"), 0);
 	}
 
+
+	@Test
+	public void transliterate() {
+		// plain ASCII and non-ASCII names must be normalized the same way
+		assertEquals("amelie", metric.normalize("Amélie"));
+		assertEquals("ab", metric.normalize("a^b`"));
+		assertEquals("the office us", metric.normalize("The.Office.(US)"));
+		assertEquals(1, metric.getSimilarity("Pokémon", "pokemon"), 0);
+	}
+
 }
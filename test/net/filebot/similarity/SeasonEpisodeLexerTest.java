@@ -0,0 +1,209 @@
+package net.filebot.similarity;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+import static java.util.stream.Collectors.*;
+import static net.filebot.Logging.*;
+import static net.filebot.util.FileUtilities.*;
+import static net.filebot.util.RegularExpressions.*;
+import static net.filebot.util.StringUtilities.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import net.filebot.similarity.SeasonEpisodeMatcher.SeasonEpisodeFilter;
+import net.filebot.similarity.SeasonEpisodeMatcher.SeasonEpisodeParser;
+import net.filebot.similarity.SeasonEpisodeMatcher.SeasonEpisodePattern;
+import net.filebot.similarity.SeasonEpisodeMatcher.SeasonEpisodeUnion;
+import net.filebot.similarity.SeasonEpisodeMatcher.SxE;
+
+public class SeasonEpisodeLexerTest {
+
+	static final String[] TOKENS = { "S", "s", "E", "e", "x", "X", "P", "p", "EP", "ep", "Ep", "Episode", "episode", "Season", "SERIES", "Part", "part", "of", "OF", "Of", ".", ".", "_", "_", " ", " ", "-", "-", "[", "]", "(", ")", "+", "#", "0", "1", "2", "3", "5", "9", "01", "02", "12", "13", "20", "29", "99", "101", "205", "720", "999", "1001", "2013", "2321", "3021", "10102", "201603", "1234567", "The", "Simpsons", "hdtv", "x264", "1080p", "S01", "s2010", "E02", "e03", "-E04", "x05", "1x", "Ep.", "Ä", "é", "😀", "\n", "\r", "\u2028" };
+
+	static final String[] NAMES = { "The.Simpsons.S27E01.Every.Man's.Dream.720p.WEB-DL.DD5.1.H.264-NTb", "the.simpsons.2321.hdtv-lol", "Breaking Bad - 5x14 - Ozymandias", "[HorribleSubs] One Piece - 785 [720p]", "Doctor.Who.2005.s09e01-e02.1080p", "Game of Thrones Season 6 Episode 10 - The Winds of Winter", "World.Series.Of.Poker.2013.Main.Event.Part18.480p.HDTV.x264-mSD", "Documentaries.1of6", "Planet.Earth.II.2016.Part.3.2160p", "Avatar (2009) 1080p BluRay", "Family Photos 2016", "Music/Artist/Album" };
+
+	static final SeasonEpisodeFilter[] SANITY = { null, SeasonEpisodeMatcher.LENIENT_SANITY, SeasonEpisodeMatcher.DEFAULT_SANITY, SeasonEpisodeMatcher.STRICT_SANITY };
+
+	static String randomName(Random random) {
+		StringBuilder name = new StringBuilder();
+		for (int i = random.nextInt(10); i >= 0; i--) {
+			name.append(TOKENS[random.nextInt(TOKENS.length)]);
+		}
+		return name.toString();
+	}
+
+	@Test
+	public void sameAsRegex() {
+		Random random = new Random(42);
+
+		for (SeasonEpisodeFilter sanity : SANITY) {
+			for (boolean strict : new boolean[] { true, false }) {
+				SeasonEpisodeMatcher lexer = new SeasonEpisodeMatcher(sanity, strict);
+				RegexSeasonEpisodeMatcher regex = new RegexSeasonEpisodeMatcher(sanity, strict);
+
+				for (int i = 0; i < 10000; i++) {
+					String name = i < NAMES.length ? NAMES[i] : randomName(random);
+					assertEquals(name, regex.match(name), lexer.match(name));
+
+					for (int j = 0; j <= name.length(); j++) {
+						assertEquals(name + " @ " + j, regex.find(name, j), lexer.find(name, j));
+					}
+
+					File file = new File(randomName(random), name.replace('\n', ' '));
+					assertEquals(file.getPath(), regex.match(file), lexer.match(file));
+				}
+			}
+		}
+	}
+
+	@Ignore("Benchmark")
+	@Test
+	public void benchmark() {
+		Random random = new Random(42);
+		List<String> names = IntStream.range(0, 500000).mapToObj(i -> i % 2 == 0 ? NAMES[random.nextInt(NAMES.length)] : randomName(random)).collect(toList());
+
+		SeasonEpisodeMatcher lexer = new SeasonEpisodeMatcher(SeasonEpisodeMatcher.DEFAULT_SANITY, false);
+		RegexSeasonEpisodeMatcher regex = new RegexSeasonEpisodeMatcher(SeasonEpisodeMatcher.DEFAULT_SANITY, false);
+
+		for (int i = 0; i < 3; i++) {
+			long t0 = System.nanoTime();
+			int n = 0;
+			for (String name : names) {
+				n += regex.match(name) == null ? 0 : 1;
+			}
+
+			long t1 = System.nanoTime();
+			int m = 0;
+			for (String name : names) {
+				m += lexer.match(name) == null ? 0 : 1;
+			}
+
+			long t2 = System.nanoTime();
+			debug.info(format("%,d names | Regex: %,d matches, %,d ms | Lexer: %,d matches, %,d ms", names.size(), n, (t1 - t0) / 1_000_000, m, (t2 - t1) / 1_000_000));
+		}
+	}
+
+	/**
+	 * Reference implementation that runs the season / episode regex patterns one after another.
+	 */
+	static class RegexSeasonEpisodeMatcher {
+
+		private static final Pattern SEASON = Pattern.compile("Season[-._ ]?(\\d{1,2})", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CHARACTER_CLASS);
+
+		private SeasonEpisodeParser[] patterns;
+
+		public RegexSeasonEpisodeMatcher(SeasonEpisodeFilter sanity, boolean strict) {
+			SeasonEpisodePattern Season_00_Episode_00 = new SeasonEpisodePattern(null, "(?<!\\p{Alnum})(?i:season|series)[^\\p{Alnum}]{0,3}(\\d{1,4})[^\\p{Alnum}]{0,3}(?i:episode)[^\\p{Alnum}]{0,3}((\\d{1,3}(\\D|$))+)[^\\p{Alnum}]{0,3}(?!\\p{Digit})", m -> range(m.group(1), m.group(2)));
+			SeasonEpisodePattern S00E00SEQ = new SeasonEpisodePattern(null, "(?<!\\p{Alnum}|[-])[Ss](\\d{1,2}|\\d{4})[Ee](\\d{2,3})[-][Ee](\\d{2,3})(?!\\p{Alnum}|[-])", m -> range(m.group(1), m.group(2), m.group(3)));
+			SeasonEpisodePattern S00E00 = new SeasonEpisodePattern(null, "(?<!\\p{Digit})[Ss](\\d{1,2}|\\d{4})[^\\p{Alnum}]{0,3}(?i:ep|e|p)(((?<=[^._ ])[Ee]?[Pp]?\\d{1,3}(\\D|$))+)", m -> multi(m.group(1), m.group(2)));
+			SeasonEpisodePattern SxE1_SxE2 = new SeasonEpisodePattern(sanity, "(?<!\\p{Alnum})(\\d{1,2}x\\d{2}([-._ ]\\d{1,2}x\\d{2})+)(?!\\p{Digit})", m -> pairs(m.group()));
+			SeasonEpisodePattern SxE = new SeasonEpisodePattern(sanity, "(?<!\\p{Alnum})(\\d{1,2})[xe](((?<=[^._ ])\\d{2,3}(\\D|$))+)", m -> multi(m.group(1), m.group(2)));
+			SeasonEpisodePattern Dot101 = new SeasonEpisodePattern(sanity, "(?<!\\p{Alnum}|\\d{4}[.])(\\d{1,2})[.](((?<=[^._ ])\\d{2}(\\D|$))+)", m -> multi(m.group(1), m.group(2)));
+			SeasonEpisodePattern E01E02SEQ = new SeasonEpisodePattern(sanity, "(?<!\\p{Alnum}|[-])(\\d{2,3})[-](\\d{2,3})(?!\\p{Alnum}|[-])", m -> range(null, m.group(1), m.group(2)));
+			SeasonEpisodePattern EP0 = new SeasonEpisodePattern(sanity, "(?<!\\p{Alnum})(\\d{2}|\\d{4})?[\\P{Alnum}]{0,3}(((?i:e|ep|episode|p|part)[\\P{Alnum}]{0,3}\\d{1,3})+)(?!\\p{Digit})", m -> multi(m.group(1), m.group(2)));
+			SeasonEpisodePattern Num101_TOKEN = new SeasonEpisodePattern(sanity, "(?<!\\p{Alnum})([0-2]?\\d?)(\\d{2})(\\d{2})?(?!\\p{Alnum})", m -> numbers(m.group(1), streamCapturingGroups(m).skip(1).toArray(String[]::new)));
+			SeasonEpisodePattern E1of2 = new SeasonEpisodePattern(sanity, "(?<!\\p{Alnum})(\\d{1,2})[^._ ]?(?i:of)[^._ ]?(\\d{1,2})(?!\\p{Digit})", m -> singletonList(new SxE(null, m.group(1))));
+			SeasonEpisodePattern Num101_SUBSTRING = new SeasonEpisodePattern(SeasonEpisodeMatcher.STRICT_SANITY, "(?<!\\p{Digit})(\\d{1})(\\d{2})(?!\\p{Digit})(.*)", m -> singletonList(new SxE(m.group(1), m.group(2))));
+
+			if (strict) {
+				patterns = new SeasonEpisodeParser[] { Season_00_Episode_00, S00E00SEQ, S00E00, SxE1_SxE2, SxE, Dot101 };
+			} else {
+				patterns = new SeasonEpisodeParser[] { Season_00_Episode_00, S00E00SEQ, S00E00, SxE1_SxE2, SxE, Dot101, E01E02SEQ, new SeasonEpisodeUnion(EP0, Num101_TOKEN, E1of2), Num101_SUBSTRING };
+			}
+		}
+
+		static List<SxE> multi(String season, String... episodes) {
+			Integer s = matchInteger(season);
+			return stream(episodes).flatMap(e -> matchIntegers(e).stream()).map(e -> new SxE(s, e)).collect(toList());
+		}
+
+		static List<SxE> range(String season, String... episodes) {
+			IntSummaryStatistics stats = stream(episodes).flatMap(s -> matchIntegers(s).stream()).mapToInt(i -> i).summaryStatistics();
+			if (season == null && stats.getMax() - stats.getMin() >= 9) {
+				return emptyList();
+			}
+
+			Integer s = matchInteger(season);
+			return IntStream.rangeClosed(stats.getMin(), stats.getMax()).boxed().map(e -> new SxE(s, e)).collect(toList());
+		}
+
+		static List<SxE> pairs(String text) {
+			List<SxE> matches = new ArrayList<SxE>(2);
+			String[] numbers = NON_DIGIT.split(text);
+			for (int i = 0; i < numbers.length; i += 2) {
+				matches.add(new SxE(numbers[i], numbers[i + 1]));
+			}
+			return matches;
+		}
+
+		static List<SxE> numbers(String head, String... tail) {
+			List<SxE> matches = new ArrayList<SxE>(2);
+			for (String t : tail) {
+				SxE sxe = new SxE(head, t);
+				if (sxe.season > 0) {
+					matches.add(sxe);
+				}
+			}
+			if (tail.length == 1) {
+				SxE absolute = new SxE(null, head + tail[0]);
+				if (!matches.contains(absolute)) {
+					matches.add(absolute);
+				}
+			}
+			return matches;
+		}
+
+		public List<SxE> match(CharSequence name) {
+			for (SeasonEpisodeParser pattern : patterns) {
+				List<SxE> match = pattern.match(name);
+				if (!match.isEmpty()) {
+					return match;
+				}
+			}
+			return null;
+		}
+
+		public List<SxE> match(File file) {
+			List<String> tail = listPathTail(file, 2, true).stream().map(f -> getName(f)).collect(toList());
+			for (SeasonEpisodeParser pattern : patterns) {
+				for (int t = 0; t < tail.size(); t++) {
+					List<SxE> match = pattern.match(tail.get(t));
+					if (!match.isEmpty()) {
+						for (int i = 0; i < match.size(); i++) {
+							if (match.get(i).season < 0 && t < tail.size() - 1) {
+								Matcher sm = SEASON.matcher(tail.get(t + 1));
+								if (sm.find()) {
+									match.set(i, new SxE(Integer.parseInt(sm.group(1)), match.get(i).episode));
+								}
+							}
+						}
+						return match;
+					}
+				}
+			}
+			return null;
+		}
+
+		public int find(CharSequence name, int fromIndex) {
+			for (SeasonEpisodeParser pattern : patterns) {
+				int index = pattern.find(name, fromIndex);
+				if (index >= 0) {
+					return index;
+				}
+			}
+			return -1;
+		}
+	}
+
+}
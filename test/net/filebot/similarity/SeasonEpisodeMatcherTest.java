@@ -4,6 +4,8 @@ import static java.util.Arrays.*;
 import static net.filebot.similarity.SeasonEpisodeMatcher.SxE.*;
 import static org.junit.Assert.*;
 
+import java.io.File;
+
 import org.junit.Test;
 
 import net.filebot.media.MediaDetection;
@@ -122,6 +124,16 @@ public class SeasonEpisodeMatcherTest {
 		assertEquals("[1x01, 01, 12]", matcher.match("Complete Season 01 (EP 01-12)/12").toString());
 	}
 
+	@Test
+	public void noCandidates() {
+		assertEquals(null, matcher.match("The Simpsons"));
+		assertEquals(null, matcher.match(new File("TV Shows/The Simpsons/The Simpsons.mkv")));
+		assertEquals(-1, matcher.find("S01E01 The Simpsons", 6));
+
+		// 6-digit numbers may still be season and double episode numbers
+		assertEquals("[20x16]", matcher.match("201603").toString());
+	}
+
 	@Test
 	public void withReleaseInfo() {
 		assertEquals("[7x20]", matcher.match("720p").toString());
@@ -0,0 +1,171 @@
+package net.filebot.ui.rename;
+
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import net.filebot.similarity.Match;
+import net.filebot.ui.rename.RenameModel.FormattedFuture;
+
+public class RenameModelTest {
+
+	static class SlowFormatter implements MatchFormatter {
+
+		@Override
+		public boolean canFormat(Match<?, ?> match) {
+			return match.getValue() instanceof String;
+		}
+
+		@Override
+		public String preview(Match<?, ?> match) {
+			return match.getValue().toString();
+		}
+
+		@Override
+		public String format(Match<?, ?> match, boolean extension, Map<?, ?> context) throws Exception {
+			Thread.sleep(10);
+			return "Formatted " + match.getValue();
+		}
+	}
+
+	static class GatedFormatter implements MatchFormatter {
+
+		static final String GATE = "Gate";
+
+		final CountDownLatch gate = new CountDownLatch(1);
+		final List<Object> order = synchronizedList(new ArrayList<Object>());
+
+		@Override
+		public boolean canFormat(Match<?, ?> match) {
+			return match.getValue() instanceof String;
+		}
+
+		@Override
+		public String preview(Match<?, ?> match) {
+			return match.getValue().toString();
+		}
+
+		@Override
+		public String format(Match<?, ?> match, boolean extension, Map<?, ?> context) throws Exception {
+			if (GATE.equals(match.getValue())) {
+				// keep the worker busy until all rows have been queued (cancelled tasks are interrupted)
+				while (gate.getCount() > 0) {
+					try {
+						gate.await();
+					} catch (InterruptedException e) {
+						// ignore
+					}
+				}
+			} else {
+				order.add(match.getValue());
+			}
+			return "Formatted " + match.getValue();
+		}
+	}
+
+	static RenameModel createGatedModel(GatedFormatter formatter) {
+		// single worker thread that is blocked by the first row
+		RenameModel model = new RenameModel(1);
+		model.useFormatter(String.class, formatter);
+		model.addAll(singletonList(GatedFormatter.GATE), singletonList(new File("gate.txt")));
+		return model;
+	}
+
+	static List<Object> values(int size) {
+		List<Object> values = new ArrayList<Object>();
+		for (int i = 0; i < size; i++) {
+			values.add("Name " + i);
+		}
+		return values;
+	}
+
+	static List<File> files(int size) {
+		List<File> files = new ArrayList<File>();
+		for (int i = 0; i < size; i++) {
+			files.add(new File("file" + i + ".txt"));
+		}
+		return files;
+	}
+
+	static void awaitAll(RenameModel model) throws Exception {
+		for (FormattedFuture it : model.names()) {
+			it.get(10, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	public void formatVisibleRowsFirst() throws Exception {
+		GatedFormatter formatter = new GatedFormatter();
+		RenameModel model = createGatedModel(formatter);
+
+		// rows 91 to 100 are Name 90 to Name 99
+		model.setVisibleRange(91, 100);
+		model.addAll(values(100), files(100));
+
+		formatter.gate.countDown();
+		awaitAll(model);
+
+		List<Object> expected = new ArrayList<Object>(values(100).subList(90, 100));
+		expected.addAll(values(90));
+		assertEquals(expected, formatter.order);
+	}
+
+	@Test
+	public void refreshPurgesCancelledTasks() throws Exception {
+		GatedFormatter formatter = new GatedFormatter();
+		RenameModel model = createGatedModel(formatter);
+		model.addAll(values(100), files(100));
+
+		List<FormattedFuture> obsolete = model.getPendingFutures();
+		assertEquals(100, obsolete.size());
+
+		// reformat all rows
+		model.setPreserveExtension(false);
+
+		List<FormattedFuture> pending = model.getPendingFutures();
+		assertEquals(101, pending.size());
+		assertTrue(obsolete.stream().allMatch(FormattedFuture::isCancelled));
+		assertTrue(pending.stream().noneMatch(FormattedFuture::isCancelled));
+
+		formatter.gate.countDown();
+		awaitAll(model);
+
+		assertEquals(values(100), formatter.order);
+		assertEquals(101, model.getRenameMap().size());
+	}
+
+	@Test
+	public void getRenameMap() throws Exception {
+		RenameModel model = new RenameModel();
+		model.setPreserveExtension(false);
+
+		List<Object> values = new ArrayList<Object>();
+		List<File> files = new ArrayList<File>();
+		for (int i = 0; i < 100; i++) {
+			values.add("Name " + i);
+			files.add(new File("file" + i + ".txt"));
+		}
+
+		model.useFormatter(String.class, new SlowFormatter());
+		model.setVisibleRange(90, 99);
+		model.addAll(values, files);
+
+		for (RenameModel.FormattedFuture it : model.names()) {
+			it.get(10, TimeUnit.SECONDS);
+		}
+
+		Map<File, File> renameMap = model.getRenameMap();
+		assertEquals(100, renameMap.size());
+		assertEquals("Formatted Name 0", renameMap.get(new File("file0.txt")).getPath());
+		assertEquals("Formatted Name 99", renameMap.get(new File("file99.txt")).getPath());
+	}
+
+}
@@ -0,0 +1,131 @@
+package net.filebot.util;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.attribute.FileAttributeView;
+import java.nio.file.attribute.FileStoreAttributeView;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class DeviceAwareExecutorTest {
+
+	@Test
+	public void limitConcurrencyPerDevice() throws Exception {
+		File file = new File(System.getProperty("java.io.tmpdir"), "test.bin");
+		int limit = DeviceAwareExecutor.getConcurrencyLimit(DeviceAwareExecutor.getDevice(file), 4);
+
+		AtomicInteger active = new AtomicInteger(0);
+		AtomicInteger peak = new AtomicInteger(0);
+
+		DeviceAwareExecutor executor = new DeviceAwareExecutor(4, new DefaultThreadFactory("DeviceAwareExecutorTest", Thread.NORM_PRIORITY, true));
+		List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+
+		for (int i = 0; i < 20; i++) {
+			int n = i;
+			results.add(executor.submit(file, () -> {
+				peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+				Thread.sleep(5);
+				active.decrementAndGet();
+				return n;
+			}));
+		}
+
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i, results.get(i).get(5, TimeUnit.SECONDS).intValue());
+		}
+		executor.shutdown();
+
+		assertTrue(limit >= 1 && limit <= 4);
+		assertTrue(peak.get() <= limit);
+	}
+
+	@Test
+	public void limitNetworkFileSystem() throws Exception {
+		assertEquals(2, DeviceAwareExecutor.getConcurrencyLimit(new TestFileStore("//server/share", "cifs"), 8));
+		assertEquals(2, DeviceAwareExecutor.getConcurrencyLimit(new TestFileStore("server:/export", "nfs4"), 8));
+		assertEquals(1, DeviceAwareExecutor.getConcurrencyLimit(new TestFileStore("//server/share", "smbfs"), 1));
+	}
+
+	@Test
+	public void noLimitForUnknownDevice() throws Exception {
+		assertEquals(8, DeviceAwareExecutor.getConcurrencyLimit(new TestFileStore("C:", "NTFS"), 8));
+		assertEquals(8, DeviceAwareExecutor.getConcurrencyLimit(new TestFileStore("/dev/disk1s1", "apfs"), 8));
+		assertEquals(8, DeviceAwareExecutor.getConcurrencyLimit(new Object(), 8));
+	}
+
+	@Test
+	public void sameDeviceForSameFolder() throws Exception {
+		File folder = new File(System.getProperty("java.io.tmpdir"));
+		assertEquals(DeviceAwareExecutor.getDevice(new File(folder, "a.bin")), DeviceAwareExecutor.getDevice(new File(folder, "b.bin")));
+	}
+
+	private static class TestFileStore extends FileStore {
+
+		private final String name;
+		private final String type;
+
+		public TestFileStore(String name, String type) {
+			this.name = name;
+			this.type = type;
+		}
+
+		@Override
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public String type() {
+			return type;
+		}
+
+		@Override
+		public boolean isReadOnly() {
+			return false;
+		}
+
+		@Override
+		public long getTotalSpace() throws IOException {
+			return 0;
+		}
+
+		@Override
+		public long getUsableSpace() throws IOException {
+			return 0;
+		}
+
+		@Override
+		public long getUnallocatedSpace() throws IOException {
+			return 0;
+		}
+
+		@Override
+		public boolean supportsFileAttributeView(Class<? extends FileAttributeView> type) {
+			return false;
+		}
+
+		@Override
+		public boolean supportsFileAttributeView(String name) {
+			return false;
+		}
+
+		@Override
+		public <V extends FileStoreAttributeView> V getFileStoreAttributeView(Class<V> type) {
+			return null;
+		}
+
+		@Override
+		public Object getAttribute(String attribute) throws IOException {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,69 @@
+package net.filebot.util;
+
+import static java.util.Arrays.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class KeywordMatcherTest {
+
+	KeywordMatcher matcher = new KeywordMatcher("he", "she", "his", "hers", "HE");
+
+	@Test
+	public void match() {
+		List<String> matches = new ArrayList<String>();
+		matcher.match("ushers", true, (start, end, k) -> matches.add(start + ":" + end + ":" + matcher.getKeyword(k)));
+
+		assertEquals("[1:4:she, 2:4:he, 2:4:HE, 2:6:hers]", matches.toString());
+	}
+
+	@Test
+	public void matchCaseSensitive() {
+		List<String> matches = new ArrayList<String>();
+		matcher.match("USHErs", false, (start, end, k) -> matches.add(start + ":" + end + ":" + matcher.getKeyword(k)));
+
+		assertEquals("[2:4:HE]", matches.toString());
+	}
+
+	@Test
+	public void getMatchEnds() {
+		int[][] ends = matcher.getMatchEnds("hers his", true);
+
+		assertArrayEquals(new int[] { 4, 2 }, ends[0]);
+		assertArrayEquals(new int[] { 8 }, ends[5]);
+		assertNull(ends[1]);
+	}
+
+	@Test
+	public void matchWildcard() {
+		KeywordMatcher matcher = new KeywordMatcher(new String[] { "a.c", "a.f.k.", "9.GiRL", "..", "abc" }, '.');
+
+		List<String> matches = new ArrayList<String>();
+		matcher.match("ABC a_f_k_ 9-girl", true, (start, end, k) -> matches.add(start + ":" + end + ":" + matcher.getKeyword(k)));
+
+		assertTrue(matches.containsAll(asList("0:3:a.c", "0:3:abc", "4:10:a.f.k.", "11:17:9.GiRL", "0:2:..", "15:17:..")));
+		assertEquals(4 + 16, matches.size());
+
+		// matches are reported in order of their end offset
+		for (int i = 1; i < matches.size(); i++) {
+			assertTrue(Integer.parseInt(matches.get(i - 1).split(":")[1]) <= Integer.parseInt(matches.get(i).split(":")[1]));
+		}
+	}
+
+	@Test
+	public void matchWildcardCaseSensitive() {
+		KeywordMatcher matcher = new KeywordMatcher(new String[] { "A.C.A", "a.f.k." }, '.');
+
+		assertArrayEquals(new int[] { 5 }, matcher.getMatchEnds("AxCxA", false)[0]);
+		assertNull(matcher.getMatchEnds("axcxa", false)[0]);
+		assertArrayEquals(new int[] { 5 }, matcher.getMatchEnds("axcxa", true)[0]);
+
+		// trailing wildcards must not match past the end of the input
+		assertNull(matcher.getMatchEnds("a.f.k", true)[0]);
+		assertArrayEquals(new int[] { 6 }, matcher.getMatchEnds("a.f.k.", true)[0]);
+	}
+
+}
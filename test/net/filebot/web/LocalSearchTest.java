@@ -0,0 +1,93 @@
+package net.filebot.web;
+
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class LocalSearchTest {
+
+	static final String[] TITLES = { "Avatar", "Alien", "Aliens", "Alien 3", "Up", "It", "Heat", "Her", "Saw", "Saw II", "The Matrix", "The Matrix Reloaded", "The Matrix Revolutions", "The Terminator", "Terminator 2 Judgment Day", "Back to the Future", "Back to the Future Part II", "Pulp Fiction", "Fight Club", "The Fifth Element", "Léon: The Professional", "Amélie", "Der Untergang", "Das Boot", "Star Wars", "Star Trek", "Stargate", "Star Trek Into Darkness", "The Lord of the Rings", "The Lord of War", "Lord of the Flies", "Inception", "Interstellar", "Insomnia", "Memento", "Momento", "The Prestige", "The Departed", "The Descent", "Twelve Monkeys", "12 Angry Men", "2001: A Space Odyssey", "2012", "300", "Se7en", "Seven Samurai", "Spirited Away", "Princess Mononoke", "Howl's Moving Castle", "Castle in the Sky" };
+
+	static class FullScan<T> extends LocalSearch<T> {
+
+		private final int size;
+
+		public FullScan(T[] data) {
+			super(data, it -> singleton(it.toString()));
+			this.size = data.length;
+		}
+
+		@Override
+		protected IntStream candidates(String query) {
+			return IntStream.range(0, size);
+		}
+	}
+
+	LocalSearch<String> index = createSearch(new LocalSearch<String>(TITLES, it -> singleton(it)));
+	LocalSearch<String> scan = createSearch(new FullScan<String>(TITLES));
+
+	static LocalSearch<String> createSearch(LocalSearch<String> search) {
+		search.setResultSetSize(TITLES.length);
+		return search;
+	}
+
+	void assertSameResults(String query) throws Exception {
+		assertEquals(query, scan.search(query), index.search(query));
+	}
+
+	@Test
+	public void shortQueries() throws Exception {
+		for (String query : new String[] { "", "a", "up", "It", "99", "é", "s7" }) {
+			assertSameResults(query);
+		}
+		assertFalse(index.search("up").isEmpty());
+	}
+
+	@Test
+	public void longQueries() throws Exception {
+		for (String query : new String[] { "matrix", "the matrix reloaded", "Terminator 2: Judgment Day", "Back to the Future Part III", "lord of the rings the fellowship of the ring", "Amelie", "Leon The Professional" }) {
+			assertSameResults(query);
+		}
+		assertEquals("The Matrix Reloaded", index.search("the matrix reloaded").get(0));
+	}
+
+	@Test
+	public void nearThresholdQueries() throws Exception {
+		Random random = new Random(42);
+		List<String> queries = new ArrayList<String>();
+
+		// randomly mutated titles are scored around the minimum similarity
+		for (String title : TITLES) {
+			for (int n = 1; n <= 4; n++) {
+				StringBuilder query = new StringBuilder(title);
+				for (int i = 0; i < n && query.length() > 0; i++) {
+					query.setCharAt(random.nextInt(query.length()), (char) ('a' + random.nextInt(26)));
+				}
+				queries.add(query.toString());
+			}
+		}
+
+		for (String query : queries) {
+			assertSameResults(query);
+		}
+	}
+
+	@Test
+	public void minimumSimilarity() throws Exception {
+		for (float minimum : new float[] { 0, 0.25f, 0.75f, 1 }) {
+			index.setResultMinimumSimilarity(minimum);
+			scan.setResultMinimumSimilarity(minimum);
+
+			for (String query : new String[] { "star", "the lord", "seven", "Castle" }) {
+				assertSameResults(query);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,77 @@
+package net.filebot.web;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class RateLimitTest {
+
+	@Test
+	public void burst() throws Exception {
+		RateLimit limit = new RateLimit("burst", 10, Duration.ofSeconds(10), 3);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < 3; i++) {
+			limit.acquirePermit();
+		}
+
+		assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+		assertEquals(3, limit.getPermitCount());
+		assertEquals(0, limit.getWaitCount());
+	}
+
+	@Test
+	public void rate() throws Exception {
+		RateLimit limit = new RateLimit("rate", 1, Duration.ofMillis(50), 1);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < 5; i++) {
+			limit.acquirePermit();
+		}
+
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+		assertEquals(5, limit.getPermitCount());
+		assertEquals(4, limit.getWaitCount());
+	}
+
+	@Test
+	public void backoff() throws Exception {
+		RateLimit limit = new RateLimit("backoff", 100, Duration.ofSeconds(1), 10);
+		limit.backoff(null);
+
+		long start = System.nanoTime();
+		limit.acquirePermit();
+
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(900));
+		assertEquals(1, limit.getBackoffCount());
+	}
+
+	@Test
+	public void forHost() {
+		RateLimit limit = RateLimit.forHost("Example.org", 1, Duration.ofSeconds(1), 1);
+
+		assertSame(limit, RateLimit.forHost("example.org", 2, Duration.ofSeconds(2), 2));
+		assertSame(limit, RateLimit.forHost("EXAMPLE.ORG").get());
+		assertFalse(RateLimit.forHost("example.com").isPresent());
+	}
+
+	@Test
+	public void rejectIllegalSystemProperty() {
+		System.setProperty("net.filebot.web.RateLimit.zero.example.org", "0/PT1S");
+		System.setProperty("net.filebot.web.RateLimit.custom.example.org", "3/PT1S/2");
+
+		// illegal values are ignored
+		RateLimit zero = RateLimit.forHost("zero.example.org", 1, Duration.ofSeconds(1), 1);
+		assertEquals(0, zero.reserve());
+		assertTrue(zero.reserve() > 0);
+
+		RateLimit custom = RateLimit.forHost("custom.example.org", 1, Duration.ofSeconds(1), 1);
+		assertEquals(0, custom.reserve());
+		assertEquals(0, custom.reserve());
+		assertTrue(custom.reserve() > 0);
+	}
+
+}
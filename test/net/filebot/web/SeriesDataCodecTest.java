@@ -0,0 +1,127 @@
+package net.filebot.web;
+
+import static java.util.Arrays.*;
+import static net.filebot.Logging.*;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import net.filebot.web.AbstractEpisodeListProvider.SeriesData;
+
+public class SeriesDataCodecTest {
+
+	static SeriesData createSeriesData(int size) throws Exception {
+		TheTVDBSeriesInfo info = new TheTVDBSeriesInfo();
+		info.setDatabase("TheTVDB");
+		info.setLanguage("en");
+		info.setId(80348);
+		info.setName("Chuck");
+		info.setAliasNames("Chuck (2007)", "チャック");
+		info.setGenres(asList("Action", "Comedy"));
+		info.setStartDate(new SimpleDate(2007, 9, 24));
+		info.setRating(8.4);
+		info.setRatingCount(1234);
+		info.setOverview("The series is about Chuck Bartowski, an average computer whiz-kid...");
+		info.setBannerUrl(new URL("http://thetvdb.com/banners/graphical/80348-g.jpg"));
+		info.setLastUpdated(1456505371L);
+
+		List<Episode> episodes = new ArrayList<Episode>();
+		for (int i = 0; i < size; i++) {
+			episodes.add(new Episode(info.getName(), 1 + i / 20, 1 + i % 20, "Chuck Versus Episode " + i, i + 1, null, new SimpleDate(2007, 1 + i % 12, 1 + i % 28), 332179 + i, new SeriesInfo(info)));
+		}
+		episodes.add(new Episode(info.getName(), 0, null, "Special", null, 1, null, null, new SeriesInfo(info)));
+
+		return new SeriesData(info, episodes);
+	}
+
+	@Test
+	public void roundTrip() throws Exception {
+		SeriesData data = createSeriesData(100);
+		SeriesData copy = SeriesDataCodec.decode(SeriesDataCodec.encode(data));
+
+		assertEquals(data.episodeList.length, copy.episodeList.length);
+		assertEquals(TheTVDBSeriesInfo.class, copy.seriesInfo.getClass());
+		assertEquals("チャック", copy.getSeriesInfo().getAliasNames().get(1));
+		assertEquals(8.4, copy.getSeriesInfo().getRating(), 0);
+		assertEquals(1456505371L, ((TheTVDBSeriesInfo) copy.getSeriesInfo()).getLastUpdated());
+		assertEquals("http://thetvdb.com/banners/graphical/80348-g.jpg", ((TheTVDBSeriesInfo) copy.getSeriesInfo()).getBannerUrl().toString());
+
+		for (int i = 0; i < data.episodeList.length; i++) {
+			Episode a = data.episodeList[i];
+			Episode b = copy.episodeList[i];
+			assertEquals(a, b);
+			assertEquals(a.getNumbers(), b.getNumbers());
+			assertEquals(a.getAirdate(), b.getAirdate());
+			assertEquals(a.getSeriesInfo().getName(), b.getSeriesInfo().getName());
+			assertEquals(SeriesInfo.class, b.getSeriesInfo().getClass());
+		}
+
+		// all episodes share the same series info
+		assertSame(copy.episodeList[0].getSeriesInfo(), copy.episodeList[1].getSeriesInfo());
+	}
+
+	@Test
+	public void fallbackToSerialization() throws Exception {
+		SeriesData data = createSeriesData(2);
+		data.episodeList[0] = new MultiEpisode(data.episodeList[0], data.episodeList[1]);
+
+		byte[] bytes = SeriesDataCodec.encode(data);
+		assertEquals(0, bytes[0]);
+		assertEquals(MultiEpisode.class, SeriesDataCodec.decode(bytes).episodeList[0].getClass());
+	}
+
+	@Test
+	public void compact() throws Exception {
+		SeriesData data = createSeriesData(1000);
+		assertTrue(SeriesDataCodec.encode(data).length * 4 < serialize(data).length);
+	}
+
+	@Ignore("Benchmark")
+	@Test
+	public void benchmark() throws Exception {
+		SeriesData data = createSeriesData(2000);
+
+		for (int i = 0; i < 3; i++) {
+			long t0 = System.nanoTime();
+			byte[] serialized = null;
+			for (int j = 0; j < 100; j++) {
+				serialized = serialize(data);
+				deserialize(serialized);
+			}
+
+			long t1 = System.nanoTime();
+			byte[] encoded = null;
+			for (int j = 0; j < 100; j++) {
+				encoded = SeriesDataCodec.encode(data);
+				SeriesDataCodec.decode(encoded);
+			}
+
+			long t2 = System.nanoTime();
+			debug.info(format("Serializable: %,d bytes, %,d us | SeriesDataCodec: %,d bytes, %,d us", serialized.length, (t1 - t0) / 100_000, encoded.length, (t2 - t1) / 100_000));
+		}
+	}
+
+	static byte[] serialize(Object object) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(object);
+		}
+		return bytes.toByteArray();
+	}
+
+	static Object deserialize(byte[] bytes) throws Exception {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readObject();
+		}
+	}
+
+}
@@ -1,9 +1,13 @@
 package net.filebot.web;
 
+import static java.util.Collections.*;
 import static org.junit.Assert.*;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import org.junit.Test;
 
@@ -15,6 +19,30 @@ public class TheTVDBClientTest {
 	SearchResult wonderfalls = new SearchResult(78845, "Wonderfalls");
 	SearchResult firefly = new SearchResult(78874, "Firefly");
 
+	@Test
+	public void requestEpisodePages() throws Exception {
+		TheTVDBClient client = new TheTVDBClient("") {
+
+			@Override
+			protected Object requestJson(String path, Locale locale, Duration expirationTime) throws Exception {
+				int page = Integer.parseInt(path.substring(path.lastIndexOf('=') + 1));
+				Thread.sleep(10 * (10 - page)); // later pages finish first
+
+				Map<String, Object> json = new HashMap<String, Object>();
+				json.put("links", singletonMap("last", 10));
+				json.put("page", page);
+				return json;
+			}
+		};
+
+		List<Object> pages = client.requestEpisodePages(buffy, Locale.ENGLISH);
+
+		assertEquals(10, pages.size());
+		for (int i = 0; i < pages.size(); i++) {
+			assertEquals(i + 1, ((Map<?, ?>) pages.get(i)).get("page"));
+		}
+	}
+
 	@Test
 	public void search() throws Exception {
 		// test default language and query escaping (blanks)
@@ -0,0 +1,87 @@
+package net.filebot.web;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+
+import java.io.FileNotFoundException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class WebRequestTest {
+
+	static HttpServer server;
+	static Set<InetSocketAddress> clients = ConcurrentHashMap.newKeySet();
+
+	@BeforeClass
+	public static void start() throws Exception {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			clients.add(exchange.getRemoteAddress());
+
+			String path = exchange.getRequestURI().getPath();
+			byte[] body = path.getBytes(UTF_8);
+
+			exchange.sendResponseHeaders(path.startsWith("/missing") ? 404 : 200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+	}
+
+	@AfterClass
+	public static void stop() {
+		server.stop(0);
+	}
+
+	URL url(String path) throws Exception {
+		return new URL("http", "127.0.0.1", server.getAddress().getPort(), path);
+	}
+
+	@Test
+	public void fetchAsync() throws Exception {
+		assertEquals("/hello", UTF_8.decode(WebRequest.fetchAsync(url("/hello"), 0, null, null, null).get()).toString());
+	}
+
+	@Test
+	public void fetchAsyncError() throws Exception {
+		try {
+			WebRequest.fetchAsync(url("/missing"), 0, null, null, null).get();
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof FileNotFoundException);
+		}
+	}
+
+	@Test
+	public void postAsync() throws Exception {
+		assertEquals("/post", UTF_8.decode(WebRequest.postAsync(url("/post"), singletonMap("q", "hello"), null).get()).toString());
+	}
+
+	@Test
+	public void keepAlive() throws Exception {
+		clients.clear();
+
+		for (int i = 0; i < 5; i++) {
+			try {
+				WebRequest.fetch(url(i % 2 == 0 ? "/keepalive" : "/missing"));
+			} catch (FileNotFoundException e) {
+				// error responses must not close the connection
+			}
+		}
+
+		assertEquals(1, clients.size());
+	}
+
+}